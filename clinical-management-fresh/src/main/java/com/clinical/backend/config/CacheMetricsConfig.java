@@ -0,0 +1,23 @@
+package com.clinical.backend.config;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+public class CacheMetricsConfig {
+    
+    /**
+     * Hibernate statistics on /actuator/prometheus, including per-region second-level cache
+     * hits and misses (hibernate_second_level_cache_requests_total{region, result}).
+     */
+    @Bean
+    public MeterBinder hibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(entityManagerFactory.unwrap(SessionFactory.class), "entityManagerFactory", List.of());
+    }
+}
@@ -0,0 +1,13 @@
+package com.clinical.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
+
+/**
+ * Turns on {@code @PreAuthorize} checks for the controllers. Kept apart from {@link SecurityConfig}
+ * so web slice tests can import it without the whole filter chain.
+ */
+@Configuration
+@EnableMethodSecurity
+public class MethodSecurityConfig {
+}
@@ -1,7 +1,10 @@
 package com.clinical.backend.config;
 
 import com.clinical.backend.security.CustomUserDetailsService;
+import com.clinical.backend.security.IdempotencyFilter;
 import com.clinical.backend.security.JwtAuthenticationFilter;
+import com.clinical.backend.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -15,6 +18,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -29,6 +33,8 @@ public class SecurityConfig {
     
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final IdempotencyService idempotencyService;
+    private final ObjectMapper objectMapper;
     
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
@@ -48,6 +54,8 @@ public class SecurityConfig {
             )
             .authenticationProvider(authenticationProvider())
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // Idempotency keys are per user, and rejected requests must not claim one
+            .addFilterAfter(new IdempotencyFilter(idempotencyService, objectMapper), AuthorizationFilter.class)
             // Disable frame options for h2-console
             .headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable()));
         
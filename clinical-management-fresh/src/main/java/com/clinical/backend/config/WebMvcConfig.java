@@ -0,0 +1,37 @@
+package com.clinical.backend.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Locale;
+
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+    
+    /**
+     * Bind enum request parameters case-insensitively, so {@code view=summary} works like
+     * {@code view=SUMMARY}. Unknown values still fail conversion and are answered with a 400.
+     */
+    @Override
+    public void addFormatters(FormatterRegistry registry) {
+        registry.addConverterFactory(new CaseInsensitiveEnumConverterFactory());
+    }
+    
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static class CaseInsensitiveEnumConverterFactory implements ConverterFactory<String, Enum> {
+        
+        @Override
+        public <T extends Enum> Converter<String, T> getConverter(Class<T> targetType) {
+            return source -> {
+                String value = source.trim();
+                if (value.isEmpty()) {
+                    return null;
+                }
+                return (T) Enum.valueOf(targetType, value.toUpperCase(Locale.ROOT));
+            };
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.clinical.backend.controller;
 
 import com.clinical.backend.dto.common.ApiResponse;
+import com.clinical.backend.dto.doctor.DoctorResponse;
 import com.clinical.backend.entity.Doctor;
-import com.clinical.backend.repository.DoctorRepository;
+import com.clinical.backend.service.DoctorService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -18,36 +19,38 @@ import java.util.List;
 @Tag(name = "Doctors", description = "Doctor management endpoints")
 public class DoctorController {
     
-    private final DoctorRepository doctorRepository;
+    private final DoctorService doctorService;
     
     @GetMapping
-    @Operation(summary = "Get all doctors", description = "Retrieve list of all doctors")
-    public ResponseEntity<ApiResponse<List<Doctor>>> getAllDoctors() {
-        List<Doctor> doctors = doctorRepository.findAll();
+    @Operation(summary = "Get all doctors", description = "Retrieve list of all doctors, optionally filtered by specialty")
+    public ResponseEntity<ApiResponse<List<DoctorResponse>>> getAllDoctors(
+            @RequestParam(required = false) String specialty
+    ) {
+        List<DoctorResponse> doctors = doctorService.getAllDoctors(specialty);
         return ResponseEntity.ok(ApiResponse.success(doctors));
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get doctor by ID", description = "Retrieve a specific doctor by their ID")
-    public ResponseEntity<ApiResponse<Doctor>> getDoctorById(@PathVariable Long id) {
-        return doctorRepository.findById(id)
+    public ResponseEntity<ApiResponse<DoctorResponse>> getDoctorById(@PathVariable Long id) {
+        return doctorService.getDoctorById(id)
                 .map(doctor -> ResponseEntity.ok(ApiResponse.success(doctor)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
     @GetMapping("/search")
     @Operation(summary = "Search doctors", description = "Search doctors by name or specialty")
-    public ResponseEntity<ApiResponse<List<Doctor>>> searchDoctors(@RequestParam String q) {
-        List<Doctor> doctors = doctorRepository.searchDoctors(q);
+    public ResponseEntity<ApiResponse<List<DoctorResponse>>> searchDoctors(@RequestParam String q) {
+        List<DoctorResponse> doctors = doctorService.searchDoctors(q);
         return ResponseEntity.ok(ApiResponse.success(doctors));
     }
     
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Create doctor", description = "Create a new doctor record (Admin only)")
-    public ResponseEntity<ApiResponse<Doctor>> createDoctor(@RequestBody Doctor doctor) {
+    public ResponseEntity<ApiResponse<DoctorResponse>> createDoctor(@RequestBody Doctor doctor) {
         try {
-            Doctor createdDoctor = doctorRepository.save(doctor);
+            DoctorResponse createdDoctor = doctorService.createDoctor(doctor);
             return ResponseEntity.ok(ApiResponse.success("Doctor created successfully", createdDoctor));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -58,20 +61,9 @@ public class DoctorController {
     @PutMapping("/{id}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Update doctor", description = "Update an existing doctor record (Admin only)")
-    public ResponseEntity<ApiResponse<Doctor>> updateDoctor(@PathVariable Long id, @RequestBody Doctor doctorDetails) {
-        return doctorRepository.findById(id)
-                .map(doctor -> {
-                    doctor.setSpecialty(doctorDetails.getSpecialty());
-                    doctor.setLicenseNumber(doctorDetails.getLicenseNumber());
-                    doctor.setRoom(doctorDetails.getRoom());
-                    doctor.setPhone(doctorDetails.getPhone());
-                    doctor.setConsultationFeeCents(doctorDetails.getConsultationFeeCents());
-                    doctor.setAvailableFrom(doctorDetails.getAvailableFrom());
-                    doctor.setAvailableTo(doctorDetails.getAvailableTo());
-                    
-                    Doctor updatedDoctor = doctorRepository.save(doctor);
-                    return ResponseEntity.ok(ApiResponse.success("Doctor updated successfully", updatedDoctor));
-                })
+    public ResponseEntity<ApiResponse<DoctorResponse>> updateDoctor(@PathVariable Long id, @RequestBody Doctor doctorDetails) {
+        return doctorService.updateDoctor(id, doctorDetails)
+                .map(updatedDoctor -> ResponseEntity.ok(ApiResponse.success("Doctor updated successfully", updatedDoctor)))
                 .orElse(ResponseEntity.notFound().build());
     }
     
@@ -80,7 +72,7 @@ public class DoctorController {
     @Operation(summary = "Delete doctor", description = "Delete a doctor record (Admin only)")
     public ResponseEntity<ApiResponse<Void>> deleteDoctor(@PathVariable Long id) {
         try {
-            doctorRepository.deleteById(id);
+            doctorService.deleteDoctor(id);
             return ResponseEntity.ok(ApiResponse.success("Doctor deleted successfully", null));
         } catch (Exception e) {
             return ResponseEntity.badRequest()
@@ -0,0 +1,89 @@
+package com.clinical.backend.controller;
+
+import com.clinical.backend.dto.common.ApiResponse;
+import com.clinical.backend.dto.doctor.DoctorScheduleResponse;
+import com.clinical.backend.dto.doctor.ScheduleExceptionRequest;
+import com.clinical.backend.dto.doctor.ScheduleExceptionResponse;
+import com.clinical.backend.dto.doctor.ScheduleSlotRequest;
+import com.clinical.backend.dto.doctor.ScheduleSlotResponse;
+import com.clinical.backend.service.DoctorScheduleService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/doctors")
+@RequiredArgsConstructor
+@Tag(name = "Doctor Schedules", description = "Working hours, breaks, vacations and clinic closures")
+public class DoctorScheduleController {
+    
+    private final DoctorScheduleService doctorScheduleService;
+    
+    @GetMapping("/{id}/schedule")
+    @Operation(summary = "Get doctor schedule", description = "Weekly hours plus upcoming exceptions and clinic closures")
+    public ResponseEntity<ApiResponse<DoctorScheduleResponse>> getSchedule(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success(doctorScheduleService.getSchedule(id)));
+    }
+    
+    @GetMapping("/{id}/availability")
+    @Operation(summary = "Get doctor availability",
+            description = "Bookable hours on a date after breaks, vacations and closures, before existing appointments")
+    public ResponseEntity<ApiResponse<List<ScheduleSlotResponse>>> getAvailability(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(doctorScheduleService.getAvailability(id, date)));
+    }
+    
+    @PutMapping("/{id}/schedule")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Replace weekly schedule",
+            description = "Several slots on one day define split shifts; the gaps between them are breaks (Admin only)")
+    public ResponseEntity<ApiResponse<DoctorScheduleResponse>> replaceWeeklySchedule(
+            @PathVariable Long id,
+            @Valid @RequestBody List<@Valid ScheduleSlotRequest> slots
+    ) {
+        DoctorScheduleResponse schedule = doctorScheduleService.replaceWeeklySchedule(id, slots);
+        return ResponseEntity.ok(ApiResponse.success("Schedule updated successfully", schedule));
+    }
+    
+    @PostMapping("/{id}/schedule/exceptions")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Add schedule exception", description = "Block a break or vacation for one doctor (Admin only)")
+    public ResponseEntity<ApiResponse<ScheduleExceptionResponse>> addException(
+            @PathVariable Long id,
+            @Valid @RequestBody ScheduleExceptionRequest request
+    ) {
+        ScheduleExceptionResponse exception = doctorScheduleService.addException(id, request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Schedule exception created successfully", exception));
+    }
+    
+    @PostMapping("/closures")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Add clinic closure", description = "Block a holiday or closure for every doctor (Admin only)")
+    public ResponseEntity<ApiResponse<ScheduleExceptionResponse>> addClosure(
+            @Valid @RequestBody ScheduleExceptionRequest request
+    ) {
+        ScheduleExceptionResponse closure = doctorScheduleService.addException(null, request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Clinic closure created successfully", closure));
+    }
+    
+    @DeleteMapping("/schedule/exceptions/{exceptionId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Delete schedule exception", description = "Remove an exception or clinic closure (Admin only)")
+    public ResponseEntity<ApiResponse<Void>> deleteException(@PathVariable Long exceptionId) {
+        doctorScheduleService.deleteException(exceptionId);
+        return ResponseEntity.ok(ApiResponse.success("Schedule exception deleted successfully", null));
+    }
+}
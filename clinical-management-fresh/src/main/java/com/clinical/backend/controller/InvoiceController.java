@@ -1,21 +1,35 @@
 package com.clinical.backend.controller;
 
 import com.clinical.backend.dto.common.ApiResponse;
+import com.clinical.backend.dto.invoice.BankReconciliationResponse;
+import com.clinical.backend.dto.invoice.BillingRunResponse;
+import com.clinical.backend.dto.invoice.InvoiceExportResponse;
 import com.clinical.backend.dto.invoice.InvoiceRequest;
 import com.clinical.backend.dto.invoice.InvoiceResponse;
+import com.clinical.backend.dto.invoice.UnpaidInvoicePageResponse;
+import com.clinical.backend.service.BankReconciliationService;
+import com.clinical.backend.service.BillingRunService;
+import com.clinical.backend.service.InvoiceExportService;
 import com.clinical.backend.service.InvoiceService;
+import com.clinical.backend.service.UnpaidInvoiceService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -25,6 +39,10 @@ import java.util.List;
 public class InvoiceController {
     
     private final InvoiceService invoiceService;
+    private final InvoiceExportService invoiceExportService;
+    private final UnpaidInvoiceService unpaidInvoiceService;
+    private final BillingRunService billingRunService;
+    private final BankReconciliationService bankReconciliationService;
     
     @PostMapping
     @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
@@ -55,12 +73,30 @@ public class InvoiceController {
     
     @GetMapping("/unpaid")
     @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
-    @Operation(summary = "Get unpaid invoices", description = "Get all unpaid invoices")
-    public ResponseEntity<ApiResponse<List<InvoiceResponse>>> getUnpaidInvoices() {
-        List<InvoiceResponse> invoices = invoiceService.getUnpaidInvoices();
+    @Operation(summary = "Get unpaid invoices",
+            description = "Pending and overdue invoices, earliest due date first. " +
+                    "Pass the returned nextCursor to load the next page")
+    public ResponseEntity<ApiResponse<UnpaidInvoicePageResponse>> getUnpaidInvoices(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + UnpaidInvoiceService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        UnpaidInvoicePageResponse invoices = unpaidInvoiceService.getUnpaidInvoices(cursor, size);
         return ResponseEntity.ok(ApiResponse.success(invoices));
     }
     
+    @GetMapping("/unpaid/export")
+    @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
+    @Operation(summary = "Export unpaid invoices", description = "Stream every pending and overdue invoice as CSV, earliest due date first")
+    public ResponseEntity<StreamingResponseBody> exportUnpaidInvoices() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename("unpaid_invoices_" + LocalDate.now() + ".csv").build());
+        
+        StreamingResponseBody body = unpaidInvoiceService::exportCsv;
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+    
     @PatchMapping("/{id}/pay")
     @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
     @Operation(summary = "Mark invoice as paid", description = "Mark an invoice as paid")
@@ -73,16 +109,74 @@ public class InvoiceController {
     }
     
     @GetMapping("/{id}/pdf")
-    @Operation(summary = "Download invoice PDF", description = "Generate and download invoice PDF")
-    public ResponseEntity<byte[]> downloadInvoicePdf(@PathVariable Long id) throws IOException {
-        byte[] pdfContent = invoiceService.generateInvoicePdf(id);
+    @Operation(summary = "Download invoice PDF", description = "Download invoice PDF (supports Range and If-Modified-Since)")
+    public ResponseEntity<Resource> downloadInvoicePdf(@PathVariable Long id) throws IOException {
+        // Spring answers Range requests with 206 and If-Modified-Since with 304 for Resource bodies,
+        // copying from disk in fixed-size chunks so heap usage per download stays constant
+        Resource pdf = invoiceService.getInvoicePdf(id);
         
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "invoice_" + id + ".pdf");
+        headers.setLastModified(pdf.lastModified());
+        
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(pdf);
+    }
+    
+    @PostMapping("/billing-runs")
+    @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
+    @Operation(summary = "Run billing",
+            description = "Create invoices for all completed appointments that have none yet. Safe to run again")
+    public ResponseEntity<ApiResponse<BillingRunResponse>> runBilling() {
+        BillingRunResponse run = billingRunService.runBilling(LocalDate.now());
+        return ResponseEntity.ok(ApiResponse.success("Billing run completed", run));
+    }
+    
+    @PostMapping(value = "/reconciliation", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
+    @Operation(summary = "Reconcile bank statement",
+            description = "Stream a bank statement CSV (amount and reference columns required) as the request body; " +
+                    "matching open invoices are marked paid and unmatched lines are reported")
+    public ResponseEntity<ApiResponse<BankReconciliationResponse>> reconcileBankStatement(InputStream body) throws IOException {
+        BankReconciliationResponse result = bankReconciliationService.reconcile(body);
+        return ResponseEntity.ok(ApiResponse.success("Marked " + result.getMatched() + " invoices as paid", result));
+    }
+    
+    @PostMapping("/exports")
+    @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
+    @Operation(summary = "Start invoice export", description = "Export all invoice PDFs created in a date range into a ZIP archive")
+    public ResponseEntity<ApiResponse<InvoiceExportResponse>> startExport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        InvoiceExportResponse export = invoiceExportService.startExport(from, to);
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Invoice export started", export));
+    }
+    
+    @GetMapping("/exports/{jobId}")
+    @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
+    @Operation(summary = "Get invoice export status", description = "Get progress of an invoice export job")
+    public ResponseEntity<ApiResponse<InvoiceExportResponse>> getExportStatus(@PathVariable String jobId) {
+        InvoiceExportResponse export = invoiceExportService.getExportStatus(jobId);
+        return ResponseEntity.ok(ApiResponse.success(export));
+    }
+    
+    @GetMapping("/exports/{jobId}/download")
+    @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
+    @Operation(summary = "Download invoice export", description = "Download the ZIP archive of a completed invoice export")
+    public ResponseEntity<Resource> downloadExport(@PathVariable String jobId) throws IOException {
+        Resource archive = invoiceExportService.getExportArchive(jobId);
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("application/zip"));
+        headers.setContentDispositionFormData("attachment", archive.getFilename());
+        headers.setLastModified(archive.lastModified());
         
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(pdfContent);
+                .body(archive);
     }
 }
@@ -1,9 +1,20 @@
 package com.clinical.backend.controller;
 
 import com.clinical.backend.dto.common.ApiResponse;
+import com.clinical.backend.dto.patient.DuplicateCandidateResponse;
+import com.clinical.backend.dto.patient.PatientImportResponse;
+import com.clinical.backend.dto.patient.PatientOverviewResponse;
 import com.clinical.backend.dto.patient.PatientRequest;
 import com.clinical.backend.dto.patient.PatientResponse;
+import com.clinical.backend.dto.patient.PatientTimelineResponse;
+import com.clinical.backend.enums.ExportFormat;
+import com.clinical.backend.enums.PatientView;
+import com.clinical.backend.service.PatientDuplicateService;
+import com.clinical.backend.service.PatientExportService;
+import com.clinical.backend.service.PatientImportService;
+import com.clinical.backend.service.PatientOverviewService;
 import com.clinical.backend.service.PatientService;
+import com.clinical.backend.service.PatientTimelineService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -12,10 +23,19 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/patients")
@@ -24,13 +44,22 @@ import org.springframework.web.bind.annotation.*;
 public class PatientController {
     
     private final PatientService patientService;
+    private final PatientImportService patientImportService;
+    private final PatientExportService patientExportService;
+    private final PatientDuplicateService patientDuplicateService;
+    private final PatientOverviewService patientOverviewService;
+    private final PatientTimelineService patientTimelineService;
     
     @GetMapping
-    @Operation(summary = "Get all patients", description = "Retrieve paginated list of all patients")
-    public ResponseEntity<ApiResponse<Page<PatientResponse>>> getAllPatients(
+    @Operation(summary = "Get all patients",
+            description = "Retrieve paginated list of all patients. Use view=summary to get only identity and contact fields")
+    public ResponseEntity<ApiResponse<Page<?>>> getAllPatients(
+            @RequestParam(defaultValue = "FULL") PatientView view,
             @PageableDefault(size = 20, sort = "lastName", direction = Sort.Direction.ASC) Pageable pageable
     ) {
-        Page<PatientResponse> patients = patientService.getAllPatients(pageable);
+        Page<?> patients = view == PatientView.SUMMARY
+                ? patientService.getPatientSummaries(pageable)
+                : patientService.getAllPatients(pageable);
         return ResponseEntity.ok(ApiResponse.success(patients));
     }
     
@@ -42,23 +71,105 @@ public class PatientController {
     }
     
     @GetMapping("/search")
-    @Operation(summary = "Search patients", description = "Search patients by name or email")
-    public ResponseEntity<ApiResponse<Page<PatientResponse>>> searchPatients(
+    @Operation(summary = "Search patients",
+            description = "Search patients by name or email. Use view=summary to get only identity and contact fields")
+    public ResponseEntity<ApiResponse<Page<?>>> searchPatients(
             @RequestParam String query,
+            @RequestParam(defaultValue = "FULL") PatientView view,
             @PageableDefault(size = 20) Pageable pageable
     ) {
-        Page<PatientResponse> patients = patientService.searchPatients(query, pageable);
+        Page<?> patients = view == PatientView.SUMMARY
+                ? patientService.searchPatientSummaries(query, pageable)
+                : patientService.searchPatients(query, pageable);
         return ResponseEntity.ok(ApiResponse.success(patients));
     }
     
+    @GetMapping("/{id}/overview")
+    @Operation(summary = "Get patient overview",
+            description = "Patient details with the most recent appointments, prescriptions and invoices in one call")
+    public ResponseEntity<ApiResponse<PatientOverviewResponse>> getPatientOverview(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "" + PatientOverviewService.DEFAULT_SECTION_SIZE) int limit
+    ) {
+        PatientOverviewResponse overview = patientOverviewService.getOverview(id, limit);
+        return ResponseEntity.ok(ApiResponse.success(overview));
+    }
+    
+    @GetMapping("/{id}/timeline")
+    @Operation(summary = "Get patient timeline",
+            description = "Appointments, prescriptions, invoices and messages merged newest first. " +
+                    "Pass the returned nextCursor to load the next page")
+    public ResponseEntity<ApiResponse<PatientTimelineResponse>> getPatientTimeline(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PatientTimelineService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        PatientTimelineResponse timeline = patientTimelineService.getTimeline(id, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success(timeline));
+    }
+    
+    @GetMapping("/{id}/duplicates")
+    @Operation(summary = "Find duplicates of a patient", description = "List existing patients that are probably the same person")
+    public ResponseEntity<ApiResponse<List<DuplicateCandidateResponse>>> getPatientDuplicates(@PathVariable Long id) {
+        List<DuplicateCandidateResponse> candidates = patientDuplicateService.findCandidatesForPatient(id);
+        return ResponseEntity.ok(ApiResponse.success(candidates));
+    }
+    
+    @PostMapping("/duplicates/check")
+    @Operation(summary = "Check for duplicates", description = "List existing patients matching a patient record before creating it")
+    public ResponseEntity<ApiResponse<List<DuplicateCandidateResponse>>> checkDuplicates(
+            @Valid @RequestBody PatientRequest request
+    ) {
+        List<DuplicateCandidateResponse> candidates = patientDuplicateService.findCandidates(request);
+        return ResponseEntity.ok(ApiResponse.success(candidates));
+    }
+    
     @PostMapping
-    @Operation(summary = "Create patient", description = "Create a new patient record")
-    public ResponseEntity<ApiResponse<PatientResponse>> createPatient(@Valid @RequestBody PatientRequest request) {
-        PatientResponse patient = patientService.createPatient(request);
+    @Operation(summary = "Create patient",
+            description = "Create a new patient record. Rejected when a likely duplicate exists unless allowDuplicate=true")
+    public ResponseEntity<ApiResponse<PatientResponse>> createPatient(
+            @Valid @RequestBody PatientRequest request,
+            @RequestParam(defaultValue = "false") boolean allowDuplicate
+    ) {
+        PatientResponse patient = patientService.createPatient(request, allowDuplicate);
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(ApiResponse.success("Patient created successfully", patient));
     }
     
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
+    @Operation(summary = "Import patients from CSV",
+            description = "Stream a CSV file (header row required) as the request body; invalid and duplicate rows are reported by line")
+    public ResponseEntity<ApiResponse<PatientImportResponse>> importPatients(InputStream body) throws IOException {
+        PatientImportResponse result = patientImportService.importCsv(body);
+        return ResponseEntity.ok(ApiResponse.success("Imported " + result.getImported() + " patients", result));
+    }
+    
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export patients",
+            description = "Stream the full patient registry as CSV or NDJSON (newline-delimited JSON), optionally gzip-compressed")
+    public ResponseEntity<StreamingResponseBody> exportPatients(
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(defaultValue = "false") boolean gzip
+    ) {
+        String filename = "patients_" + LocalDate.now() + (format == ExportFormat.CSV ? ".csv" : ".ndjson");
+        MediaType contentType = format == ExportFormat.CSV
+                ? MediaType.parseMediaType("text/csv")
+                : MediaType.parseMediaType("application/x-ndjson");
+        if (gzip) {
+            filename += ".gz";
+            contentType = MediaType.parseMediaType("application/gzip");
+        }
+        
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(contentType);
+        headers.setContentDisposition(ContentDisposition.attachment().filename(filename).build());
+        
+        StreamingResponseBody body = outputStream -> patientExportService.export(format, gzip, outputStream);
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+    
     @PutMapping("/{id}")
     @Operation(summary = "Update patient", description = "Update an existing patient record")
     public ResponseEntity<ApiResponse<PatientResponse>> updatePatient(
@@ -8,6 +8,7 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -54,16 +55,19 @@ public class PrescriptionController {
     }
     
     @GetMapping("/{id}/pdf")
-    @Operation(summary = "Download prescription PDF", description = "Generate and download prescription PDF")
-    public ResponseEntity<byte[]> downloadPrescriptionPdf(@PathVariable Long id) throws IOException {
-        byte[] pdfContent = prescriptionService.generatePrescriptionPdf(id);
+    @Operation(summary = "Download prescription PDF", description = "Download prescription PDF (supports Range and If-Modified-Since)")
+    public ResponseEntity<Resource> downloadPrescriptionPdf(@PathVariable Long id) throws IOException {
+        // Spring answers Range requests with 206 and If-Modified-Since with 304 for Resource bodies,
+        // copying from disk in fixed-size chunks so heap usage per download stays constant
+        Resource pdf = prescriptionService.getPrescriptionPdf(id);
         
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_PDF);
         headers.setContentDispositionFormData("attachment", "prescription_" + id + ".pdf");
+        headers.setLastModified(pdf.lastModified());
         
         return ResponseEntity.ok()
                 .headers(headers)
-                .body(pdfContent);
+                .body(pdf);
     }
 }
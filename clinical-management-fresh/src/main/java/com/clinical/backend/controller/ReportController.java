@@ -0,0 +1,77 @@
+package com.clinical.backend.controller;
+
+import com.clinical.backend.dto.common.ApiResponse;
+import com.clinical.backend.dto.report.AgingBucketResponse;
+import com.clinical.backend.dto.report.DoctorRevenueResponse;
+import com.clinical.backend.dto.report.PaymentMethodRevenueResponse;
+import com.clinical.backend.dto.report.RevenuePeriodResponse;
+import com.clinical.backend.dto.report.ServiceRevenueResponse;
+import com.clinical.backend.enums.ReportGranularity;
+import com.clinical.backend.service.RevenueReportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+@RequiredArgsConstructor
+@Tag(name = "Reports", description = "Revenue and receivables reporting endpoints")
+public class ReportController {
+    
+    private final RevenueReportService revenueReportService;
+    
+    @GetMapping("/revenue")
+    @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
+    @Operation(summary = "Revenue over time", description = "Paid revenue per day, week or month between two dates (inclusive)")
+    public ResponseEntity<ApiResponse<List<RevenuePeriodResponse>>> getRevenueByPeriod(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "DAY") ReportGranularity granularity
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(revenueReportService.getRevenueByPeriod(from, to, granularity)));
+    }
+    
+    @GetMapping("/revenue/doctors")
+    @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
+    @Operation(summary = "Revenue per doctor", description = "Paid revenue per doctor between two dates (inclusive)")
+    public ResponseEntity<ApiResponse<List<DoctorRevenueResponse>>> getRevenueByDoctor(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(revenueReportService.getRevenueByDoctor(from, to)));
+    }
+    
+    @GetMapping("/revenue/payment-methods")
+    @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
+    @Operation(summary = "Revenue per payment method", description = "Paid revenue per payment method between two dates (inclusive)")
+    public ResponseEntity<ApiResponse<List<PaymentMethodRevenueResponse>>> getRevenueByPaymentMethod(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(revenueReportService.getRevenueByPaymentMethod(from, to)));
+    }
+    
+    @GetMapping("/revenue/services")
+    @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
+    @Operation(summary = "Revenue per service", description = "Paid revenue per invoice line service code between two dates (inclusive)")
+    public ResponseEntity<ApiResponse<List<ServiceRevenueResponse>>> getRevenueByService(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(revenueReportService.getRevenueByService(from, to)));
+    }
+    
+    @GetMapping("/receivables/aging")
+    @PreAuthorize("hasAnyRole('SECRETARY', 'ADMIN')")
+    @Operation(summary = "Receivables aging", description = "Pending and overdue invoices grouped by days past due")
+    public ResponseEntity<ApiResponse<List<AgingBucketResponse>>> getReceivablesAging() {
+        return ResponseEntity.ok(ApiResponse.success(revenueReportService.getReceivablesAging()));
+    }
+}
@@ -0,0 +1,62 @@
+package com.clinical.backend.controller;
+
+import com.clinical.backend.dto.common.ApiResponse;
+import com.clinical.backend.dto.room.RoomRequest;
+import com.clinical.backend.dto.room.RoomResponse;
+import com.clinical.backend.service.RoomService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/rooms")
+@RequiredArgsConstructor
+@Tag(name = "Rooms", description = "Consultation rooms and their availability")
+public class RoomController {
+    
+    private final RoomService roomService;
+    
+    @GetMapping
+    @Operation(summary = "Get all rooms", description = "List every consultation room, including inactive ones")
+    public ResponseEntity<ApiResponse<List<RoomResponse>>> getAllRooms() {
+        return ResponseEntity.ok(ApiResponse.success(roomService.getAllRooms()));
+    }
+    
+    @GetMapping("/available")
+    @Operation(summary = "Get free rooms", description = "Active rooms with no booking overlapping the given slot")
+    public ResponseEntity<ApiResponse<List<RoomResponse>>> getFreeRooms(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end
+    ) {
+        return ResponseEntity.ok(ApiResponse.success(roomService.getFreeRooms(start, end)));
+    }
+    
+    @PostMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Create room", description = "Add a consultation room (Admin only)")
+    public ResponseEntity<ApiResponse<RoomResponse>> createRoom(@Valid @RequestBody RoomRequest request) {
+        RoomResponse room = roomService.createRoom(request);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Room created successfully", room));
+    }
+    
+    @PutMapping("/{id}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Update room", description = "Rename, describe or deactivate a room (Admin only)")
+    public ResponseEntity<ApiResponse<RoomResponse>> updateRoom(
+            @PathVariable Long id,
+            @Valid @RequestBody RoomRequest request
+    ) {
+        RoomResponse room = roomService.updateRoom(id, request);
+        return ResponseEntity.ok(ApiResponse.success("Room updated successfully", room));
+    }
+}
@@ -0,0 +1,46 @@
+package com.clinical.backend.controller;
+
+import com.clinical.backend.dto.common.ApiResponse;
+import com.clinical.backend.dto.search.SearchHitResponse;
+import com.clinical.backend.security.CustomUserDetails;
+import com.clinical.backend.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+@Tag(name = "Search", description = "Global search endpoints")
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    @Operation(summary = "Global search", description = "Ranked search across patients, doctors, messages and prescriptions")
+    public ResponseEntity<ApiResponse<List<SearchHitResponse>>> search(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication
+    ) {
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        List<SearchHitResponse> hits = searchService.search(q, userDetails.getId(), limit);
+        return ResponseEntity.ok(ApiResponse.success(hits));
+    }
+
+    @PostMapping("/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild search index", description = "Reindex all searchable entities in the background")
+    public ResponseEntity<ApiResponse<Void>> reindex() {
+        searchService.startReindex();
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(ApiResponse.success("Search reindex started", null));
+    }
+}
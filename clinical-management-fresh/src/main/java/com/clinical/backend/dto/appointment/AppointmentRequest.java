@@ -30,4 +30,7 @@ public class AppointmentRequest {
     private LocalDateTime endTime;
     
     private String reason;
+    
+    // Optional; when omitted a free room is picked, preferring the doctor's usual one
+    private Long roomId;
 }
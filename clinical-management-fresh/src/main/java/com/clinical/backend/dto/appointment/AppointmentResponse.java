@@ -19,6 +19,8 @@ public class AppointmentResponse {
     private Long doctorId;
     private String doctorName;
     private String doctorSpecialty;
+    private Long roomId;
+    private String roomName;
     private LocalDateTime startTime;
     private LocalDateTime endTime;
     private String status;
@@ -0,0 +1,29 @@
+package com.clinical.backend.dto.doctor;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoctorResponse {
+    
+    private Long id;
+    private Long userId;
+    private String fullName;
+    private String email;
+    private String specialty;
+    private String licenseNumber;
+    private String room;
+    private String phone;
+    private Integer consultationFeeCents;
+    private LocalTime availableFrom;
+    private LocalTime availableTo;
+    private LocalDateTime createdAt;
+}
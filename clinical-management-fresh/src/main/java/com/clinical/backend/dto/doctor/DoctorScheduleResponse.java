@@ -0,0 +1,20 @@
+package com.clinical.backend.dto.doctor;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoctorScheduleResponse {
+    
+    private Long doctorId;
+    private List<ScheduleSlotResponse> weeklySchedule;
+    private List<ScheduleExceptionResponse> exceptions;
+    private List<ScheduleExceptionResponse> closures;
+}
@@ -0,0 +1,29 @@
+package com.clinical.backend.dto.doctor;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ScheduleExceptionRequest {
+    
+    @NotNull(message = "Start date is required")
+    private LocalDate startDate;
+    
+    @NotNull(message = "End date is required")
+    private LocalDate endDate;
+    
+    // Leave both empty to block whole days
+    private LocalTime startTime;
+    private LocalTime endTime;
+    
+    private String reason;
+}
@@ -0,0 +1,38 @@
+package com.clinical.backend.dto.invoice;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BankReconciliationResponse {
+    
+    private long totalLines;
+    private long matched;
+    private long matchedCents;
+    private long ignored;  // debits and zero amounts, which cannot pay an invoice
+    private long unmatched;
+    private List<UnmatchedLine> unmatchedLines;
+    private boolean unmatchedTruncated;  // only the first unmatched lines are listed for very large files
+    private long durationMs;
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class UnmatchedLine {
+        private long line;
+        private LocalDate date;
+        private Long amountCents;
+        private String payer;
+        private String reference;
+        private String reason;
+    }
+}
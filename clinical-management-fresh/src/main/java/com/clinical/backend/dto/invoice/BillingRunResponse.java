@@ -0,0 +1,21 @@
+package com.clinical.backend.dto.invoice;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BillingRunResponse {
+
+    private LocalDate billingDate;
+    private LocalDate dueDate;
+    private long invoicesCreated;
+    private long skippedWithoutFee;  // completed appointments whose doctor has no consultation fee
+    private long durationMs;
+}
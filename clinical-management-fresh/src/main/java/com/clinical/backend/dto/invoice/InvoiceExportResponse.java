@@ -0,0 +1,27 @@
+package com.clinical.backend.dto.invoice;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvoiceExportResponse {
+
+    private String jobId;
+    private LocalDate from;
+    private LocalDate to;
+    private String status;  // QUEUED, RUNNING, COMPLETED, FAILED
+    private long totalInvoices;
+    private long processedInvoices;
+    private int progressPercent;
+    private String error;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,37 @@
+package com.clinical.backend.dto.invoice;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvoiceLineItemRequest {
+    
+    @NotBlank(message = "Service code is required")
+    @Size(max = 50, message = "Service code must not exceed 50 characters")
+    private String serviceCode;
+    
+    @NotBlank(message = "Description is required")
+    @Size(max = 255, message = "Description must not exceed 255 characters")
+    private String description;
+    
+    @Builder.Default
+    @Min(value = 1, message = "Quantity must be at least 1")
+    private Integer quantity = 1;
+    
+    @NotNull(message = "Unit price is required")
+    @Min(value = 0, message = "Unit price must be positive")
+    private Integer unitPriceCents;
+    
+    @Builder.Default
+    @Min(value = 0, message = "Tax must be positive")
+    private Integer taxCents = 0;
+}
@@ -0,0 +1,21 @@
+package com.clinical.backend.dto.invoice;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvoiceLineItemResponse {
+    
+    private Integer position;
+    private String serviceCode;
+    private String description;
+    private Integer quantity;
+    private Integer unitPriceCents;
+    private Integer taxCents;
+    private Integer lineTotalCents;
+}
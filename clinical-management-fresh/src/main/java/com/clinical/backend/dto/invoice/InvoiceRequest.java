@@ -1,13 +1,16 @@
 package com.clinical.backend.dto.invoice;
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -18,7 +21,7 @@ public class InvoiceRequest {
     @NotNull(message = "Appointment ID is required")
     private Long appointmentId;
     
-    @NotNull(message = "Amount is required")
+    // Required without line items; otherwise derived from them
     @Min(value = 0, message = "Amount must be positive")
     private Integer amountCents;
     
@@ -28,5 +31,8 @@ public class InvoiceRequest {
     
     private LocalDate dueDate;
     
-    private String lineItems;  // JSON string
+    // The invoice PDF is a single page
+    @Valid
+    @Size(max = 20, message = "An invoice can have at most 20 line items")
+    private List<InvoiceLineItemRequest> lineItems;
 }
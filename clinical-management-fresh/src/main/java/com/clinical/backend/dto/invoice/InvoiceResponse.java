@@ -7,6 +7,7 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Data
 @NoArgsConstructor
@@ -15,6 +16,7 @@ import java.time.LocalDateTime;
 public class InvoiceResponse {
     
     private Long id;
+    private String invoiceNumber;  // assigned once the invoice is committed, so absent when just created
     private Long appointmentId;
     private Long patientId;
     private String patientName;
@@ -26,6 +28,6 @@ public class InvoiceResponse {
     private LocalDateTime paidAt;
     private LocalDate dueDate;
     private String pdfPath;
-    private String lineItems;
+    private List<InvoiceLineItemResponse> lineItems;
     private LocalDateTime createdAt;
 }
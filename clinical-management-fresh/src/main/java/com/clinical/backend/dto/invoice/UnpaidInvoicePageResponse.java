@@ -0,0 +1,18 @@
+package com.clinical.backend.dto.invoice;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnpaidInvoicePageResponse {
+    
+    private List<UnpaidInvoiceResponse> invoices;
+    private String nextCursor;  // null once the last unpaid invoice has been returned
+}
@@ -0,0 +1,29 @@
+package com.clinical.backend.dto.invoice;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UnpaidInvoiceResponse {
+    
+    private Long id;
+    private String invoiceNumber;
+    private Long patientId;
+    private String patientName;
+    private String patientPhone;
+    private String patientEmail;
+    private Integer amountCents;
+    private Integer taxCents;
+    private Integer totalCents;
+    private String status;
+    private LocalDate dueDate;
+    private LocalDateTime createdAt;
+}
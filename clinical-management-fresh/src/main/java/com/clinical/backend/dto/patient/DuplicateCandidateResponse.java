@@ -0,0 +1,24 @@
+package com.clinical.backend.dto.patient;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DuplicateCandidateResponse {
+    
+    private Long patientId;
+    private String fullName;
+    private LocalDate dateOfBirth;
+    private String email;
+    private String phone;
+    private double score;  // 0..1, higher is more likely the same person
+    private List<String> matchedOn;  // NAME, DATE_OF_BIRTH, EMAIL, PHONE
+}
@@ -0,0 +1,30 @@
+package com.clinical.backend.dto.patient;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PatientImportResponse {
+    
+    private long totalRows;
+    private long imported;
+    private long duplicates;
+    private long failed;
+    private List<RowError> errors;
+    private boolean errorsTruncated;  // only the first errors are listed for very large files
+    
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;
+        private String message;
+    }
+}
@@ -0,0 +1,23 @@
+package com.clinical.backend.dto.patient;
+
+import com.clinical.backend.dto.appointment.AppointmentResponse;
+import com.clinical.backend.dto.invoice.InvoiceResponse;
+import com.clinical.backend.dto.prescription.PrescriptionResponse;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PatientOverviewResponse {
+    
+    private PatientResponse patient;
+    private List<AppointmentResponse> recentAppointments;
+    private List<PrescriptionResponse> recentPrescriptions;
+    private List<InvoiceResponse> recentInvoices;
+}
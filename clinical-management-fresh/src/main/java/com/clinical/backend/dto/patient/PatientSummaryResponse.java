@@ -0,0 +1,23 @@
+package com.clinical.backend.dto.patient;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PatientSummaryResponse {
+    
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String fullName;
+    private LocalDate dateOfBirth;
+    private String phone;
+    private String email;
+}
@@ -0,0 +1,18 @@
+package com.clinical.backend.dto.patient;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PatientTimelineResponse {
+    
+    private List<TimelineEntryResponse> entries;
+    private String nextCursor;  // null once the oldest entry has been returned
+}
@@ -0,0 +1,23 @@
+package com.clinical.backend.dto.patient;
+
+import com.clinical.backend.enums.TimelineEntryType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TimelineEntryResponse {
+    
+    private TimelineEntryType type;
+    private Long id;
+    private LocalDateTime occurredAt;
+    private String title;
+    private String detail;
+    private String status;
+}
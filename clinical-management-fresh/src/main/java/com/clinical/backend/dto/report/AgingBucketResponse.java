@@ -0,0 +1,18 @@
+package com.clinical.backend.dto.report;
+
+import com.clinical.backend.enums.AgingBucket;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AgingBucketResponse {
+    
+    private AgingBucket bucket;
+    private long invoiceCount;
+    private long totalCents;
+}
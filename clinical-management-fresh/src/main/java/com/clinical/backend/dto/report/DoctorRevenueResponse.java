@@ -0,0 +1,18 @@
+package com.clinical.backend.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoctorRevenueResponse {
+    
+    private Long doctorId;
+    private String doctorName;
+    private long invoiceCount;
+    private long totalCents;
+}
@@ -0,0 +1,17 @@
+package com.clinical.backend.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PaymentMethodRevenueResponse {
+    
+    private String paymentMethod;
+    private long invoiceCount;
+    private long totalCents;
+}
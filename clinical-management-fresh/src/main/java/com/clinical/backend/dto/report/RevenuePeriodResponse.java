@@ -0,0 +1,20 @@
+package com.clinical.backend.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevenuePeriodResponse {
+    
+    private LocalDate periodStart;
+    private long invoiceCount;
+    private long totalCents;
+    private long taxCents;
+}
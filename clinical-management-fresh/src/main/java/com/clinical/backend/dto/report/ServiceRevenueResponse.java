@@ -0,0 +1,20 @@
+package com.clinical.backend.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ServiceRevenueResponse {
+    
+    private String serviceCode;
+    private long invoiceCount;
+    private long quantity;
+    private long netCents;
+    private long taxCents;
+    private long totalCents;
+}
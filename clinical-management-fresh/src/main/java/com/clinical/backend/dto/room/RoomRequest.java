@@ -0,0 +1,24 @@
+package com.clinical.backend.dto.room;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomRequest {
+    
+    @NotBlank(message = "Room name is required")
+    @Size(max = 50, message = "Room name must not exceed 50 characters")
+    private String name;
+    
+    @Size(max = 255, message = "Description must not exceed 255 characters")
+    private String description;
+    
+    private Boolean active;
+}
@@ -0,0 +1,18 @@
+package com.clinical.backend.dto.room;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RoomResponse {
+    
+    private Long id;
+    private String name;
+    private String description;
+    private Boolean active;
+}
@@ -0,0 +1,18 @@
+package com.clinical.backend.dto.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SearchHitResponse {
+
+    private String type;  // PATIENT, DOCTOR, MESSAGE, PRESCRIPTION
+    private Long id;
+    private String title;
+    private float score;
+}
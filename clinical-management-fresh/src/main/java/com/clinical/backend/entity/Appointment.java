@@ -11,7 +11,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "appointments", indexes = {
     @Index(name = "idx_appointments_doctor_time", columnList = "doctor_id,start_time,end_time"),
-    @Index(name = "idx_appointments_patient_date", columnList = "patient_id,start_time"),
+    @Index(name = "idx_appointments_patient_date", columnList = "patient_id,start_time,id"),
+    @Index(name = "idx_appointments_room_time", columnList = "room_id,start_time,end_time"),
     @Index(name = "idx_appointments_status", columnList = "status"),
     @Index(name = "idx_appointments_start_time", columnList = "start_time")
 })
@@ -33,6 +34,10 @@ public class Appointment {
     @JoinColumn(name = "doctor_id", nullable = false)
     private Doctor doctor;
     
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "room_id")
+    private Room room;
+    
     @Column(name = "start_time", nullable = false)
     private LocalDateTime startTime;
     
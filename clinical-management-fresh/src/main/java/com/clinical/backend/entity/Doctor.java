@@ -2,6 +2,8 @@ package com.clinical.backend.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -13,6 +15,8 @@ import java.time.LocalTime;
     @Index(name = "idx_doctors_user_id", columnList = "user_id"),
     @Index(name = "idx_doctors_specialty", columnList = "specialty")
 })
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "doctors")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -0,0 +1,53 @@
+package com.clinical.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * A dated period in which a doctor (or, with no doctor, the whole clinic) cannot be booked.
+ * Without start/end times whole days are blocked; with them, that time is blocked on every
+ * day of the range.
+ */
+@Entity
+@Table(name = "doctor_schedule_exceptions", indexes = {
+    @Index(name = "idx_doctor_schedule_exceptions_doctor", columnList = "doctor_id,end_date"),
+    @Index(name = "idx_doctor_schedule_exceptions_end_date", columnList = "end_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DoctorScheduleException {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id")
+    @ToString.Exclude
+    private Doctor doctor;
+    
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+    
+    @Column(name = "end_date", nullable = false)
+    private LocalDate endDate;
+    
+    @Column(name = "start_time")
+    private LocalTime startTime;
+    
+    @Column(name = "end_time")
+    private LocalTime endTime;
+    
+    private String reason;
+    
+    @CreationTimestamp
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
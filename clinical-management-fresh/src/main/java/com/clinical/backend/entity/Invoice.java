@@ -12,7 +12,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "invoices", indexes = {
     @Index(name = "idx_invoices_appointment", columnList = "appointment_id"),
-    @Index(name = "idx_invoices_patient", columnList = "patient_id"),
+    @Index(name = "idx_invoices_patient_created", columnList = "patient_id,created_at,id"),
     @Index(name = "idx_invoices_status", columnList = "status"),
     @Index(name = "idx_invoices_due_date", columnList = "due_date")
 })
@@ -26,6 +26,10 @@ public class Invoice {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // Assigned by InvoiceNumberService after commit; never written through the entity
+    @Column(name = "invoice_number", length = 20, insertable = false, updatable = false)
+    private String invoiceNumber;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "appointment_id", nullable = false)
     private Appointment appointment;
@@ -61,8 +65,10 @@ public class Invoice {
     @Column(name = "pdf_path", length = 500)
     private String pdfPath;
     
-    @Column(name = "line_items", columnDefinition = "TEXT")
-    private String lineItems;
+    // Created by the nightly billing run rather than by hand
+    @Column(name = "auto_billed", nullable = false)
+    @Builder.Default
+    private Boolean autoBilled = false;
     
     @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
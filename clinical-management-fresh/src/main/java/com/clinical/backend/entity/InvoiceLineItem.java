@@ -0,0 +1,46 @@
+package com.clinical.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+@Entity
+@Table(name = "invoice_line_items", indexes = {
+    @Index(name = "idx_invoice_line_items_service", columnList = "service_code,invoice_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InvoiceLineItem {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "invoice_id", nullable = false)
+    private Invoice invoice;
+    
+    @Column(nullable = false)
+    private Integer position;
+    
+    @Column(name = "service_code", nullable = false, length = 50)
+    private String serviceCode;
+    
+    @Column(nullable = false)
+    private String description;
+    
+    @Column(nullable = false)
+    private Integer quantity;
+    
+    @Column(name = "unit_price_cents", nullable = false)
+    private Integer unitPriceCents;
+    
+    @Column(name = "tax_cents", nullable = false)
+    @Builder.Default
+    private Integer taxCents = 0;
+    
+    // Generated column: quantity * unit_price_cents + tax_cents
+    @Column(name = "line_total_cents", insertable = false, updatable = false)
+    private Integer lineTotalCents;
+}
@@ -8,8 +8,8 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "messages", indexes = {
-    @Index(name = "idx_messages_from_user", columnList = "from_user_id"),
-    @Index(name = "idx_messages_to_user", columnList = "to_user_id"),
+    @Index(name = "idx_messages_from_user_created", columnList = "from_user_id,created_at,id"),
+    @Index(name = "idx_messages_to_user_created", columnList = "to_user_id,created_at,id"),
     @Index(name = "idx_messages_unread", columnList = "to_user_id,is_read,created_at")
 })
 @Getter
@@ -3,6 +3,7 @@ package com.clinical.backend.entity;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.LazyGroup;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.time.LocalDate;
@@ -45,13 +46,27 @@ public class Patient {
     
     private String email;
     
+    // Large clinical text is loaded on first access only (requires the Hibernate bytecode
+    // enhancement configured in pom.xml); all three columns are fetched together in one select
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("clinical")
     @Column(columnDefinition = "TEXT")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String address;
     
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("clinical")
     @Column(name = "medical_history", columnDefinition = "TEXT")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String medicalHistory;
     
+    @Basic(fetch = FetchType.LAZY)
+    @LazyGroup("clinical")
     @Column(columnDefinition = "TEXT")
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private String allergies;
     
     @Column(name = "blood_type", length = 10)
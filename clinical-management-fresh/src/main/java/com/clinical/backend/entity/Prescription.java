@@ -11,7 +11,7 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "prescriptions", indexes = {
     @Index(name = "idx_prescriptions_appointment", columnList = "appointment_id"),
-    @Index(name = "idx_prescriptions_patient", columnList = "patient_id"),
+    @Index(name = "idx_prescriptions_patient_created", columnList = "patient_id,created_at,id"),
     @Index(name = "idx_prescriptions_doctor", columnList = "doctor_id")
 })
 @Data
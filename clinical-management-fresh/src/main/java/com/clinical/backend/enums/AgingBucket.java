@@ -0,0 +1,9 @@
+package com.clinical.backend.enums;
+
+public enum AgingBucket {
+    CURRENT,
+    DAYS_1_30,
+    DAYS_31_60,
+    DAYS_61_90,
+    DAYS_OVER_90
+}
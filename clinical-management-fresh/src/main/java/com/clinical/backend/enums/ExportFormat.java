@@ -0,0 +1,5 @@
+package com.clinical.backend.enums;
+
+public enum ExportFormat {
+    CSV, NDJSON
+}
@@ -0,0 +1,5 @@
+package com.clinical.backend.enums;
+
+public enum PatientView {
+    SUMMARY, FULL
+}
@@ -0,0 +1,7 @@
+package com.clinical.backend.enums;
+
+public enum ReportGranularity {
+    DAY,
+    WEEK,
+    MONTH
+}
@@ -0,0 +1,5 @@
+package com.clinical.backend.enums;
+
+public enum TimelineEntryType {
+    APPOINTMENT, PRESCRIPTION, INVOICE, MESSAGE
+}
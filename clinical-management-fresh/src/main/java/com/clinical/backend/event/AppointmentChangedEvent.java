@@ -0,0 +1,9 @@
+package com.clinical.backend.event;
+
+/**
+ * Published when an appointment is booked or changes status, either on this replica or,
+ * via cache invalidation, on another one. A null appointment id means any booking may have
+ * changed (missed notifications from other replicas).
+ */
+public record AppointmentChangedEvent(Long appointmentId) {
+}
@@ -0,0 +1,8 @@
+package com.clinical.backend.event;
+
+/**
+ * Published when a doctor (or the user account behind it) is created, updated or deleted,
+ * either on this replica or, via cache invalidation, on another one.
+ */
+public record DoctorChangedEvent(Long doctorId) {
+}
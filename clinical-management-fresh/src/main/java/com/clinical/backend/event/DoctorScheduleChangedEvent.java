@@ -0,0 +1,8 @@
+package com.clinical.backend.event;
+
+/**
+ * Published when weekly schedules or schedule exceptions change. A null doctor id means
+ * the change may affect every doctor (clinic-wide closures, or an edit on another replica).
+ */
+public record DoctorScheduleChangedEvent(Long doctorId) {
+}
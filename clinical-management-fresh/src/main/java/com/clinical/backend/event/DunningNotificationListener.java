@@ -0,0 +1,50 @@
+package com.clinical.backend.event;
+
+import com.clinical.backend.event.InvoicesOverdueEvent.OverdueInvoice;
+import com.clinical.backend.service.EmailService;
+import com.clinical.backend.service.NotificationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Sends dunning notices once an overdue sweep chunk has committed, so patients are only told
+ * about invoices that really are OVERDUE. One batched insert covers the in-app notifications
+ * of the whole chunk; emails go out through the asynchronous mail sender.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DunningNotificationListener {
+
+    private final NotificationService notificationService;
+    private final EmailService emailService;
+    private final MeterRegistry meterRegistry;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onInvoicesOverdue(InvoicesOverdueEvent event) {
+        try {
+            int notified = notificationService.notifyInvoicesOverdue(event.invoices());
+            meterRegistry.counter("invoices.dunning.sent", "channel", "notification").increment(notified);
+        } catch (Exception e) {
+            log.warn("Failed to create overdue notifications for {} invoices", event.invoices().size(), e);
+        }
+
+        for (OverdueInvoice invoice : event.invoices()) {
+            if (invoice.patientEmail() == null || invoice.patientEmail().isBlank()) {
+                continue;
+            }
+            emailService.sendSimpleEmail(invoice.patientEmail(),
+                    "Invoice " + invoice.reference() + " is overdue",
+                    String.format("Dear %s,%n%nOur records show that invoice %s for $%.2f was due on %s and "
+                                    + "has not been paid yet. Please settle it at your earliest convenience.",
+                            invoice.patientName(), invoice.reference(), invoice.totalCents() / 100.0, invoice.dueDate()));
+            meterRegistry.counter("invoices.dunning.sent", "channel", "email").increment();
+        }
+    }
+}
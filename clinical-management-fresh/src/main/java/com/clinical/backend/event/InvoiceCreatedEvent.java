@@ -0,0 +1,7 @@
+package com.clinical.backend.event;
+
+/**
+ * Published inside the transaction that creates an invoice.
+ */
+public record InvoiceCreatedEvent(Long invoiceId) {
+}
@@ -0,0 +1,21 @@
+package com.clinical.backend.event;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Published inside each overdue sweep transaction with the invoices it moved to OVERDUE.
+ */
+public record InvoicesOverdueEvent(List<OverdueInvoice> invoices) {
+
+    public record OverdueInvoice(Long invoiceId, String invoiceNumber, Integer totalCents, LocalDate dueDate,
+                                 Long patientUserId, String patientEmail, String patientName) {
+
+        /**
+         * How patients see the invoice: its number, or {@code #id} while it has none yet.
+         */
+        public String reference() {
+            return invoiceNumber != null ? invoiceNumber : "#" + invoiceId;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.clinical.backend.event;
+
+import com.clinical.backend.service.InvoiceService;
+import com.clinical.backend.service.PrescriptionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Renders invoice and prescription PDFs in the background once the creating transaction
+ * has committed, so the download endpoint can usually serve a file that already exists.
+ * If a download arrives before this finishes, the service renders on demand instead.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PdfPrerenderListener {
+
+    private final InvoiceService invoiceService;
+    private final PrescriptionService prescriptionService;
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onInvoiceCreated(InvoiceCreatedEvent event) {
+        try {
+            invoiceService.ensureInvoicePdf(event.invoiceId());
+            log.debug("Pre-rendered PDF for invoice {}", event.invoiceId());
+        } catch (Exception e) {
+            log.warn("Failed to pre-render PDF for invoice {}", event.invoiceId(), e);
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPrescriptionCreated(PrescriptionCreatedEvent event) {
+        try {
+            prescriptionService.ensurePrescriptionPdf(event.prescriptionId());
+            log.debug("Pre-rendered PDF for prescription {}", event.prescriptionId());
+        } catch (Exception e) {
+            log.warn("Failed to pre-render PDF for prescription {}", event.prescriptionId(), e);
+        }
+    }
+}
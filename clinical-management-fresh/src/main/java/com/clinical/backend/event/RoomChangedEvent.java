@@ -0,0 +1,8 @@
+package com.clinical.backend.event;
+
+/**
+ * Published when a room is created or updated, either on this replica or, via cache
+ * invalidation, on another one. A null room id means any room may have changed.
+ */
+public record RoomChangedEvent(Long roomId) {
+}
@@ -0,0 +1,19 @@
+package com.clinical.backend.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * An Idempotency-Key request that cannot be run or replayed. Raised before the request
+ * reaches a controller, so the idempotency filter writes the error response itself.
+ */
+@Getter
+public class IdempotencyException extends RuntimeException {
+    
+    private final HttpStatus status;
+    
+    public IdempotencyException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+}
@@ -15,6 +15,8 @@ public class AppointmentMapper {
                 .doctorId(appointment.getDoctor().getId())
                 .doctorName(appointment.getDoctor().getUser().getFullName())
                 .doctorSpecialty(appointment.getDoctor().getSpecialty())
+                .roomId(appointment.getRoom() != null ? appointment.getRoom().getId() : null)
+                .roomName(appointment.getRoom() != null ? appointment.getRoom().getName() : null)
                 .startTime(appointment.getStartTime())
                 .endTime(appointment.getEndTime())
                 .reason(appointment.getReason())
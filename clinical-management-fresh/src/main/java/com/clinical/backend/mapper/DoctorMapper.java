@@ -0,0 +1,26 @@
+package com.clinical.backend.mapper;
+
+import com.clinical.backend.dto.doctor.DoctorResponse;
+import com.clinical.backend.entity.Doctor;
+import org.springframework.stereotype.Component;
+
+@Component
+public class DoctorMapper {
+    
+    public DoctorResponse toResponse(Doctor doctor) {
+        return DoctorResponse.builder()
+                .id(doctor.getId())
+                .userId(doctor.getUser().getId())
+                .fullName(doctor.getUser().getFullName())
+                .email(doctor.getUser().getEmail())
+                .specialty(doctor.getSpecialty())
+                .licenseNumber(doctor.getLicenseNumber())
+                .room(doctor.getRoom())
+                .phone(doctor.getPhone())
+                .consultationFeeCents(doctor.getConsultationFeeCents())
+                .availableFrom(doctor.getAvailableFrom())
+                .availableTo(doctor.getAvailableTo())
+                .createdAt(doctor.getCreatedAt())
+                .build();
+    }
+}
@@ -1,7 +1,9 @@
 package com.clinical.backend.mapper;
 
+import com.clinical.backend.dto.invoice.InvoiceLineItemResponse;
 import com.clinical.backend.dto.invoice.InvoiceResponse;
 import com.clinical.backend.entity.Invoice;
+import com.clinical.backend.entity.InvoiceLineItem;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -10,6 +12,7 @@ public class InvoiceMapper {
     public InvoiceResponse toResponse(Invoice invoice) {
         return InvoiceResponse.builder()
                 .id(invoice.getId())
+                .invoiceNumber(invoice.getInvoiceNumber())
                 .appointmentId(invoice.getAppointment().getId())
                 .patientId(invoice.getPatient().getId())
                 .patientName(invoice.getPatient().getFirstName() + " " + invoice.getPatient().getLastName())
@@ -21,8 +24,19 @@ public class InvoiceMapper {
                 .paidAt(invoice.getPaidAt())
                 .dueDate(invoice.getDueDate())
                 .pdfPath(invoice.getPdfPath())
-                .lineItems(invoice.getLineItems())
                 .createdAt(invoice.getCreatedAt())
                 .build();
     }
+    
+    public InvoiceLineItemResponse toLineItemResponse(InvoiceLineItem lineItem) {
+        return InvoiceLineItemResponse.builder()
+                .position(lineItem.getPosition())
+                .serviceCode(lineItem.getServiceCode())
+                .description(lineItem.getDescription())
+                .quantity(lineItem.getQuantity())
+                .unitPriceCents(lineItem.getUnitPriceCents())
+                .taxCents(lineItem.getTaxCents())
+                .lineTotalCents(lineItem.getLineTotalCents())
+                .build();
+    }
 }
@@ -2,7 +2,9 @@ package com.clinical.backend.repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,6 +14,7 @@ import com.clinical.backend.entity.Appointment;
 import com.clinical.backend.entity.Doctor;
 import com.clinical.backend.entity.Patient;
 import com.clinical.backend.enums.AppointmentStatus;
+import com.clinical.backend.repository.projection.RoomBooking;
 
 @Repository
 public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
@@ -73,6 +76,33 @@ public interface AppointmentRepository extends JpaRepository<Appointment, Long>
         @Param("endDate") LocalDateTime endDate
     );
     
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.patient JOIN FETCH a.doctor d JOIN FETCH d.user " +
+           "WHERE a.patient.id = :patientId ORDER BY a.startTime DESC, a.id DESC")
+    List<Appointment> findRecentByPatientId(@Param("patientId") Long patientId, Pageable pageable);
+    
+    // Keyset page for the patient timeline: everything strictly older than (beforeTime, beforeId)
+    @Query("SELECT a FROM Appointment a JOIN FETCH a.doctor d JOIN FETCH d.user " +
+           "WHERE a.patient.id = :patientId " +
+           "AND (a.startTime < :beforeTime OR (a.startTime = :beforeTime AND a.id < :beforeId)) " +
+           "ORDER BY a.startTime DESC, a.id DESC")
+    List<Appointment> findTimelinePage(
+        @Param("patientId") Long patientId,
+        @Param("beforeTime") LocalDateTime beforeTime,
+        @Param("beforeId") Long beforeId,
+        Pageable pageable
+    );
+    
+    // Room occupancy index: every booking that still holds its room (see prevent_room_double_booking)
+    @Query("SELECT a.id AS id, a.room.id AS roomId, a.startTime AS startTime, a.endTime AS endTime, a.status AS status " +
+           "FROM Appointment a WHERE a.room IS NOT NULL " +
+           "AND a.endTime > :from " +
+           "AND a.status <> 'CANCELLED'")
+    List<RoomBooking> findRoomBookingsEndingAfter(@Param("from") LocalDateTime from);
+    
+    @Query("SELECT a.id AS id, a.room.id AS roomId, a.startTime AS startTime, a.endTime AS endTime, a.status AS status " +
+           "FROM Appointment a WHERE a.id = :id")
+    Optional<RoomBooking> findRoomBookingById(@Param("id") Long id);
+    
     // For appointment reminder scheduler
     List<Appointment> findByStartTimeBetweenAndStatus(
         LocalDateTime startTime, 
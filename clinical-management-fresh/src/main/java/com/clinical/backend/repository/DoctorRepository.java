@@ -4,7 +4,6 @@ import com.clinical.backend.entity.Doctor;
 import com.clinical.backend.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,8 +18,7 @@ public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     
     List<Doctor> findBySpecialtyContainingIgnoreCase(String specialty);
     
-    @Query("SELECT d FROM Doctor d WHERE " +
-           "LOWER(d.specialty) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(d.user.fullName) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Doctor> searchDoctors(@Param("searchTerm") String searchTerm);
+    // Full load for the in-memory doctor directory
+    @Query("SELECT d FROM Doctor d JOIN FETCH d.user")
+    List<Doctor> findAllWithUser();
 }
@@ -0,0 +1,23 @@
+package com.clinical.backend.repository;
+
+import com.clinical.backend.entity.DoctorScheduleException;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface DoctorScheduleExceptionRepository extends JpaRepository<DoctorScheduleException, Long> {
+    
+    // Past exceptions can no longer affect a booking, so only these are compiled into memory
+    List<DoctorScheduleException> findByEndDateGreaterThanEqual(LocalDate date);
+    
+    List<DoctorScheduleException> findByDoctorIdAndEndDateGreaterThanEqual(Long doctorId, LocalDate date);
+    
+    @Query("SELECT e FROM DoctorScheduleException e WHERE e.doctor IS NULL AND e.endDate >= :date " +
+           "ORDER BY e.startDate")
+    List<DoctorScheduleException> findUpcomingClosures(@Param("date") LocalDate date);
+}
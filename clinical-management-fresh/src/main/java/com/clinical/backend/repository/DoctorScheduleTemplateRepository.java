@@ -0,0 +1,16 @@
+package com.clinical.backend.repository;
+
+import com.clinical.backend.entity.DoctorScheduleTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DoctorScheduleTemplateRepository extends JpaRepository<DoctorScheduleTemplate, Long> {
+    
+    List<DoctorScheduleTemplate> findByDoctorId(Long doctorId);
+    
+    // Derived delete loads each row first, so the post-commit listeners see every removal
+    void deleteByDoctorId(Long doctorId);
+}
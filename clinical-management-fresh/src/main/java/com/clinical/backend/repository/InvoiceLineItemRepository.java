@@ -0,0 +1,18 @@
+package com.clinical.backend.repository;
+
+import com.clinical.backend.entity.InvoiceLineItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface InvoiceLineItemRepository extends JpaRepository<InvoiceLineItem, Long>, InvoiceLineItemRepositoryCustom {
+    
+    @Query("SELECT li FROM InvoiceLineItem li WHERE li.invoice.id IN :invoiceIds " +
+           "ORDER BY li.invoice.id, li.position")
+    List<InvoiceLineItem> findByInvoiceIds(@Param("invoiceIds") Collection<Long> invoiceIds);
+}
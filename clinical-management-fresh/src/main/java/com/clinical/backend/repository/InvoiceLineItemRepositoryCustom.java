@@ -0,0 +1,13 @@
+package com.clinical.backend.repository;
+
+import com.clinical.backend.entity.InvoiceLineItem;
+
+import java.util.List;
+
+public interface InvoiceLineItemRepositoryCustom {
+    
+    /**
+     * Insert the lines of one invoice in a single JDBC batch.
+     */
+    void insertAll(Long invoiceId, List<InvoiceLineItem> lineItems);
+}
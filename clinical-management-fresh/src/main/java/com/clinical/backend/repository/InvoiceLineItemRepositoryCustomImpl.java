@@ -0,0 +1,37 @@
+package com.clinical.backend.repository;
+
+import com.clinical.backend.entity.InvoiceLineItem;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+class InvoiceLineItemRepositoryCustomImpl implements InvoiceLineItemRepositoryCustom {
+    
+    private static final String INSERT_SQL =
+            "INSERT INTO invoice_line_items " +
+            "(invoice_id, position, service_code, description, quantity, unit_price_cents, tax_cents) " +
+            "VALUES (:invoiceId, :position, :serviceCode, :description, :quantity, :unitPriceCents, :taxCents)";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    @Override
+    public void insertAll(Long invoiceId, List<InvoiceLineItem> lineItems) {
+        SqlParameterSource[] batch = new SqlParameterSource[lineItems.size()];
+        for (int i = 0; i < lineItems.size(); i++) {
+            InvoiceLineItem item = lineItems.get(i);
+            batch[i] = new MapSqlParameterSource()
+                    .addValue("invoiceId", invoiceId)
+                    .addValue("position", item.getPosition())
+                    .addValue("serviceCode", item.getServiceCode())
+                    .addValue("description", item.getDescription())
+                    .addValue("quantity", item.getQuantity())
+                    .addValue("unitPriceCents", item.getUnitPriceCents())
+                    .addValue("taxCents", item.getTaxCents());
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+    }
+}
@@ -3,13 +3,21 @@ package com.clinical.backend.repository;
 import com.clinical.backend.entity.Invoice;
 import com.clinical.backend.entity.Patient;
 import com.clinical.backend.enums.InvoiceStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
@@ -20,12 +28,55 @@ public interface InvoiceRepository extends JpaRepository<Invoice, Long> {
     
     List<Invoice> findByStatus(InvoiceStatus status);
     
+    // Everything the invoice PDF prints, so it can be rendered after the session is gone
+    @Query("SELECT i FROM Invoice i JOIN FETCH i.patient WHERE i.id = :id")
+    Optional<Invoice> findWithPatientById(@Param("id") Long id);
+    
+    // Skipped when the status or number changed during the render, since the PDF prints both
+    @Modifying
+    @Query("UPDATE Invoice i SET i.pdfPath = :pdfPath WHERE i.id = :id AND i.status = :status " +
+           "AND (i.invoiceNumber = :invoiceNumber OR (i.invoiceNumber IS NULL AND :invoiceNumber IS NULL))")
+    int updatePdfPath(
+            @Param("id") Long id,
+            @Param("pdfPath") String pdfPath,
+            @Param("status") InvoiceStatus status,
+            @Param("invoiceNumber") String invoiceNumber);
+    
+    @Query("SELECT i FROM Invoice i JOIN FETCH i.patient " +
+           "WHERE i.patient.id = :patientId ORDER BY i.createdAt DESC, i.id DESC")
+    List<Invoice> findRecentByPatientId(@Param("patientId") Long patientId, Pageable pageable);
+    
+    // Keyset page for the patient timeline: everything strictly older than (beforeTime, beforeId)
+    @Query("SELECT i FROM Invoice i WHERE i.patient.id = :patientId " +
+           "AND (i.createdAt < :beforeTime OR (i.createdAt = :beforeTime AND i.id < :beforeId)) " +
+           "ORDER BY i.createdAt DESC, i.id DESC")
+    List<Invoice> findTimelinePage(
+            @Param("patientId") Long patientId,
+            @Param("beforeTime") LocalDateTime beforeTime,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+    
     @Query("SELECT i FROM Invoice i WHERE i.dueDate < :currentDate AND i.status = 'PENDING'")
     List<Invoice> findOverdueInvoices(@Param("currentDate") LocalDate currentDate);
     
+    // Half-open [from, to) so a whole day is covered by passing the next day's midnight as the end
     @Query("SELECT i FROM Invoice i WHERE " +
-           "i.createdAt >= :startDate AND i.createdAt <= :endDate")
+           "i.createdAt >= :from AND i.createdAt < :to")
     List<Invoice> findInvoicesBetweenDates(
-            @Param("startDate") LocalDate startDate,
-            @Param("endDate") LocalDate endDate);
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+    
+    // Server-side cursor for batch exports; the patient is fetched up front so rendering
+    // threads never trigger lazy loading
+    @Query("SELECT i FROM Invoice i JOIN FETCH i.patient WHERE " +
+           "i.createdAt >= :from AND i.createdAt < :to ORDER BY i.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Invoice> streamCreatedBetween(
+            @Param("from") LocalDateTime from,
+            @Param("to") LocalDateTime to);
+    
+    long countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(LocalDateTime from, LocalDateTime to);
 }
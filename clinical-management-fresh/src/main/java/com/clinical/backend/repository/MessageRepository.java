@@ -1,11 +1,13 @@
 package com.clinical.backend.repository;
 
 import com.clinical.backend.entity.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -20,4 +22,15 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     
     @Query("SELECT COUNT(m) FROM Message m WHERE m.toUser.id = :userId AND m.isRead = false")
     long countUnreadMessages(@Param("userId") Long userId);
+    
+    // Keyset page of a user's conversation history (sent and received) for the patient timeline
+    @Query("SELECT m FROM Message m JOIN FETCH m.fromUser JOIN FETCH m.toUser " +
+           "WHERE (m.fromUser.id = :userId OR m.toUser.id = :userId) " +
+           "AND (m.createdAt < :beforeTime OR (m.createdAt = :beforeTime AND m.id < :beforeId)) " +
+           "ORDER BY m.createdAt DESC, m.id DESC")
+    List<Message> findTimelinePage(
+            @Param("userId") Long userId,
+            @Param("beforeTime") LocalDateTime beforeTime,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
 }
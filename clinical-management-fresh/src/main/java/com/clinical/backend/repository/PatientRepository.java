@@ -1,6 +1,10 @@
 package com.clinical.backend.repository;
 
 import com.clinical.backend.entity.Patient;
+import com.clinical.backend.repository.projection.PatientSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -18,9 +22,37 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
     
     List<Patient> findByFirstNameContainingIgnoreCase(String firstName);
     
-    @Query("SELECT p FROM Patient p WHERE " +
+    // Detail view: the lazy clinical text columns come with the row instead of a second select
+    @EntityGraph(attributePaths = {"address", "medicalHistory", "allergies"})
+    Optional<Patient> findWithClinicalDetailsById(Long id);
+    
+    // Backed by the pg_trgm GIN indexes from V3, so the leading-wildcard LIKE does not scan the table.
+    // Full search view: the lazy clinical text columns are loaded in the page query, as in the list
+    @EntityGraph(attributePaths = {"address", "medicalHistory", "allergies"})
+    @Query(value = "SELECT p FROM Patient p WHERE " +
+           "LOWER(p.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(p.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(p.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))",
+           countQuery = "SELECT COUNT(p) FROM Patient p WHERE " +
+           "LOWER(p.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(p.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(p.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
+    Page<Patient> searchPatients(@Param("searchTerm") String searchTerm, Pageable pageable);
+    
+    Page<PatientSummary> findAllProjectedBy(Pageable pageable);
+    
+    // Full list view: load the lazy clinical text columns in the page query instead of one select per row
+    @EntityGraph(attributePaths = {"address", "medicalHistory", "allergies"})
+    Page<Patient> findAllWithClinicalDetailsBy(Pageable pageable);
+    
+    @Query(value = "SELECT p.id AS id, p.firstName AS firstName, p.lastName AS lastName, " +
+           "p.dateOfBirth AS dateOfBirth, p.phone AS phone, p.email AS email FROM Patient p WHERE " +
+           "LOWER(p.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(p.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
+           "LOWER(p.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))",
+           countQuery = "SELECT COUNT(p) FROM Patient p WHERE " +
            "LOWER(p.firstName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(p.lastName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
            "LOWER(p.email) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Patient> searchPatients(@Param("searchTerm") String searchTerm);
+    Page<PatientSummary> searchPatientSummaries(@Param("searchTerm") String searchTerm, Pageable pageable);
 }
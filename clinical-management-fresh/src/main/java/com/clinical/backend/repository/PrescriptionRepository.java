@@ -3,12 +3,14 @@ package com.clinical.backend.repository;
 import com.clinical.backend.entity.Prescription;
 import com.clinical.backend.entity.Patient;
 import com.clinical.backend.entity.Doctor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -20,6 +22,21 @@ public interface PrescriptionRepository extends JpaRepository<Prescription, Long
     
     List<Prescription> findByDoctor(Doctor doctor);
     
+    @Query("SELECT p FROM Prescription p JOIN FETCH p.patient JOIN FETCH p.doctor d JOIN FETCH d.user " +
+           "WHERE p.patient.id = :patientId ORDER BY p.createdAt DESC, p.id DESC")
+    List<Prescription> findRecentByPatientId(@Param("patientId") Long patientId, Pageable pageable);
+    
+    // Keyset page for the patient timeline: everything strictly older than (beforeTime, beforeId)
+    @Query("SELECT p FROM Prescription p JOIN FETCH p.doctor d JOIN FETCH d.user " +
+           "WHERE p.patient.id = :patientId " +
+           "AND (p.createdAt < :beforeTime OR (p.createdAt = :beforeTime AND p.id < :beforeId)) " +
+           "ORDER BY p.createdAt DESC, p.id DESC")
+    List<Prescription> findTimelinePage(
+            @Param("patientId") Long patientId,
+            @Param("beforeTime") LocalDateTime beforeTime,
+            @Param("beforeId") Long beforeId,
+            Pageable pageable);
+    
     @Query("SELECT p FROM Prescription p WHERE p.validUntil >= :currentDate")
     List<Prescription> findValidPrescriptions(@Param("currentDate") LocalDate currentDate);
     
@@ -0,0 +1,11 @@
+package com.clinical.backend.repository;
+
+import com.clinical.backend.entity.Room;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RoomRepository extends JpaRepository<Room, Long> {
+    
+    boolean existsByNameIgnoreCase(String name);
+}
@@ -0,0 +1,11 @@
+package com.clinical.backend.repository;
+
+import com.clinical.backend.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    
+    // Resolved through the natural-id cache, so authenticated requests normally skip the database
+    Optional<User> findByEmail(String email);
+}
@@ -0,0 +1,22 @@
+package com.clinical.backend.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Closed projection for patient directory pages. Only these columns are selected, so the
+ * TEXT columns (address, medical history, allergies) never leave the database.
+ */
+public interface PatientSummary {
+
+    Long getId();
+
+    String getFirstName();
+
+    String getLastName();
+
+    LocalDate getDateOfBirth();
+
+    String getPhone();
+
+    String getEmail();
+}
@@ -0,0 +1,21 @@
+package com.clinical.backend.repository.projection;
+
+import com.clinical.backend.enums.AppointmentStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Closed projection of the columns the room occupancy index needs from an appointment.
+ */
+public interface RoomBooking {
+
+    Long getId();
+
+    Long getRoomId();
+
+    LocalDateTime getStartTime();
+
+    LocalDateTime getEndTime();
+
+    AppointmentStatus getStatus();
+}
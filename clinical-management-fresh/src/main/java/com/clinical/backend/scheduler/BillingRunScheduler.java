@@ -0,0 +1,35 @@
+package com.clinical.backend.scheduler;
+
+import com.clinical.backend.service.BillingRunService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Scheduler for invoicing completed appointments that have not been billed yet
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BillingRunScheduler {
+
+    private final BillingRunService billingRunService;
+
+    /**
+     * Create invoices for completed appointments without one
+     * Runs every day at 2:00 AM
+     */
+    @Scheduled(cron = "${app.scheduler.billing-cron:0 0 2 * * ?}")
+    public void runBilling() {
+        log.info("Starting billing run");
+
+        try {
+            billingRunService.runBilling(LocalDate.now());
+        } catch (Exception e) {
+            log.error("Error in billing run scheduler", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.clinical.backend.scheduler;
+
+import com.clinical.backend.service.OverdueInvoiceService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Scheduler for moving unpaid invoices past their due date to OVERDUE
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OverdueInvoiceScheduler {
+
+    private final OverdueInvoiceService overdueInvoiceService;
+
+    /**
+     * Mark overdue invoices and send dunning notices
+     * Runs every day at 6:00 AM
+     */
+    @Scheduled(cron = "${app.scheduler.overdue-cron:0 0 6 * * ?}")
+    public void markOverdueInvoices() {
+        log.info("Starting overdue invoice sweep");
+
+        try {
+            overdueInvoiceService.markOverdueInvoices(LocalDate.now());
+        } catch (Exception e) {
+            log.error("Error in overdue invoice scheduler", e);
+        }
+    }
+}
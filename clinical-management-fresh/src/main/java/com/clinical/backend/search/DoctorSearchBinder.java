@@ -0,0 +1,31 @@
+package com.clinical.backend.search;
+
+import com.clinical.backend.entity.Doctor;
+import org.hibernate.search.mapper.pojo.model.dependency.PojoTypeIndexingDependencyConfigurationContext;
+
+import java.util.Arrays;
+import java.util.List;
+
+class DoctorSearchBinder extends SearchDocumentBinder<Doctor> {
+
+    DoctorSearchBinder() {
+        super(Doctor.class);
+    }
+
+    @Override
+    protected void declareDependencies(PojoTypeIndexingDependencyConfigurationContext dependencies) {
+        dependencies.use("user.fullName")
+                .use("specialty")
+                .use("licenseNumber");
+    }
+
+    @Override
+    protected String title(Doctor doctor) {
+        return doctor.getUser().getFullName();
+    }
+
+    @Override
+    protected List<String> body(Doctor doctor) {
+        return Arrays.asList(doctor.getSpecialty(), doctor.getLicenseNumber());
+    }
+}
@@ -0,0 +1,40 @@
+package com.clinical.backend.search;
+
+import com.clinical.backend.entity.Message;
+import org.hibernate.search.mapper.pojo.model.dependency.PojoTypeIndexingDependencyConfigurationContext;
+
+import java.util.List;
+
+/**
+ * Messages are private: only the sender and the recipient get them back from a search.
+ */
+class MessageSearchBinder extends SearchDocumentBinder<Message> {
+
+    MessageSearchBinder() {
+        super(Message.class);
+    }
+
+    @Override
+    protected void declareDependencies(PojoTypeIndexingDependencyConfigurationContext dependencies) {
+        dependencies.use("subject")
+                .use("body")
+                .use("fromUser")
+                .use("toUser");
+    }
+
+    @Override
+    protected String title(Message message) {
+        return message.getSubject();
+    }
+
+    @Override
+    protected List<String> body(Message message) {
+        return List.of(message.getBody());
+    }
+
+    @Override
+    protected List<Long> audience(Message message) {
+        // Reading the id of a lazy proxy does not initialise it
+        return List.of(message.getFromUser().getId(), message.getToUser().getId());
+    }
+}
@@ -0,0 +1,32 @@
+package com.clinical.backend.search;
+
+import com.clinical.backend.entity.Patient;
+import org.hibernate.search.mapper.pojo.model.dependency.PojoTypeIndexingDependencyConfigurationContext;
+
+import java.util.Arrays;
+import java.util.List;
+
+class PatientSearchBinder extends SearchDocumentBinder<Patient> {
+
+    PatientSearchBinder() {
+        super(Patient.class);
+    }
+
+    @Override
+    protected void declareDependencies(PojoTypeIndexingDependencyConfigurationContext dependencies) {
+        dependencies.use("firstName")
+                .use("lastName")
+                .use("email")
+                .use("phone");
+    }
+
+    @Override
+    protected String title(Patient patient) {
+        return patient.getFullName();
+    }
+
+    @Override
+    protected List<String> body(Patient patient) {
+        return Arrays.asList(patient.getEmail(), patient.getPhone());
+    }
+}
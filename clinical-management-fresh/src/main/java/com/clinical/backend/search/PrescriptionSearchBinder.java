@@ -0,0 +1,31 @@
+package com.clinical.backend.search;
+
+import com.clinical.backend.entity.Prescription;
+import org.hibernate.search.mapper.pojo.model.dependency.PojoTypeIndexingDependencyConfigurationContext;
+
+import java.util.Arrays;
+import java.util.List;
+
+class PrescriptionSearchBinder extends SearchDocumentBinder<Prescription> {
+
+    PrescriptionSearchBinder() {
+        super(Prescription.class);
+    }
+
+    @Override
+    protected void declareDependencies(PojoTypeIndexingDependencyConfigurationContext dependencies) {
+        dependencies.use("medications")
+                .use("diagnosis")
+                .use("instructions");
+    }
+
+    @Override
+    protected String title(Prescription prescription) {
+        return prescription.getMedications();
+    }
+
+    @Override
+    protected List<String> body(Prescription prescription) {
+        return Arrays.asList(prescription.getDiagnosis(), prescription.getInstructions());
+    }
+}
@@ -0,0 +1,31 @@
+package com.clinical.backend.search;
+
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+
+public class SearchAnalysisConfigurer implements LuceneAnalysisConfigurer {
+
+    @Override
+    public void configure(LuceneAnalysisConfigurationContext context) {
+        context.analyzer(SearchFields.NAME_ANALYZER).custom()
+                .tokenizer("standard")
+                .tokenFilter("lowercase")
+                .tokenFilter("asciiFolding");
+
+        // Index-time only: "dup" matches "Dupont" without a wildcard query
+        context.analyzer(SearchFields.NAME_PREFIX_ANALYZER).custom()
+                .tokenizer("standard")
+                .tokenFilter("lowercase")
+                .tokenFilter("asciiFolding")
+                .tokenFilter("edgeNGram")
+                        .param("minGramSize", "2")
+                        .param("maxGramSize", "20");
+
+        context.analyzer(SearchFields.TEXT_ANALYZER).custom()
+                .tokenizer("standard")
+                .tokenFilter("lowercase")
+                .tokenFilter("asciiFolding")
+                .tokenFilter("snowballPorter")
+                        .param("language", "English");
+    }
+}
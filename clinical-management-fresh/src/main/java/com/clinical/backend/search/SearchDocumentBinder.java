@@ -0,0 +1,94 @@
+package com.clinical.backend.search;
+
+import org.hibernate.search.engine.backend.document.DocumentElement;
+import org.hibernate.search.engine.backend.document.IndexFieldReference;
+import org.hibernate.search.engine.backend.document.model.dsl.IndexSchemaElement;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.mapper.pojo.bridge.TypeBridge;
+import org.hibernate.search.mapper.pojo.bridge.binding.TypeBindingContext;
+import org.hibernate.search.mapper.pojo.bridge.mapping.programmatic.TypeBinder;
+import org.hibernate.search.mapper.pojo.bridge.runtime.TypeBridgeWriteContext;
+import org.hibernate.search.mapper.pojo.model.dependency.PojoTypeIndexingDependencyConfigurationContext;
+
+import java.util.List;
+
+/**
+ * Maps an entity onto the common search document: a title (also indexed for prefix matching),
+ * free-text body values and the ids of the users allowed to see the hit.
+ */
+abstract class SearchDocumentBinder<E> implements TypeBinder {
+
+    private final Class<E> entityType;
+
+    protected SearchDocumentBinder(Class<E> entityType) {
+        this.entityType = entityType;
+    }
+
+    /** Declare every property read by {@link #title} and {@link #body} so changes trigger reindexing. */
+    protected abstract void declareDependencies(PojoTypeIndexingDependencyConfigurationContext dependencies);
+
+    protected abstract String title(E entity);
+
+    protected abstract List<String> body(E entity);
+
+    protected List<Long> audience(E entity) {
+        return List.of(SearchFields.PUBLIC_AUDIENCE);
+    }
+
+    @Override
+    public void bind(TypeBindingContext context) {
+        declareDependencies(context.dependencies());
+
+        IndexSchemaElement schema = context.indexSchemaElement();
+        IndexFieldReference<String> title = schema.field(SearchFields.TITLE, f -> f.asString()
+                        .analyzer(SearchFields.NAME_ANALYZER)
+                        .projectable(Projectable.YES))
+                .toReference();
+        IndexFieldReference<String> titlePrefix = schema.field(SearchFields.TITLE_PREFIX, f -> f.asString()
+                        .analyzer(SearchFields.NAME_PREFIX_ANALYZER)
+                        .searchAnalyzer(SearchFields.NAME_ANALYZER))
+                .toReference();
+        IndexFieldReference<String> body = schema.field(SearchFields.BODY, f -> f.asString()
+                        .analyzer(SearchFields.TEXT_ANALYZER))
+                .multiValued()
+                .toReference();
+        IndexFieldReference<Long> audience = schema.field(SearchFields.AUDIENCE, f -> f.asLong())
+                .multiValued()
+                .toReference();
+
+        context.bridge(entityType, new Bridge(title, titlePrefix, body, audience));
+    }
+
+    private class Bridge implements TypeBridge<E> {
+
+        private final IndexFieldReference<String> title;
+        private final IndexFieldReference<String> titlePrefix;
+        private final IndexFieldReference<String> body;
+        private final IndexFieldReference<Long> audience;
+
+        Bridge(IndexFieldReference<String> title, IndexFieldReference<String> titlePrefix,
+               IndexFieldReference<String> body, IndexFieldReference<Long> audience) {
+            this.title = title;
+            this.titlePrefix = titlePrefix;
+            this.body = body;
+            this.audience = audience;
+        }
+
+        @Override
+        public void write(DocumentElement target, E entity, TypeBridgeWriteContext context) {
+            String titleValue = title(entity);
+            if (titleValue != null) {
+                target.addValue(title, titleValue);
+                target.addValue(titlePrefix, titleValue);
+            }
+            for (String value : body(entity)) {
+                if (value != null) {
+                    target.addValue(body, value);
+                }
+            }
+            for (Long userId : audience(entity)) {
+                target.addValue(audience, userId);
+            }
+        }
+    }
+}
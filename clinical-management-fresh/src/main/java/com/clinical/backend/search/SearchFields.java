@@ -0,0 +1,24 @@
+package com.clinical.backend.search;
+
+/**
+ * Field and analyzer names shared by every indexed entity. All search indexes use the same
+ * document shape so a single query can target patients, doctors, messages and prescriptions
+ * at once and get comparable scores back.
+ */
+public final class SearchFields {
+
+    public static final String TITLE = "title";
+    public static final String TITLE_PREFIX = "title_prefix";
+    public static final String BODY = "body";
+    public static final String AUDIENCE = "audience";
+
+    /** Audience value for documents any authenticated user may see. */
+    public static final long PUBLIC_AUDIENCE = 0L;
+
+    static final String NAME_ANALYZER = "name";
+    static final String NAME_PREFIX_ANALYZER = "name_prefix";
+    static final String TEXT_ANALYZER = "text";
+
+    private SearchFields() {
+    }
+}
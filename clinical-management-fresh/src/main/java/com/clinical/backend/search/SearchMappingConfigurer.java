@@ -0,0 +1,48 @@
+package com.clinical.backend.search;
+
+import com.clinical.backend.entity.Doctor;
+import com.clinical.backend.entity.Message;
+import com.clinical.backend.entity.Patient;
+import com.clinical.backend.entity.Prescription;
+import org.hibernate.search.mapper.orm.mapping.HibernateOrmMappingConfigurationContext;
+import org.hibernate.search.mapper.orm.mapping.HibernateOrmSearchMappingConfigurer;
+import org.hibernate.search.mapper.pojo.automaticindexing.ReindexOnUpdate;
+import org.hibernate.search.mapper.pojo.mapping.definition.programmatic.ProgrammaticMappingConfigurationContext;
+import org.hibernate.search.mapper.pojo.mapping.definition.programmatic.TypeMappingStep;
+
+import java.util.List;
+
+/**
+ * Programmatic search mapping, so the entities themselves stay free of indexing annotations.
+ * Hibernate Search listens to ORM entity events and updates the index after each commit.
+ */
+public class SearchMappingConfigurer implements HibernateOrmSearchMappingConfigurer {
+
+    public static final List<Class<?>> INDEXED_TYPES =
+            List.of(Patient.class, Doctor.class, Message.class, Prescription.class);
+
+    @Override
+    public void configure(HibernateOrmMappingConfigurationContext context) {
+        ProgrammaticMappingConfigurationContext mapping = context.programmaticMapping();
+
+        TypeMappingStep patient = mapping.type(Patient.class);
+        patient.indexed().index("patient");
+        patient.binder(new PatientSearchBinder());
+
+        TypeMappingStep doctor = mapping.type(Doctor.class);
+        doctor.indexed().index("doctor");
+        doctor.binder(new DoctorSearchBinder());
+        // User has no back-reference to Doctor; a renamed user is picked up by the next reindex
+        doctor.property("user").indexingDependency().reindexOnUpdate(ReindexOnUpdate.SHALLOW);
+
+        TypeMappingStep message = mapping.type(Message.class);
+        message.indexed().index("message");
+        message.binder(new MessageSearchBinder());
+        message.property("fromUser").indexingDependency().reindexOnUpdate(ReindexOnUpdate.SHALLOW);
+        message.property("toUser").indexingDependency().reindexOnUpdate(ReindexOnUpdate.SHALLOW);
+
+        TypeMappingStep prescription = mapping.type(Prescription.class);
+        prescription.indexed().index("prescription");
+        prescription.binder(new PrescriptionSearchBinder());
+    }
+}
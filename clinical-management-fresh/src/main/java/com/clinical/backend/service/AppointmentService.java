@@ -6,6 +6,9 @@ import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,13 +16,18 @@ import org.springframework.transaction.annotation.Transactional;
 import com.clinical.backend.dto.appointment.AppointmentRequest;
 import com.clinical.backend.dto.appointment.AppointmentResponse;
 import com.clinical.backend.dto.common.NotificationDto;
+import com.clinical.backend.dto.room.RoomResponse;
 import com.clinical.backend.entity.Appointment;
 import com.clinical.backend.entity.Doctor;
 import com.clinical.backend.entity.Patient;
+import com.clinical.backend.entity.Room;
 import com.clinical.backend.enums.AppointmentStatus;
+import com.clinical.backend.event.AppointmentChangedEvent;
+import com.clinical.backend.exception.BusinessException;
 import com.clinical.backend.repository.AppointmentRepository;
 import com.clinical.backend.repository.DoctorRepository;
 import com.clinical.backend.repository.PatientRepository;
+import com.clinical.backend.repository.RoomRepository;
 
 import lombok.RequiredArgsConstructor;
 
@@ -30,8 +38,12 @@ public class AppointmentService {
     private final AppointmentRepository appointmentRepository;
     private final PatientRepository patientRepository;
     private final DoctorRepository doctorRepository;
+    private final DoctorAvailabilityService doctorAvailabilityService;
+    private final RoomRepository roomRepository;
+    private final RoomOccupancyService roomOccupancyService;
     private final EmailService emailService;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ApplicationEventPublisher eventPublisher;
     
     // Business rule configurations
     private static final int CANCELLATION_NOTICE_HOURS = 24;
@@ -53,17 +65,26 @@ public class AppointmentService {
         
         // Validate business rules
         validateAppointmentCreation(patient, doctor, request.getStartTime(), request.getEndTime());
+        Room room = assignRoom(doctor, request.getRoomId(), request.getStartTime(), request.getEndTime());
         
         Appointment appointment = Appointment.builder()
                 .patient(patient)
                 .doctor(doctor)
+                .room(room)
                 .startTime(request.getStartTime())
                 .endTime(request.getEndTime())
                 .reason(request.getReason())
                 .status(AppointmentStatus.SCHEDULED)
                 .build();
         
-        Appointment savedAppointment = appointmentRepository.save(appointment);
+        Appointment savedAppointment;
+        try {
+            savedAppointment = appointmentRepository.save(appointment);
+        } catch (DataIntegrityViolationException e) {
+            // prevent_double_booking or prevent_room_double_booking caught a concurrent booking
+            throw new BusinessException("The requested slot was just booked, please choose another time or room");
+        }
+        eventPublisher.publishEvent(new AppointmentChangedEvent(savedAppointment.getId()));
         
         // Send confirmation email
         emailService.sendAppointmentConfirmation(savedAppointment);
@@ -107,6 +128,7 @@ public class AppointmentService {
         appointment.setCancelledAt(LocalDateTime.now());
         
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        eventPublisher.publishEvent(new AppointmentChangedEvent(savedAppointment.getId()));
         
         // Send cancellation email
         emailService.sendAppointmentCancellation(savedAppointment);
@@ -147,6 +169,7 @@ public class AppointmentService {
         }
         
         Appointment savedAppointment = appointmentRepository.save(appointment);
+        eventPublisher.publishEvent(new AppointmentChangedEvent(savedAppointment.getId()));
         
         // Send WebSocket notification for status change
         sendNotificationToUser(
@@ -204,6 +227,13 @@ public class AppointmentService {
         return appointments.stream().map(this::toResponse).collect(Collectors.toList());
     }
     
+    @Transactional(readOnly = true)
+    public List<AppointmentResponse> getRecentPatientAppointments(Long patientId, int limit) {
+        return appointmentRepository.findRecentByPatientId(patientId, PageRequest.of(0, limit)).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+    
     @Transactional(readOnly = true)
     public List<AppointmentResponse> getAllAppointmentsInDateRange(LocalDateTime from, LocalDateTime to) {
         List<Appointment> appointments = appointmentRepository.findAllAppointmentsBetween(from, to);
@@ -212,6 +242,9 @@ public class AppointmentService {
     
     // Validation methods
     private void validateAppointmentCreation(Patient patient, Doctor doctor, LocalDateTime startTime, LocalDateTime endTime) {
+        // Check working hours, breaks, vacations and closures (in memory, before any query)
+        doctorAvailabilityService.checkBookable(doctor, startTime, endTime);
+        
         // Check for doctor conflicts
         List<Appointment> doctorConflicts = appointmentRepository.findDoctorAppointmentsBetween(
                 doctor.getId(), startTime, endTime);
@@ -245,6 +278,27 @@ public class AppointmentService {
         }
     }
     
+    // Room lookups go through the in-memory occupancy index; only the chosen room is referenced
+    private Room assignRoom(Doctor doctor, Long requestedRoomId, LocalDateTime startTime, LocalDateTime endTime) {
+        if (requestedRoomId != null) {
+            RoomResponse room = roomOccupancyService.findRoom(requestedRoomId)
+                    .filter(RoomResponse::getActive)
+                    .orElseThrow(() -> new BusinessException("Room " + requestedRoomId + " does not exist or is inactive"));
+            if (!roomOccupancyService.isFree(room.getId(), startTime, endTime)) {
+                throw new BusinessException("Room " + room.getName() + " is already booked at the requested time");
+            }
+            return roomRepository.getReferenceById(room.getId());
+        }
+        
+        // Clinics that have not set up rooms keep booking without one
+        if (!roomOccupancyService.hasActiveRooms()) {
+            return null;
+        }
+        RoomResponse room = roomOccupancyService.findFreeRoom(startTime, endTime, doctor.getRoom())
+                .orElseThrow(() -> new BusinessException("No consultation room is free at the requested time"));
+        return roomRepository.getReferenceById(room.getId());
+    }
+    
     private void validateCancellation(Appointment appointment) {
         // Check if already cancelled
         if (appointment.getStatus() == AppointmentStatus.CANCELLED) {
@@ -271,6 +325,8 @@ public class AppointmentService {
                 .doctorId(appointment.getDoctor().getId())
                 .doctorName(appointment.getDoctor().getUser().getFullName())
                 .doctorSpecialty(appointment.getDoctor().getSpecialty())
+                .roomId(appointment.getRoom() != null ? appointment.getRoom().getId() : null)
+                .roomName(appointment.getRoom() != null ? appointment.getRoom().getName() : null)
                 .startTime(appointment.getStartTime())
                 .endTime(appointment.getEndTime())
                 .status(appointment.getStatus().name())
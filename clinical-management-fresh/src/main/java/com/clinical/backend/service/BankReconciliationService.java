@@ -0,0 +1,413 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.invoice.BankReconciliationResponse;
+import com.clinical.backend.dto.invoice.BankReconciliationResponse.UnmatchedLine;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.util.CsvReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Marks invoices PAID from a bank statement CSV export.
+ *
+ * All open (PENDING and OVERDUE) invoices are read once per import into two hash indexes: by
+ * invoice number, and by amount plus patient name. Each statement line is then matched in
+ * constant time as it streams in: by the invoice number in its reference when the amount
+ * agrees, otherwise by a single open invoice with the same amount whose patient carries the
+ * payer's name. Matched invoices are marked PAID together in one batched update at the end;
+ * everything else is reported by line for manual follow-up.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BankReconciliationService {
+
+    private static final String PAYMENT_METHOD = "BANK_TRANSFER";
+
+    private static final int MAX_REPORTED_LINES = 1000;
+
+    // Same format as InvoiceNumberService hands out, e.g. 2025-000042
+    private static final Pattern INVOICE_NUMBER = Pattern.compile("\\b(\\d{4}-\\d{6,})\\b");
+
+    private static final List<DateTimeFormatter> DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("dd/MM/yyyy"),
+            DateTimeFormatter.ofPattern("dd.MM.yyyy"));
+
+    private static final String OPEN_INVOICES_SQL =
+            "SELECT i.id, i.invoice_number, i.total_cents, p.first_name, p.last_name " +
+            "FROM invoices i JOIN patients p ON p.id = i.patient_id " +
+            "WHERE i.status IN ('PENDING', 'OVERDUE')";
+
+    // Skips invoices paid by hand since the index was built; those lines are reported instead
+    private static final String MARK_PAID_SQL =
+            "UPDATE invoices SET status = 'PAID', payment_method = '" + PAYMENT_METHOD + "', paid_at = :paidAt, " +
+            "pdf_path = NULL WHERE id = :id AND status IN ('PENDING', 'OVERDUE')";
+
+    // Header names are matched case-insensitively, ignoring spaces, dashes and underscores
+    private static final Map<String, Column> COLUMNS = Map.ofEntries(
+            Map.entry("date", Column.DATE),
+            Map.entry("bookingdate", Column.DATE),
+            Map.entry("valuedate", Column.DATE),
+            Map.entry("transactiondate", Column.DATE),
+            Map.entry("amount", Column.AMOUNT),
+            Map.entry("credit", Column.AMOUNT),
+            Map.entry("reference", Column.REFERENCE),
+            Map.entry("description", Column.REFERENCE),
+            Map.entry("remittanceinformation", Column.REFERENCE),
+            Map.entry("purpose", Column.REFERENCE),
+            Map.entry("payer", Column.PAYER),
+            Map.entry("payername", Column.PAYER),
+            Map.entry("counterparty", Column.PAYER),
+            Map.entry("name", Column.PAYER)
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    public BankReconciliationResponse reconcile(InputStream inputStream) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        Result result = new Result();
+
+        try (CsvReader csv = new CsvReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                throw new BusinessException("CSV file is empty");
+            }
+            Map<Column, Integer> columns = mapColumns(header);
+            OpenInvoices openInvoices = loadOpenInvoices();
+
+            List<String> record;
+            while ((record = csv.readRecord()) != null) {
+                if (record.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                result.totalLines++;
+                match(toLine(csv.getRecordLine(), record, columns), openInvoices, result);
+            }
+        }
+
+        markPaid(result);
+
+        result.durationMs = System.currentTimeMillis() - startedAt;
+        log.info("Bank reconciliation finished: {} lines, {} matched, {} unmatched, {} ignored in {} ms",
+                result.totalLines, result.matched, result.unmatched, result.ignored, result.durationMs);
+        return result.toResponse();
+    }
+
+    private void match(StatementLine line, OpenInvoices openInvoices, Result result) {
+        if (line.error() != null) {
+            result.unmatch(line, line.error());
+            return;
+        }
+        if (line.amountCents() <= 0) {
+            result.ignored++;
+            return;
+        }
+
+        Matcher reference = INVOICE_NUMBER.matcher(line.reference());
+        if (reference.find()) {
+            String invoiceNumber = reference.group(1);
+            Long paidBy = result.paidByLine.get(invoiceNumber);
+            if (paidBy != null) {
+                result.unmatch(line, "Invoice " + invoiceNumber + " is already paid by line " + paidBy);
+                return;
+            }
+            OpenInvoice invoice = openInvoices.byNumber().get(invoiceNumber);
+            if (invoice == null) {
+                result.unmatch(line, "Invoice " + invoiceNumber + " is not open");
+                return;
+            }
+            if (invoice.totalCents() != line.amountCents()) {
+                result.unmatch(line, "Amount " + formatCents(line.amountCents()) + " does not match invoice "
+                        + invoiceNumber + " total " + formatCents(invoice.totalCents()));
+                return;
+            }
+            result.pay(line, openInvoices.take(invoice));
+            return;
+        }
+
+        // No usable reference: accept the payer's name when it identifies a single invoice
+        List<OpenInvoice> candidates = openInvoices.byAmountAndPatient()
+                .getOrDefault(new AmountKey(line.amountCents(), normalizeName(line.payer())), List.of());
+        if (candidates.size() == 1) {
+            result.pay(line, openInvoices.take(candidates.get(0)));
+        } else if (candidates.isEmpty()) {
+            result.unmatch(line, "No open invoice with this reference, or with this amount and payer");
+        } else {
+            result.unmatch(line, candidates.size() + " open invoices have this amount and payer");
+        }
+    }
+
+    private OpenInvoices loadOpenInvoices() {
+        OpenInvoices openInvoices = new OpenInvoices(new HashMap<>(), new HashMap<>());
+        jdbcTemplate.query(OPEN_INVOICES_SQL, new MapSqlParameterSource(), (RowCallbackHandler) rs -> openInvoices.add(
+                new OpenInvoice(
+                        rs.getLong("id"),
+                        rs.getString("invoice_number"),
+                        rs.getInt("total_cents"),
+                        normalizeName(rs.getString("first_name") + " " + rs.getString("last_name")))));
+        return openInvoices;
+    }
+
+    private void markPaid(Result result) {
+        if (result.payments.isEmpty()) {
+            return;
+        }
+        MapSqlParameterSource[] batch = result.payments.stream()
+                .map(payment -> new MapSqlParameterSource()
+                        .addValue("id", payment.invoice().id())
+                        .addValue("paidAt", payment.paidAt()))
+                .toArray(MapSqlParameterSource[]::new);
+
+        int[] updated = new TransactionTemplate(transactionManager).execute(status ->
+                jdbcTemplate.batchUpdate(MARK_PAID_SQL, batch));
+
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                Payment payment = result.payments.get(i);
+                result.unmatch(payment.line(), "Invoice " + payment.invoice().displayNumber() + " was paid meanwhile");
+                result.matchedCents -= payment.invoice().totalCents();
+                result.matched--;
+            }
+        }
+    }
+
+    private Map<Column, Integer> mapColumns(List<String> header) {
+        Map<Column, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            Column column = COLUMNS.get(normalizeHeader(header.get(i)));
+            if (column != null) {
+                columns.putIfAbsent(column, i);
+            }
+        }
+
+        List<String> missing = Arrays.stream(Column.values())
+                .filter(column -> column.required && !columns.containsKey(column))
+                .map(column -> column.name().toLowerCase(Locale.ROOT))
+                .toList();
+        if (!missing.isEmpty()) {
+            throw new BusinessException("CSV header is missing required columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private StatementLine toLine(long line, List<String> record, Map<Column, Integer> columns) {
+        String rawDate = value(record, columns, Column.DATE);
+        String rawAmount = value(record, columns, Column.AMOUNT);
+        String reference = value(record, columns, Column.REFERENCE);
+        String payer = value(record, columns, Column.PAYER);
+
+        LocalDate date = null;
+        if (!rawDate.isEmpty()) {
+            date = parseDate(rawDate);
+            if (date == null) {
+                return new StatementLine(line, null, null, reference, payer, "Invalid date '" + rawDate + "'");
+            }
+        }
+        Long amountCents = parseCents(rawAmount);
+        if (amountCents == null) {
+            return new StatementLine(line, date, null, reference, payer, "Invalid amount '" + rawAmount + "'");
+        }
+        return new StatementLine(line, date, amountCents, reference, payer, null);
+    }
+
+    private static String value(List<String> record, Map<Column, Integer> columns, Column column) {
+        Integer index = columns.get(column);
+        return index != null && index < record.size() ? record.get(index).trim() : "";
+    }
+
+    private static LocalDate parseDate(String value) {
+        for (DateTimeFormatter format : DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format);
+            } catch (DateTimeParseException e) {
+                // try the next format
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parse "1234.50", "1,234.50", "1.234,50" or "-80,00 EUR" into cents. When both separators
+     * appear the last one is the decimal point; a lone comma is decimal when 1-2 digits follow.
+     */
+    static Long parseCents(String value) {
+        String amount = value.replaceAll("[^0-9.,+-]", "");
+        int lastDot = amount.lastIndexOf('.');
+        int lastComma = amount.lastIndexOf(',');
+        if (lastDot >= 0 && lastComma >= 0) {
+            amount = lastComma > lastDot
+                    ? amount.replace(".", "").replace(',', '.')
+                    : amount.replace(",", "");
+        } else if (lastComma >= 0) {
+            amount = amount.length() - lastComma - 1 <= 2 && amount.indexOf(',') == lastComma
+                    ? amount.replace(',', '.')
+                    : amount.replace(",", "");
+        }
+        try {
+            return new BigDecimal(amount).movePointRight(2).longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Lower case, without accents or punctuation, with the words sorted so that
+     * "DUPONT ALICE" and "Alice Dupont" give the same key.
+     */
+    static String normalizeName(String name) {
+        if (name == null) {
+            return "";
+        }
+        String plain = Normalizer.normalize(name, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}", "")
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9]+", " ")
+                .trim();
+        return plain.isEmpty() ? "" : String.join(" ", Arrays.stream(plain.split(" ")).sorted().toList());
+    }
+
+    private static String normalizeHeader(String name) {
+        // Excel likes to prepend a byte order mark to UTF-8 files
+        return name.replace("\uFEFF", "")
+                .replaceAll("[\\s_-]", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static String formatCents(long cents) {
+        return BigDecimal.valueOf(cents, 2).toPlainString();
+    }
+
+    private enum Column {
+        DATE(false), AMOUNT(true), REFERENCE(true), PAYER(false);
+
+        private final boolean required;
+
+        Column(boolean required) {
+            this.required = required;
+        }
+    }
+
+    private record StatementLine(long line, LocalDate date, Long amountCents, String reference, String payer,
+                                 String error) {
+    }
+
+    private record OpenInvoice(long id, String invoiceNumber, int totalCents, String patientName) {
+
+        String displayNumber() {
+            return invoiceNumber != null ? invoiceNumber : "#" + id;
+        }
+    }
+
+    private record AmountKey(long amountCents, String patientName) {
+    }
+
+    private record Payment(StatementLine line, OpenInvoice invoice, LocalDateTime paidAt) {
+    }
+
+    private record OpenInvoices(Map<String, OpenInvoice> byNumber, Map<AmountKey, List<OpenInvoice>> byAmountAndPatient) {
+
+        void add(OpenInvoice invoice) {
+            if (invoice.invoiceNumber() != null) {
+                byNumber.put(invoice.invoiceNumber(), invoice);
+            }
+            byAmountAndPatient.computeIfAbsent(new AmountKey(invoice.totalCents(), invoice.patientName()),
+                    key -> new ArrayList<>(1)).add(invoice);
+        }
+
+        /**
+         * Remove a matched invoice so no later line can pay it again.
+         */
+        OpenInvoice take(OpenInvoice invoice) {
+            if (invoice.invoiceNumber() != null) {
+                byNumber.remove(invoice.invoiceNumber());
+            }
+            AmountKey key = new AmountKey(invoice.totalCents(), invoice.patientName());
+            List<OpenInvoice> sameAmount = byAmountAndPatient.get(key);
+            sameAmount.remove(invoice);
+            if (sameAmount.isEmpty()) {
+                byAmountAndPatient.remove(key);
+            }
+            return invoice;
+        }
+    }
+
+    private static class Result {
+        private long totalLines;
+        private long matched;
+        private long matchedCents;
+        private long ignored;
+        private long unmatched;
+        private final List<Payment> payments = new ArrayList<>();
+        private final Map<String, Long> paidByLine = new HashMap<>();
+        private final List<UnmatchedLine> unmatchedLines = new ArrayList<>();
+        private boolean unmatchedTruncated;
+        private long durationMs;
+
+        void pay(StatementLine line, OpenInvoice invoice) {
+            // Lines without a booking date are taken as paid at import time
+            LocalDateTime paidAt = line.date() != null ? line.date().atStartOfDay() : LocalDateTime.now();
+            payments.add(new Payment(line, invoice, paidAt));
+            if (invoice.invoiceNumber() != null) {
+                paidByLine.put(invoice.invoiceNumber(), line.line());
+            }
+            matched++;
+            matchedCents += invoice.totalCents();
+        }
+
+        void unmatch(StatementLine line, String reason) {
+            unmatched++;
+            if (unmatchedLines.size() < MAX_REPORTED_LINES) {
+                unmatchedLines.add(UnmatchedLine.builder()
+                        .line(line.line())
+                        .date(line.date())
+                        .amountCents(line.amountCents())
+                        .payer(line.payer())
+                        .reference(line.reference())
+                        .reason(reason)
+                        .build());
+            } else {
+                unmatchedTruncated = true;
+            }
+        }
+
+        BankReconciliationResponse toResponse() {
+            return BankReconciliationResponse.builder()
+                    .totalLines(totalLines)
+                    .matched(matched)
+                    .matchedCents(matchedCents)
+                    .ignored(ignored)
+                    .unmatched(unmatched)
+                    .unmatchedLines(unmatchedLines)
+                    .unmatchedTruncated(unmatchedTruncated)
+                    .durationMs(durationMs)
+                    .build();
+        }
+    }
+}
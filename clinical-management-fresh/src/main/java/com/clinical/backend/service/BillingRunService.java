@@ -0,0 +1,186 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.invoice.BillingRunResponse;
+import com.clinical.backend.exception.BusinessException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Invoices COMPLETED appointments that have none yet, at their doctor's consultation fee.
+ *
+ * A few workers each repeat one statement per chunk: it locks the next appointments without
+ * an invoice (SKIP LOCKED, so workers and replicas never pick the same ones), inserts their
+ * invoices and consultation lines in bulk and commits. Nothing is held in memory between
+ * chunks, so a run that stops half-way is simply picked up by the next one, and re-running
+ * never bills an appointment twice: the unique index on auto-billed invoices turns a late
+ * duplicate into a no-op. Each committed chunk is numbered by {@link InvoiceNumberService}
+ * before the worker moves on. Appointments of doctors without a fee are left for manual invoicing.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BillingRunService {
+
+    private static final int WORKER_THREADS = 4;
+
+    private static final String UNBILLED =
+            "a.status = 'COMPLETED' " +
+            "AND NOT EXISTS (SELECT 1 FROM invoices i WHERE i.appointment_id = a.id) ";
+
+    private static final String BILL_CHUNK_SQL =
+            "WITH batch AS (" +
+            "SELECT a.id, a.patient_id, d.consultation_fee_cents AS fee " +
+            "FROM appointments a JOIN doctors d ON d.id = a.doctor_id " +
+            "WHERE " + UNBILLED + "AND d.consultation_fee_cents > 0 AND a.id > :afterId " +
+            "ORDER BY a.id LIMIT :limit FOR UPDATE OF a SKIP LOCKED), " +
+            "created AS (" +
+            "INSERT INTO invoices (appointment_id, patient_id, amount_cents, tax_cents, total_cents, status, due_date, auto_billed) " +
+            "SELECT id, patient_id, fee, 0, fee, 'PENDING', :dueDate, TRUE FROM batch " +
+            "ON CONFLICT (appointment_id) WHERE auto_billed DO NOTHING " +
+            "RETURNING id, amount_cents), " +
+            "lines AS (" +
+            "INSERT INTO invoice_line_items (invoice_id, position, service_code, description, quantity, unit_price_cents, tax_cents) " +
+            "SELECT id, 1, '" + InvoiceService.DEFAULT_SERVICE_CODE + "', '" + InvoiceService.DEFAULT_DESCRIPTION + "', 1, amount_cents, 0 " +
+            "FROM created) " +
+            "SELECT (SELECT COUNT(*) FROM batch) AS claimed, (SELECT MAX(id) FROM batch) AS last_id, " +
+            "(SELECT COUNT(*) FROM created) AS created";
+
+    private static final String COUNT_WITHOUT_FEE_SQL =
+            "SELECT COUNT(*) FROM appointments a JOIN doctors d ON d.id = a.doctor_id " +
+            "WHERE " + UNBILLED + "AND d.consultation_fee_cents = 0";
+
+    private static final RowMapper<Chunk> CHUNK_ROW_MAPPER = (rs, rowNum) -> new Chunk(
+            rs.getInt("claimed"),
+            rs.getLong("last_id"),
+            rs.getInt("created"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+    private final InvoiceNumberService invoiceNumberService;
+
+    @Value("${app.billing.chunk-size:500}")
+    private int chunkSize = 500;
+
+    @Value("${app.billing.payment-terms-days:30}")
+    private int paymentTermsDays = 30;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService workers = Executors.newFixedThreadPool(
+            WORKER_THREADS, Thread.ofPlatform().name("billing-run-", 0).factory());
+
+    /**
+     * Invoice every completed appointment without an invoice, due {@code paymentTermsDays}
+     * after {@code billingDate}. Only one run at a time per instance.
+     */
+    public BillingRunResponse runBilling(LocalDate billingDate) {
+        if (!running.compareAndSet(false, true)) {
+            throw new BusinessException("A billing run is already in progress");
+        }
+        try {
+            return run(billingDate);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+    private BillingRunResponse run(LocalDate billingDate) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long startedAt = System.currentTimeMillis();
+        LocalDate dueDate = billingDate.plusDays(paymentTermsDays);
+
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int i = 0; i < WORKER_THREADS; i++) {
+            futures.add(workers.submit(() -> billChunks(dueDate)));
+        }
+        long created = 0;
+        RuntimeException failure = null;
+        for (Future<Long> future : futures) {
+            try {
+                created += future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for the billing run", e);
+            } catch (ExecutionException e) {
+                // Other workers keep going; what they committed stays billed
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException re ? re : new IllegalStateException(e.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            log.error("Billing run failed after creating {} invoices; the next run resumes it", created);
+            throw failure;
+        }
+
+        Long withoutFee = jdbcTemplate.queryForObject(COUNT_WITHOUT_FEE_SQL, new MapSqlParameterSource(), Long.class);
+        long skipped = withoutFee != null ? withoutFee : 0;
+        sample.stop(meterRegistry.timer("invoices.billing.run"));
+
+        long durationMs = System.currentTimeMillis() - startedAt;
+        log.info("Billing run created {} invoices in {} ms", created, durationMs);
+        if (skipped > 0) {
+            log.warn("{} completed appointments were not billed because their doctor has no consultation fee", skipped);
+        }
+        return BillingRunResponse.builder()
+                .billingDate(billingDate)
+                .dueDate(dueDate)
+                .invoicesCreated(created)
+                .skippedWithoutFee(skipped)
+                .durationMs(durationMs)
+                .build();
+    }
+
+    private long billChunks(LocalDate dueDate) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long created = 0;
+        // Appointments this worker skipped because another one held them are that one's to bill
+        long afterId = 0;
+
+        while (true) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("afterId", afterId)
+                    .addValue("limit", chunkSize)
+                    .addValue("dueDate", dueDate);
+            Chunk chunk = transactionTemplate.execute(status ->
+                    jdbcTemplate.queryForObject(BILL_CHUNK_SQL, params, CHUNK_ROW_MAPPER));
+
+            if (chunk.created() > 0) {
+                invoiceNumberService.assignPendingNumbers();
+            }
+            created += chunk.created();
+            meterRegistry.counter("invoices.billing.created").increment(chunk.created());
+            if (chunk.claimed() < chunkSize) {
+                return created;
+            }
+            afterId = chunk.lastId();
+        }
+    }
+
+    private record Chunk(int claimed, long lastId, int created) {
+    }
+}
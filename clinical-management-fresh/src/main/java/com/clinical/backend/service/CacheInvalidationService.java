@@ -0,0 +1,263 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.entity.Appointment;
+import com.clinical.backend.entity.Doctor;
+import com.clinical.backend.entity.DoctorScheduleException;
+import com.clinical.backend.entity.DoctorScheduleTemplate;
+import com.clinical.backend.entity.Room;
+import com.clinical.backend.entity.User;
+import com.clinical.backend.event.AppointmentChangedEvent;
+import com.clinical.backend.event.DoctorChangedEvent;
+import com.clinical.backend.event.DoctorScheduleChangedEvent;
+import com.clinical.backend.event.RoomChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps the second-level cache consistent across replicas.
+ *
+ * Hibernate already updates the local cache when this replica writes a cached entity. After the
+ * commit, the change is broadcast with Postgres NOTIFY, and every other replica evicts that
+ * entity when the notification arrives on its LISTEN connection. Whenever the listener
+ * (re)connects, the cached regions are cleared and every in-memory view is reloaded, because
+ * notifications sent while it was not listening are lost.
+ *
+ * Remote changes are also republished locally as the event the matching in-memory view listens
+ * to (doctor directory, compiled availability, room occupancy), so those views follow along.
+ * They also need inserts, which the second-level cache itself does not.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CacheInvalidationService
+        implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
+
+    static final String CHANNEL = "l2_cache_invalidation";
+
+    // Entities held in the second-level cache
+    private static final Set<Class<?>> CACHED_TYPES = Set.of(User.class, Doctor.class);
+    // Entities whose changes are broadcast: the cached ones plus those behind in-memory views
+    private static final Map<String, Class<?>> BROADCAST_TYPES = Map.of(
+            User.class.getSimpleName(), User.class,
+            Doctor.class.getSimpleName(), Doctor.class,
+            DoctorScheduleTemplate.class.getSimpleName(), DoctorScheduleTemplate.class,
+            DoctorScheduleException.class.getSimpleName(), DoctorScheduleException.class,
+            Room.class.getSimpleName(), Room.class,
+            Appointment.class.getSimpleName(), Appointment.class);
+    private static final int POLL_TIMEOUT_MILLIS = 10_000;
+    private static final long RECONNECT_DELAY_MILLIS = 5_000;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final String instanceId = UUID.randomUUID().toString();
+    // NOTIFY runs on its own connection once the writing transaction has fully completed
+    private final ExecutorService publisher = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("cache-invalidation-publish").daemon().factory());
+    private volatile boolean running = true;
+    private Thread listener;
+
+    @PostConstruct
+    public void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startListening() {
+        listener = Thread.ofPlatform().name("cache-invalidation-listen").daemon().start(this::listen);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        publisher.shutdownNow();
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return BROADCAST_TYPES.containsValue(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(event.getPersister().getMappedClass(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(event.getPersister().getMappedClass(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(event.getPersister().getMappedClass(), event.getId());
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was committed, so other replicas have nothing to evict
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was committed, so other replicas have nothing to evict
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was committed, so other replicas have nothing to evict
+    }
+
+    String payload(Class<?> type, Object id) {
+        return instanceId + ":" + type.getSimpleName() + ":" + id;
+    }
+
+    void handleNotification(String payload) {
+        String[] parts = payload.split(":", 3);
+        if (parts.length != 3 || parts[0].equals(instanceId)) {
+            return;
+        }
+        Class<?> type = BROADCAST_TYPES.get(parts[1]);
+        if (type == null) {
+            return;
+        }
+
+        Long id = Long.valueOf(parts[2]);
+        meterRegistry.counter("cache.invalidations", "direction", "received").increment();
+        if (CACHED_TYPES.contains(type)) {
+            Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+            cache.evictEntityData(type, id);
+            if (type == User.class) {
+                // The email -> id entry may point at the old email; the region is small, drop it
+                cache.evictNaturalIdData(User.class);
+            }
+        }
+        eventPublisher.publishEvent(localEvent(type, id));
+    }
+
+    private static Object localEvent(Class<?> type, Long id) {
+        if (type == Doctor.class) {
+            return new DoctorChangedEvent(id);
+        }
+        if (type == User.class) {
+            // A user change may be a doctor's name, so the doctor id is not known here
+            return new DoctorChangedEvent(null);
+        }
+        if (type == Room.class) {
+            return new RoomChangedEvent(id);
+        }
+        if (type == Appointment.class) {
+            return new AppointmentChangedEvent(id);
+        }
+        // Only the schedule row id is broadcast, so the owning doctor is unknown: recompile everyone
+        return new DoctorScheduleChangedEvent(null);
+    }
+
+    private void publish(Class<?> type, Object id) {
+        if (!BROADCAST_TYPES.containsValue(type)) {
+            return;
+        }
+        String payload = payload(type, id);
+        publisher.execute(() -> {
+            try {
+                jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", CHANNEL, payload);
+                meterRegistry.counter("cache.invalidations", "direction", "sent").increment();
+            } catch (Exception e) {
+                log.warn("Failed to broadcast cache invalidation {}", payload, e);
+            }
+        });
+    }
+
+    private void listen() {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.info("Database is not PostgreSQL, cross-replica cache invalidation is disabled");
+                    return;
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                resynchronize();
+                log.info("Listening for cache invalidations on channel {}", CHANNEL);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(POLL_TIMEOUT_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handleNotification(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Cache invalidation listener lost its connection, reconnecting", e);
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    void resynchronize() {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        CACHED_TYPES.forEach(cache::evictEntityData);
+        cache.evictNaturalIdData(User.class);
+
+        // A null id asks each view to reload everything it holds
+        eventPublisher.publishEvent(new DoctorChangedEvent(null));
+        eventPublisher.publishEvent(new DoctorScheduleChangedEvent(null));
+        eventPublisher.publishEvent(new RoomChangedEvent(null));
+        eventPublisher.publishEvent(new AppointmentChangedEvent(null));
+    }
+}
@@ -0,0 +1,280 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.entity.Doctor;
+import com.clinical.backend.entity.DoctorScheduleException;
+import com.clinical.backend.entity.DoctorScheduleTemplate;
+import com.clinical.backend.event.DoctorScheduleChangedEvent;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.repository.DoctorScheduleExceptionRepository;
+import com.clinical.backend.repository.DoctorScheduleTemplateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Compiled, in-memory view of when each doctor can be booked.
+ *
+ * Weekly templates and upcoming exceptions are compiled per doctor into immutable interval
+ * lists per weekday plus a short list of dated blocks, and booking checks run entirely
+ * against that structure. A doctor is recompiled after their schedule changes; everything is
+ * recompiled when clinic-wide closures change or another replica reports an edit.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorAvailabilityService {
+
+    private static final TimeWindow WHOLE_DAY = new TimeWindow(LocalTime.MIN, LocalTime.MAX);
+
+    private final DoctorScheduleTemplateRepository templateRepository;
+    private final DoctorScheduleExceptionRepository exceptionRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private volatile Map<Long, CompiledSchedule> schedules;
+    private volatile List<Block> closures = List.of();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reloadAll();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onScheduleChanged(DoctorScheduleChangedEvent event) {
+        if (event.doctorId() == null) {
+            reloadAll();
+        } else {
+            reload(event.doctorId());
+        }
+    }
+
+    public synchronized void reloadAll() {
+        LocalDate today = LocalDate.now();
+        List<DoctorScheduleTemplate> templates = readOnly(templateRepository::findAll);
+        List<DoctorScheduleException> exceptions = readOnly(() -> exceptionRepository.findByEndDateGreaterThanEqual(today));
+
+        Map<Long, List<DoctorScheduleTemplate>> templatesByDoctor = new HashMap<>();
+        for (DoctorScheduleTemplate template : templates) {
+            templatesByDoctor.computeIfAbsent(template.getDoctor().getId(), id -> new ArrayList<>()).add(template);
+        }
+        Map<Long, List<DoctorScheduleException>> exceptionsByDoctor = new HashMap<>();
+        List<Block> clinicClosures = new ArrayList<>();
+        for (DoctorScheduleException exception : exceptions) {
+            if (exception.getDoctor() == null) {
+                clinicClosures.add(Block.of(exception));
+            } else {
+                exceptionsByDoctor.computeIfAbsent(exception.getDoctor().getId(), id -> new ArrayList<>()).add(exception);
+            }
+        }
+
+        Set<Long> doctorIds = new HashSet<>(templatesByDoctor.keySet());
+        doctorIds.addAll(exceptionsByDoctor.keySet());
+        Map<Long, CompiledSchedule> compiled = new HashMap<>();
+        for (Long doctorId : doctorIds) {
+            compiled.put(doctorId, CompiledSchedule.of(
+                    templatesByDoctor.getOrDefault(doctorId, List.of()),
+                    exceptionsByDoctor.getOrDefault(doctorId, List.of())));
+        }
+
+        closures = List.copyOf(clinicClosures);
+        schedules = Map.copyOf(compiled);
+        log.debug("Compiled schedules for {} doctors and {} clinic closures", compiled.size(), clinicClosures.size());
+    }
+
+    public synchronized void reload(Long doctorId) {
+        if (schedules == null) {
+            reloadAll();
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        List<DoctorScheduleTemplate> templates = readOnly(() -> templateRepository.findByDoctorId(doctorId));
+        List<DoctorScheduleException> exceptions =
+                readOnly(() -> exceptionRepository.findByDoctorIdAndEndDateGreaterThanEqual(doctorId, today));
+
+        Map<Long, CompiledSchedule> updated = new HashMap<>(schedules);
+        if (templates.isEmpty() && exceptions.isEmpty()) {
+            updated.remove(doctorId);
+        } else {
+            updated.put(doctorId, CompiledSchedule.of(templates, exceptions));
+        }
+        schedules = Map.copyOf(updated);
+    }
+
+    /**
+     * Reject a booking outside the doctor's working hours, or inside a break, vacation or closure.
+     * Uses only the compiled schedule and the already loaded doctor.
+     */
+    public void checkBookable(Doctor doctor, LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            return;  // reported by the caller's own validation
+        }
+
+        LocalDate date = startTime.toLocalDate();
+        LocalTime from = startTime.toLocalTime();
+        LocalTime to;
+        if (endTime.toLocalDate().equals(date)) {
+            to = endTime.toLocalTime();
+        } else if (endTime.toLocalDate().equals(date.plusDays(1)) && endTime.toLocalTime().equals(LocalTime.MIDNIGHT)) {
+            to = LocalTime.MAX;
+        } else {
+            throw new BusinessException("Appointments must start and end on the same day");
+        }
+
+        for (TimeWindow window : getAvailableWindows(doctor, date)) {
+            if (window.contains(from, to)) {
+                return;
+            }
+        }
+        throw new BusinessException("Doctor is not working at the requested time");
+    }
+
+    /**
+     * The doctor's bookable hours on a date, before existing appointments are taken into account.
+     */
+    public List<TimeWindow> getAvailableWindows(Doctor doctor, LocalDate date) {
+        CompiledSchedule schedule = schedules().get(doctor.getId());
+
+        List<TimeWindow> windows = schedule != null && schedule.hasTemplate()
+                ? schedule.weekly().getOrDefault(date.getDayOfWeek(), List.of())
+                : fallbackWindows(doctor);
+
+        if (schedule != null) {
+            windows = subtractBlocks(windows, schedule.blocks(), date);
+        }
+        return subtractBlocks(windows, closures, date);
+    }
+
+    private Map<Long, CompiledSchedule> schedules() {
+        Map<Long, CompiledSchedule> current = schedules;
+        if (current == null) {
+            // Bookings can arrive before the startup load has finished
+            reloadAll();
+            current = schedules;
+        }
+        return current;
+    }
+
+    // Doctors without a weekly template keep the single available_from/available_to pair
+    private static List<TimeWindow> fallbackWindows(Doctor doctor) {
+        LocalTime from = doctor.getAvailableFrom();
+        LocalTime to = doctor.getAvailableTo();
+        if (from == null || to == null || !to.isAfter(from)) {
+            return List.of(WHOLE_DAY);
+        }
+        return List.of(new TimeWindow(from, to));
+    }
+
+    private static List<TimeWindow> subtractBlocks(List<TimeWindow> windows, List<Block> blocks, LocalDate date) {
+        List<TimeWindow> result = windows;
+        for (Block block : blocks) {
+            if (!block.covers(date)) {
+                continue;
+            }
+            List<TimeWindow> remaining = new ArrayList<>(result.size() + 1);
+            for (TimeWindow window : result) {
+                window.subtract(block.window(), remaining);
+            }
+            result = remaining;
+        }
+        return result == windows ? windows : List.copyOf(result);
+    }
+
+    private <T> T readOnly(Supplier<T> query) {
+        // Also runs right after another transaction commits, so it always gets its own
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> query.get());
+    }
+
+    /**
+     * Half-open interval of a day; an end of {@link LocalTime#MAX} means midnight.
+     */
+    public record TimeWindow(LocalTime start, LocalTime end) {
+
+        boolean contains(LocalTime from, LocalTime to) {
+            return !from.isBefore(start) && !to.isAfter(end);
+        }
+
+        void subtract(TimeWindow other, List<TimeWindow> into) {
+            if (!other.start.isBefore(end) || !other.end.isAfter(start)) {
+                into.add(this);
+                return;
+            }
+            if (start.isBefore(other.start)) {
+                into.add(new TimeWindow(start, other.start));
+            }
+            if (other.end.isBefore(end)) {
+                into.add(new TimeWindow(other.end, end));
+            }
+        }
+    }
+
+    private record Block(LocalDate startDate, LocalDate endDate, TimeWindow window) {
+
+        static Block of(DoctorScheduleException exception) {
+            TimeWindow window = exception.getStartTime() == null
+                    ? WHOLE_DAY
+                    : new TimeWindow(exception.getStartTime(), exception.getEndTime());
+            return new Block(exception.getStartDate(), exception.getEndDate(), window);
+        }
+
+        boolean covers(LocalDate date) {
+            return !date.isBefore(startDate) && !date.isAfter(endDate);
+        }
+    }
+
+    private record CompiledSchedule(boolean hasTemplate, Map<DayOfWeek, List<TimeWindow>> weekly, List<Block> blocks) {
+
+        static CompiledSchedule of(List<DoctorScheduleTemplate> templates, List<DoctorScheduleException> exceptions) {
+            Map<DayOfWeek, List<TimeWindow>> weekly = new EnumMap<>(DayOfWeek.class);
+            for (DoctorScheduleTemplate template : templates) {
+                weekly.computeIfAbsent(template.getDayOfWeek(), day -> new ArrayList<>())
+                        .add(new TimeWindow(template.getStartTime(), template.getEndTime()));
+            }
+            weekly.replaceAll((day, windows) -> merge(windows));
+
+            List<Block> blocks = exceptions.stream().map(Block::of).toList();
+            return new CompiledSchedule(!templates.isEmpty(), Map.copyOf(weekly), blocks);
+        }
+
+        // Sort and coalesce overlapping or touching shifts
+        private static List<TimeWindow> merge(List<TimeWindow> windows) {
+            List<TimeWindow> sorted = new ArrayList<>(windows);
+            sorted.sort(Comparator.comparing(TimeWindow::start));
+
+            List<TimeWindow> merged = new ArrayList<>(sorted.size());
+            for (TimeWindow window : sorted) {
+                TimeWindow last = merged.isEmpty() ? null : merged.get(merged.size() - 1);
+                if (last != null && !window.start().isAfter(last.end())) {
+                    if (window.end().isAfter(last.end())) {
+                        merged.set(merged.size() - 1, new TimeWindow(last.start(), window.end()));
+                    }
+                } else {
+                    merged.add(window);
+                }
+            }
+            return List.copyOf(merged);
+        }
+    }
+}
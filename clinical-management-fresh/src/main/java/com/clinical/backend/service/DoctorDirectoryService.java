@@ -0,0 +1,155 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.doctor.DoctorResponse;
+import com.clinical.backend.event.DoctorChangedEvent;
+import com.clinical.backend.mapper.DoctorMapper;
+import com.clinical.backend.repository.DoctorRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * In-memory snapshot of every doctor, used for listing and searching without touching the database.
+ *
+ * The doctor table is small and changes rarely, so the whole directory is rebuilt after each
+ * doctor write (and when another replica reports one) and swapped in atomically. Readers
+ * always see one consistent snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorDirectoryService {
+
+    private static final Comparator<DoctorResponse> BY_NAME = Comparator
+            .comparing(DoctorResponse::getFullName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(DoctorResponse::getId);
+
+    private final DoctorRepository doctorRepository;
+    private final DoctorMapper doctorMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        refresh();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onDoctorChanged(DoctorChangedEvent event) {
+        refresh();
+    }
+
+    public synchronized void refresh() {
+        // Runs after the writing transaction has committed, so it needs a transaction of its own
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+
+        List<DoctorResponse> doctors = transactionTemplate.execute(status ->
+                doctorRepository.findAllWithUser().stream().map(doctorMapper::toResponse).toList());
+        snapshot = Snapshot.of(doctors);
+        log.debug("Doctor directory refreshed with {} doctors", doctors.size());
+    }
+
+    public List<DoctorResponse> getAllDoctors() {
+        return snapshot().all();
+    }
+
+    public Optional<DoctorResponse> findById(Long id) {
+        return Optional.ofNullable(snapshot().byId().get(id));
+    }
+
+    public List<DoctorResponse> findBySpecialty(String specialty) {
+        return snapshot().bySpecialty().getOrDefault(normalize(specialty), List.of());
+    }
+
+    /**
+     * Doctors whose name has a word starting with the query (so "smi" and "john sm" both find
+     * "Dr. John Smith") or whose specialty contains it.
+     */
+    public List<DoctorResponse> searchDoctors(String query) {
+        Snapshot current = snapshot();
+        String term = normalize(query);
+        if (term.isEmpty()) {
+            return current.all();
+        }
+
+        Set<DoctorResponse> matches = new LinkedHashSet<>();
+        current.byName().subMap(term, true, term + Character.MAX_VALUE, false).values().forEach(matches::addAll);
+        current.bySpecialty().forEach((specialty, doctors) -> {
+            if (specialty.contains(term)) {
+                matches.addAll(doctors);
+            }
+        });
+
+        List<DoctorResponse> result = new ArrayList<>(matches);
+        result.sort(BY_NAME);
+        return result;
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            // Requests can arrive before the startup load has finished
+            refresh();
+            current = snapshot;
+        }
+        return current;
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private record Snapshot(List<DoctorResponse> all,
+                            Map<Long, DoctorResponse> byId,
+                            Map<String, List<DoctorResponse>> bySpecialty,
+                            NavigableMap<String, List<DoctorResponse>> byName) {
+
+        static Snapshot of(List<DoctorResponse> doctors) {
+            List<DoctorResponse> sorted = new ArrayList<>(doctors);
+            sorted.sort(BY_NAME);
+
+            Map<Long, DoctorResponse> byId = new HashMap<>();
+            Map<String, List<DoctorResponse>> bySpecialty = new HashMap<>();
+            TreeMap<String, List<DoctorResponse>> byName = new TreeMap<>();
+            for (DoctorResponse doctor : sorted) {
+                byId.put(doctor.getId(), doctor);
+                bySpecialty.computeIfAbsent(normalize(doctor.getSpecialty()), key -> new ArrayList<>()).add(doctor);
+
+                // Key every word-aligned suffix of the name, so a prefix lookup matches from any word
+                String[] words = normalize(doctor.getFullName()).split(" ");
+                for (int i = 0; i < words.length; i++) {
+                    String key = String.join(" ", List.of(words).subList(i, words.length));
+                    byName.computeIfAbsent(key, k -> new ArrayList<>()).add(doctor);
+                }
+            }
+            bySpecialty.replaceAll((specialty, list) -> List.copyOf(list));
+            byName.replaceAll((name, list) -> List.copyOf(list));
+
+            return new Snapshot(List.copyOf(sorted), Map.copyOf(byId), Map.copyOf(bySpecialty),
+                    Collections.unmodifiableNavigableMap(byName));
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.doctor.DoctorScheduleResponse;
+import com.clinical.backend.dto.doctor.ScheduleExceptionRequest;
+import com.clinical.backend.dto.doctor.ScheduleExceptionResponse;
+import com.clinical.backend.dto.doctor.ScheduleSlotRequest;
+import com.clinical.backend.dto.doctor.ScheduleSlotResponse;
+import com.clinical.backend.entity.Doctor;
+import com.clinical.backend.entity.DoctorScheduleException;
+import com.clinical.backend.entity.DoctorScheduleTemplate;
+import com.clinical.backend.event.DoctorScheduleChangedEvent;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.exception.ResourceNotFoundException;
+import com.clinical.backend.repository.DoctorRepository;
+import com.clinical.backend.repository.DoctorScheduleExceptionRepository;
+import com.clinical.backend.repository.DoctorScheduleTemplateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Editing of weekly schedules, per-doctor exceptions and clinic-wide closures. Every change
+ * publishes {@link DoctorScheduleChangedEvent} so the compiled availability is rebuilt.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorScheduleService {
+
+    private final DoctorRepository doctorRepository;
+    private final DoctorScheduleTemplateRepository templateRepository;
+    private final DoctorScheduleExceptionRepository exceptionRepository;
+    private final DoctorAvailabilityService doctorAvailabilityService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional(readOnly = true)
+    public DoctorScheduleResponse getSchedule(Long doctorId) {
+        findDoctor(doctorId);
+        LocalDate today = LocalDate.now();
+
+        List<ScheduleSlotResponse> weekly = templateRepository.findByDoctorId(doctorId).stream()
+                .sorted(Comparator.comparing(DoctorScheduleTemplate::getDayOfWeek)
+                        .thenComparing(DoctorScheduleTemplate::getStartTime))
+                .map(template -> ScheduleSlotResponse.builder()
+                        .dayOfWeek(template.getDayOfWeek())
+                        .startTime(template.getStartTime())
+                        .endTime(template.getEndTime())
+                        .build())
+                .toList();
+
+        return DoctorScheduleResponse.builder()
+                .doctorId(doctorId)
+                .weeklySchedule(weekly)
+                .exceptions(exceptionRepository.findByDoctorIdAndEndDateGreaterThanEqual(doctorId, today).stream()
+                        .sorted(Comparator.comparing(DoctorScheduleException::getStartDate))
+                        .map(this::toResponse)
+                        .toList())
+                .closures(exceptionRepository.findUpcomingClosures(today).stream().map(this::toResponse).toList())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public List<ScheduleSlotResponse> getAvailability(Long doctorId, LocalDate date) {
+        Doctor doctor = findDoctor(doctorId);
+        return doctorAvailabilityService.getAvailableWindows(doctor, date).stream()
+                .map(window -> ScheduleSlotResponse.builder()
+                        .dayOfWeek(date.getDayOfWeek())
+                        .startTime(window.start())
+                        .endTime(window.end())
+                        .build())
+                .toList();
+    }
+
+    @Transactional
+    public DoctorScheduleResponse replaceWeeklySchedule(Long doctorId, List<ScheduleSlotRequest> slots) {
+        Doctor doctor = findDoctor(doctorId);
+        for (ScheduleSlotRequest slot : slots) {
+            if (!slot.getEndTime().isAfter(slot.getStartTime())) {
+                throw new BusinessException("Schedule end time must be after start time on " + slot.getDayOfWeek());
+            }
+        }
+
+        templateRepository.deleteByDoctorId(doctorId);
+        templateRepository.flush();
+        templateRepository.saveAll(slots.stream()
+                .map(slot -> DoctorScheduleTemplate.builder()
+                        .doctor(doctor)
+                        .dayOfWeek(slot.getDayOfWeek())
+                        .startTime(slot.getStartTime())
+                        .endTime(slot.getEndTime())
+                        .build())
+                .toList());
+
+        eventPublisher.publishEvent(new DoctorScheduleChangedEvent(doctorId));
+        log.info("Replaced weekly schedule of doctor {} with {} slots", doctorId, slots.size());
+        return getSchedule(doctorId);
+    }
+
+    @Transactional
+    public ScheduleExceptionResponse addException(Long doctorId, ScheduleExceptionRequest request) {
+        Doctor doctor = doctorId != null ? findDoctor(doctorId) : null;
+        validate(request);
+
+        DoctorScheduleException exception = exceptionRepository.save(DoctorScheduleException.builder()
+                .doctor(doctor)
+                .startDate(request.getStartDate())
+                .endDate(request.getEndDate())
+                .startTime(request.getStartTime())
+                .endTime(request.getEndTime())
+                .reason(request.getReason())
+                .build());
+
+        eventPublisher.publishEvent(new DoctorScheduleChangedEvent(doctorId));
+        return toResponse(exception);
+    }
+
+    @Transactional
+    public void deleteException(Long exceptionId) {
+        DoctorScheduleException exception = exceptionRepository.findById(exceptionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Schedule exception not found with id: " + exceptionId));
+        Long doctorId = exception.getDoctor() != null ? exception.getDoctor().getId() : null;
+
+        exceptionRepository.delete(exception);
+        eventPublisher.publishEvent(new DoctorScheduleChangedEvent(doctorId));
+    }
+
+    private void validate(ScheduleExceptionRequest request) {
+        if (request.getEndDate().isBefore(request.getStartDate())) {
+            throw new BusinessException("Exception end date must not be before start date");
+        }
+        if ((request.getStartTime() == null) != (request.getEndTime() == null)) {
+            throw new BusinessException("Provide both start and end time, or neither to block whole days");
+        }
+        if (request.getStartTime() != null && !request.getEndTime().isAfter(request.getStartTime())) {
+            throw new BusinessException("Exception end time must be after start time");
+        }
+    }
+
+    private Doctor findDoctor(Long doctorId) {
+        return doctorRepository.findById(doctorId)
+                .orElseThrow(() -> new ResourceNotFoundException("Doctor not found with id: " + doctorId));
+    }
+
+    private ScheduleExceptionResponse toResponse(DoctorScheduleException exception) {
+        return ScheduleExceptionResponse.builder()
+                .id(exception.getId())
+                .doctorId(exception.getDoctor() != null ? exception.getDoctor().getId() : null)
+                .startDate(exception.getStartDate())
+                .endDate(exception.getEndDate())
+                .startTime(exception.getStartTime())
+                .endTime(exception.getEndTime())
+                .reason(exception.getReason())
+                .build();
+    }
+}
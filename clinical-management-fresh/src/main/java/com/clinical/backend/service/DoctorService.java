@@ -0,0 +1,88 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.doctor.DoctorResponse;
+import com.clinical.backend.entity.Doctor;
+import com.clinical.backend.entity.User;
+import com.clinical.backend.event.DoctorChangedEvent;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.exception.ResourceNotFoundException;
+import com.clinical.backend.mapper.DoctorMapper;
+import com.clinical.backend.repository.DoctorRepository;
+import com.clinical.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Doctor writes go through the database and republish the directory; reads are served from
+ * {@link DoctorDirectoryService}'s in-memory snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DoctorService {
+    
+    private final DoctorRepository doctorRepository;
+    private final UserRepository userRepository;
+    private final DoctorMapper doctorMapper;
+    private final DoctorDirectoryService doctorDirectoryService;
+    private final ApplicationEventPublisher eventPublisher;
+    
+    public List<DoctorResponse> getAllDoctors(String specialty) {
+        return specialty == null || specialty.isBlank()
+                ? doctorDirectoryService.getAllDoctors()
+                : doctorDirectoryService.findBySpecialty(specialty);
+    }
+    
+    public Optional<DoctorResponse> getDoctorById(Long id) {
+        return doctorDirectoryService.findById(id);
+    }
+    
+    public List<DoctorResponse> searchDoctors(String query) {
+        return doctorDirectoryService.searchDoctors(query);
+    }
+    
+    @Transactional
+    public DoctorResponse createDoctor(Doctor doctor) {
+        if (doctor.getUser() == null || doctor.getUser().getId() == null) {
+            throw new BusinessException("Doctor must reference an existing user");
+        }
+        User user = userRepository.findById(doctor.getUser().getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + doctor.getUser().getId()));
+        doctor.setUser(user);
+        
+        Doctor savedDoctor = doctorRepository.save(doctor);
+        eventPublisher.publishEvent(new DoctorChangedEvent(savedDoctor.getId()));
+        log.info("Created doctor {} for user {}", savedDoctor.getId(), user.getId());
+        return doctorMapper.toResponse(savedDoctor);
+    }
+    
+    @Transactional
+    public Optional<DoctorResponse> updateDoctor(Long id, Doctor doctorDetails) {
+        return doctorRepository.findById(id)
+                .map(doctor -> {
+                    doctor.setSpecialty(doctorDetails.getSpecialty());
+                    doctor.setLicenseNumber(doctorDetails.getLicenseNumber());
+                    doctor.setRoom(doctorDetails.getRoom());
+                    doctor.setPhone(doctorDetails.getPhone());
+                    doctor.setConsultationFeeCents(doctorDetails.getConsultationFeeCents());
+                    doctor.setAvailableFrom(doctorDetails.getAvailableFrom());
+                    doctor.setAvailableTo(doctorDetails.getAvailableTo());
+                    
+                    Doctor updatedDoctor = doctorRepository.save(doctor);
+                    eventPublisher.publishEvent(new DoctorChangedEvent(updatedDoctor.getId()));
+                    return doctorMapper.toResponse(updatedDoctor);
+                });
+    }
+    
+    @Transactional
+    public void deleteDoctor(Long id) {
+        doctorRepository.deleteById(id);
+        eventPublisher.publishEvent(new DoctorChangedEvent(id));
+    }
+}
@@ -0,0 +1,264 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.exception.IdempotencyException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Claims and replays for requests sent with an {@code Idempotency-Key} header, per user.
+ *
+ * The first request with a key claims it with an insert into {@code idempotency_keys}; the
+ * primary key makes that claim exclusive across replicas. Its response is stored on the row
+ * and in a bounded in-memory cache, and later requests with the same key get that response
+ * back instead of running again. A duplicate that arrives while the first request is still
+ * running waits for it: on the same replica through an in-memory future, on another replica
+ * by polling the row. Server errors are not stored, so the key can be retried.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final String STATUS_COMPLETED = "COMPLETED";
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+    // A claim this old belongs to a request whose replica died before finishing it
+    private static final Duration ABANDONED_AFTER = Duration.ofMinutes(5);
+
+    // Expired and abandoned rows are taken over by the new request
+    private static final String CLAIM_SQL =
+            "INSERT INTO idempotency_keys (user_id, idempotency_key, request_hash, status) " +
+            "VALUES (:userId, :key, :requestHash, 'IN_PROGRESS') " +
+            "ON CONFLICT (user_id, idempotency_key) DO UPDATE SET " +
+            "request_hash = EXCLUDED.request_hash, status = 'IN_PROGRESS', response_status = NULL, " +
+            "response_content_type = NULL, response_body = NULL, created_at = CURRENT_TIMESTAMP " +
+            "WHERE idempotency_keys.created_at < :expiredBefore " +
+            "OR (idempotency_keys.status = 'IN_PROGRESS' AND idempotency_keys.created_at < :abandonedBefore)";
+
+    private static final String FIND_SQL =
+            "SELECT request_hash, status, response_status, response_content_type, response_body " +
+            "FROM idempotency_keys WHERE user_id = :userId AND idempotency_key = :key";
+
+    private static final String COMPLETE_SQL =
+            "UPDATE idempotency_keys SET status = 'COMPLETED', response_status = :status, " +
+            "response_content_type = :contentType, response_body = :body " +
+            "WHERE user_id = :userId AND idempotency_key = :key";
+
+    private static final String RELEASE_SQL =
+            "DELETE FROM idempotency_keys WHERE user_id = :userId AND idempotency_key = :key AND status = 'IN_PROGRESS'";
+
+    private static final String PURGE_SQL = "DELETE FROM idempotency_keys WHERE created_at < :expiredBefore";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+
+    private final Cache<Key, StoredResponse> completed;
+    private final Map<Key, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(NamedParameterJdbcTemplate jdbcTemplate,
+                              @Value("${app.idempotency.ttl:24h}") Duration ttl,
+                              @Value("${app.idempotency.wait-timeout:30s}") Duration waitTimeout,
+                              @Value("${app.idempotency.cache-size:10000}") long cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    /**
+     * Claim {@code key} for a request, or return the response to replay for it.
+     * An empty result means the caller now owns the key and must run the request, then call
+     * {@link #complete} or {@link #release}.
+     *
+     * @throws IdempotencyException 422 when the key was used for a different request,
+     *                              409 when the first request is still running after the wait timeout
+     */
+    public Optional<StoredResponse> claim(Long userId, String idempotencyKey, String requestHash) {
+        Key key = new Key(userId, idempotencyKey);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+
+        while (true) {
+            StoredResponse cached = completed.getIfPresent(key);
+            if (cached != null) {
+                return Optional.of(replay(cached, requestHash));
+            }
+
+            CompletableFuture<StoredResponse> own = new CompletableFuture<>();
+            CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(key, own);
+            if (running != null) {
+                StoredResponse response = await(running, deadline);
+                if (response != null) {
+                    return Optional.of(replay(response, requestHash));
+                }
+                // The first request failed and gave the key up; try to claim it again
+                continue;
+            }
+
+            // This thread holds the key on this replica; other local duplicates wait on it
+            try {
+                return claimShared(key, requestHash, deadline, own);
+            } catch (RuntimeException e) {
+                finish(key, own, null);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Store the response of a claimed request and hand it to any duplicates waiting for it.
+     */
+    public void complete(Long userId, String idempotencyKey, StoredResponse response) {
+        Key key = new Key(userId, idempotencyKey);
+        jdbcTemplate.update(COMPLETE_SQL, params(key)
+                .addValue("status", response.status())
+                .addValue("contentType", response.contentType())
+                .addValue("body", response.body()));
+        finish(key, inFlight.get(key), response);
+    }
+
+    /**
+     * Give up a claimed key without a stored response, so the request can be retried.
+     */
+    public void release(Long userId, String idempotencyKey) {
+        Key key = new Key(userId, idempotencyKey);
+        try {
+            jdbcTemplate.update(RELEASE_SQL, params(key));
+        } finally {
+            finish(key, inFlight.get(key), null);
+        }
+    }
+
+    /**
+     * Delete keys whose responses can no longer be replayed. Runs every hour.
+     */
+    @Scheduled(cron = "${app.scheduler.idempotency-purge-cron:0 15 * * * ?}")
+    public void purgeExpired() {
+        int purged = jdbcTemplate.update(PURGE_SQL,
+                new MapSqlParameterSource("expiredBefore", LocalDateTime.now().minus(ttl)));
+        if (purged > 0) {
+            log.debug("Purged {} expired idempotency keys", purged);
+        }
+    }
+
+    private Optional<StoredResponse> claimShared(Key key, String requestHash, long deadline,
+                                                 CompletableFuture<StoredResponse> own) {
+        LocalDateTime now = LocalDateTime.now();
+        MapSqlParameterSource claim = params(key)
+                .addValue("requestHash", requestHash)
+                .addValue("expiredBefore", now.minus(ttl))
+                .addValue("abandonedBefore", now.minus(ABANDONED_AFTER));
+
+        while (true) {
+            if (jdbcTemplate.update(CLAIM_SQL, claim) > 0) {
+                return Optional.empty();
+            }
+
+            // Claimed elsewhere: replay it once finished, wait while it is still running
+            List<StoredResponse> rows = jdbcTemplate.query(FIND_SQL, params(key), (rs, rowNum) -> new StoredResponse(
+                    rs.getString("request_hash"),
+                    STATUS_COMPLETED.equals(rs.getString("status")) ? rs.getInt("response_status") : 0,
+                    rs.getString("response_content_type"),
+                    rs.getBytes("response_body")));
+            if (!rows.isEmpty()) {
+                StoredResponse row = rows.get(0);
+                if (!row.requestHash().equals(requestHash)) {
+                    throw mismatch();
+                }
+                if (row.status() != 0) {
+                    finish(key, own, row);
+                    return Optional.of(row);
+                }
+            }
+
+            if (System.nanoTime() - deadline > 0) {
+                throw stillRunning();
+            }
+            sleep();
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running, long deadline) {
+        try {
+            return running.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw stillRunning();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw stillRunning();
+        } catch (ExecutionException e) {
+            // Futures are only ever completed normally
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void finish(Key key, CompletableFuture<StoredResponse> future, StoredResponse response) {
+        if (response != null) {
+            completed.put(key, response);
+        }
+        if (future != null) {
+            inFlight.remove(key, future);
+            future.complete(response);
+        }
+    }
+
+    private StoredResponse replay(StoredResponse response, String requestHash) {
+        if (!response.requestHash().equals(requestHash)) {
+            throw mismatch();
+        }
+        return response;
+    }
+
+    private void sleep() {
+        try {
+            Thread.sleep(POLL_INTERVAL);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw stillRunning();
+        }
+    }
+
+    private static MapSqlParameterSource params(Key key) {
+        return new MapSqlParameterSource()
+                .addValue("userId", key.userId())
+                .addValue("key", key.idempotencyKey());
+    }
+
+    private static IdempotencyException mismatch() {
+        return new IdempotencyException(HttpStatus.UNPROCESSABLE_ENTITY,
+                "Idempotency-Key was already used for a different request");
+    }
+
+    private static IdempotencyException stillRunning() {
+        return new IdempotencyException(HttpStatus.CONFLICT,
+                "A request with this Idempotency-Key is still being processed");
+    }
+
+    /**
+     * A finished response as stored for replay, with the hash of the request that produced it.
+     */
+    public record StoredResponse(String requestHash, int status, String contentType, byte[] body) {
+    }
+
+    private record Key(Long userId, String idempotencyKey) {
+    }
+}
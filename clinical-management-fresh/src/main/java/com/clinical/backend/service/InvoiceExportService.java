@@ -0,0 +1,340 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.invoice.InvoiceExportResponse;
+import com.clinical.backend.entity.Invoice;
+import com.clinical.backend.entity.InvoiceLineItem;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.exception.ResourceNotFoundException;
+import com.clinical.backend.repository.InvoiceLineItemRepository;
+import com.clinical.backend.repository.InvoiceRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Month-end export of every invoice PDF in a date range into a single ZIP archive.
+ *
+ * Invoices are read through a server-side cursor, rendered in parallel on a pool sized to
+ * the CPU count and appended to the archive in order as they complete. Only a small window
+ * of rendered documents is held in memory at any time; the archive itself is written
+ * straight to PDF storage.
+ *
+ * Job state lives in invoice_export_jobs and the archive on the shared PDF volume, so any
+ * replica can report progress and serve the download, not only the one running the export.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InvoiceExportService {
+
+    private static final int RENDER_THREADS = Runtime.getRuntime().availableProcessors();
+    private static final int RENDER_WINDOW = RENDER_THREADS * 2;
+    private static final int CLEAR_INTERVAL = 200;
+    private static final int LINE_ITEM_BATCH_SIZE = 100;
+    private static final int ARCHIVE_BUFFER_SIZE = 64 * 1024;
+    private static final Duration RETENTION = Duration.ofDays(1);
+
+    private static final String INSERT_JOB_SQL =
+            "INSERT INTO invoice_export_jobs (id, date_from, date_to, status, archive_path, created_at) " +
+            "VALUES (:id, :from, :to, 'QUEUED', :archivePath, :createdAt)";
+
+    private static final String FIND_JOB_SQL =
+            "SELECT id, date_from, date_to, status, total_invoices, processed_invoices, error, archive_path, " +
+            "created_at, completed_at FROM invoice_export_jobs WHERE id = :id";
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE invoice_export_jobs SET status = :status, error = :error, completed_at = :completedAt " +
+            "WHERE id = :id";
+
+    private static final String UPDATE_PROGRESS_SQL =
+            "UPDATE invoice_export_jobs SET total_invoices = :total, processed_invoices = :processed WHERE id = :id";
+
+    // A job that never completed within the retention period died with its replica
+    private static final String PURGE_SQL =
+            "DELETE FROM invoice_export_jobs WHERE COALESCE(completed_at, created_at) < :expiredBefore " +
+            "RETURNING archive_path";
+
+    private static final RowMapper<StoredJob> JOB_ROW_MAPPER = (rs, rowNum) -> new StoredJob(
+            rs.getString("id"),
+            rs.getObject("date_from", LocalDate.class),
+            rs.getObject("date_to", LocalDate.class),
+            ExportStatus.valueOf(rs.getString("status")),
+            rs.getLong("total_invoices"),
+            rs.getLong("processed_invoices"),
+            rs.getString("error"),
+            rs.getString("archive_path"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("completed_at", LocalDateTime.class));
+
+    private final InvoiceRepository invoiceRepository;
+    private final InvoiceLineItemRepository invoiceLineItemRepository;
+    private final PdfService pdfService;
+    private final PdfStorageService pdfStorageService;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManager entityManager;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final ExecutorService jobExecutor = Executors.newSingleThreadExecutor(
+            Thread.ofPlatform().name("invoice-export").factory());
+    private final ExecutorService renderExecutor = Executors.newFixedThreadPool(
+            RENDER_THREADS, Thread.ofPlatform().name("invoice-export-render-", 0).factory());
+
+    public InvoiceExportResponse startExport(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new BusinessException("Export start date must not be after end date");
+        }
+
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), from, to);
+        jdbcTemplate.update(INSERT_JOB_SQL, new MapSqlParameterSource()
+                .addValue("id", job.id)
+                .addValue("from", from)
+                .addValue("to", to)
+                .addValue("archivePath", job.archivePath())
+                .addValue("createdAt", job.createdAt));
+        jobExecutor.submit(() -> runExport(job));
+
+        log.info("Queued invoice export {} for {} to {}", job.id, from, to);
+        return findJob(job.id).toResponse();
+    }
+
+    public InvoiceExportResponse getExportStatus(String jobId) {
+        return findJob(jobId).toResponse();
+    }
+
+    public Resource getExportArchive(String jobId) {
+        StoredJob job = findJob(jobId);
+        if (job.status() != ExportStatus.COMPLETED) {
+            throw new BusinessException("Export " + jobId + " is not finished yet");
+        }
+        return pdfStorageService.load(job.archivePath());
+    }
+
+    /**
+     * Delete export jobs and their archives a day after they finished. Runs every hour.
+     */
+    @Scheduled(cron = "${app.scheduler.invoice-export-purge-cron:0 45 * * * ?}")
+    public void purgeExpiredJobs() {
+        List<String> archives = jdbcTemplate.queryForList(PURGE_SQL,
+                new MapSqlParameterSource("expiredBefore", LocalDateTime.now().minus(RETENTION)), String.class);
+        archives.forEach(pdfStorageService::delete);
+        if (!archives.isEmpty()) {
+            log.debug("Purged {} expired invoice exports", archives.size());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+        renderExecutor.shutdownNow();
+    }
+
+    private void runExport(ExportJob job) {
+        LocalDateTime from = job.from.atStartOfDay();
+        LocalDateTime to = job.to.plusDays(1).atStartOfDay();
+
+        try {
+            updateStatus(job, ExportStatus.RUNNING, null, null);
+            pdfStorageService.store(job.archivePath(), outputStream -> writeArchive(job, from, to, outputStream));
+            updateProgress(job);
+            updateStatus(job, ExportStatus.COMPLETED, null, LocalDateTime.now());
+            log.info("Invoice export {} completed with {} invoices", job.id, job.processed.get());
+        } catch (Exception e) {
+            log.error("Invoice export {} failed", job.id, e);
+            try {
+                updateStatus(job, ExportStatus.FAILED, e.getMessage(), LocalDateTime.now());
+            } catch (DataAccessException statusError) {
+                log.error("Failed to record the failure of invoice export {}", job.id, statusError);
+            }
+        }
+    }
+
+    private void updateStatus(ExportJob job, ExportStatus status, String error, LocalDateTime completedAt) {
+        jdbcTemplate.update(UPDATE_STATUS_SQL, new MapSqlParameterSource()
+                .addValue("id", job.id)
+                .addValue("status", status.name())
+                .addValue("error", error)
+                .addValue("completedAt", completedAt));
+    }
+
+    /**
+     * Called from inside the read-only export transaction, so it writes in a transaction of its own.
+     */
+    private void updateProgress(ExportJob job) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(UPDATE_PROGRESS_SQL,
+                new MapSqlParameterSource()
+                        .addValue("id", job.id)
+                        .addValue("total", job.total)
+                        .addValue("processed", job.processed.get())));
+    }
+
+    private void writeArchive(ExportJob job, LocalDateTime from, LocalDateTime to, OutputStream outputStream)
+            throws IOException {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(outputStream, ARCHIVE_BUFFER_SIZE));
+        // PDF content streams are already compressed, so spend as little CPU as possible here
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            job.total = invoiceRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(from, to);
+            updateProgress(job);
+
+            try (Stream<Invoice> invoices = invoiceRepository.streamCreatedBetween(from, to)) {
+                Deque<Future<RenderedInvoice>> window = new ArrayDeque<>(RENDER_WINDOW);
+                List<Invoice> batch = new ArrayList<>(LINE_ITEM_BATCH_SIZE);
+                Iterator<Invoice> iterator = invoices.iterator();
+
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() < LINE_ITEM_BATCH_SIZE && iterator.hasNext()) {
+                        continue;
+                    }
+
+                    // Render threads cannot touch the session, so the lines of a whole batch
+                    // are read here in one query before its invoices are handed out
+                    Map<Long, List<InvoiceLineItem>> lineItems = invoiceLineItemRepository
+                            .findByInvoiceIds(batch.stream().map(Invoice::getId).toList()).stream()
+                            .collect(Collectors.groupingBy(item -> item.getInvoice().getId()));
+                    for (Invoice invoice : batch) {
+                        List<InvoiceLineItem> items = lineItems.getOrDefault(invoice.getId(), List.of());
+                        window.add(renderExecutor.submit(() -> render(invoice, items)));
+
+                        if (window.size() >= RENDER_WINDOW) {
+                            writeEntry(zip, window.poll(), job);
+                        }
+                    }
+                    batch.clear();
+                }
+                while (!window.isEmpty()) {
+                    writeEntry(zip, window.poll(), job);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        zip.finish();
+        zip.flush();
+    }
+
+    private RenderedInvoice render(Invoice invoice, List<InvoiceLineItem> lineItems) throws IOException {
+        return new RenderedInvoice(invoice.getId(), pdfService.generateInvoicePdf(invoice, lineItems));
+    }
+
+    private void writeEntry(ZipOutputStream zip, Future<RenderedInvoice> future, ExportJob job) throws IOException {
+        RenderedInvoice rendered;
+        try {
+            rendered = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Invoice export interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to render invoice PDF", e.getCause());
+        }
+
+        zip.putNextEntry(new ZipEntry("invoice_" + rendered.invoiceId() + ".pdf"));
+        zip.write(rendered.content());
+        zip.closeEntry();
+
+        // Keep the persistence context from growing with the cursor; invoices still waiting
+        // in the render window are fully initialised and safe to use detached
+        if (job.processed.incrementAndGet() % CLEAR_INTERVAL == 0) {
+            entityManager.clear();
+            updateProgress(job);
+        }
+    }
+
+    private StoredJob findJob(String jobId) {
+        return jdbcTemplate.query(FIND_JOB_SQL, new MapSqlParameterSource("id", jobId), JOB_ROW_MAPPER).stream()
+                .findFirst()
+                .orElseThrow(() -> new ResourceNotFoundException("Export job not found: " + jobId));
+    }
+
+    private enum ExportStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED
+    }
+
+    private record RenderedInvoice(Long invoiceId, byte[] content) {
+    }
+
+    /**
+     * The job as run by this replica; progress is written through to invoice_export_jobs.
+     */
+    private static class ExportJob {
+        private final String id;
+        private final LocalDate from;
+        private final LocalDate to;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final AtomicLong processed = new AtomicLong();
+        private volatile long total;
+
+        ExportJob(String id, LocalDate from, LocalDate to) {
+            this.id = id;
+            this.from = from;
+            this.to = to;
+        }
+
+        String archivePath() {
+            return "exports/invoices_" + from + "_" + to + "_" + id + ".zip";
+        }
+    }
+
+    private record StoredJob(String id, LocalDate from, LocalDate to, ExportStatus status, long total,
+                             long processed, String error, String archivePath, LocalDateTime createdAt,
+                             LocalDateTime completedAt) {
+
+        InvoiceExportResponse toResponse() {
+            return InvoiceExportResponse.builder()
+                    .jobId(id)
+                    .from(from)
+                    .to(to)
+                    .status(status.name())
+                    .totalInvoices(total)
+                    .processedInvoices(processed)
+                    .progressPercent(total > 0 ? (int) (processed * 100 / total) : (status == ExportStatus.COMPLETED ? 100 : 0))
+                    .error(error)
+                    .createdAt(createdAt)
+                    .completedAt(completedAt)
+                    .build();
+        }
+    }
+}
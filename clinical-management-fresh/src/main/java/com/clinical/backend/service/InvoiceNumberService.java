@@ -0,0 +1,137 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.event.InvoiceCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gap-free invoice numbers per calendar year ({@code 2025-000042}).
+ *
+ * Invoices are created without a number. Once the creating transaction has committed, a
+ * short dedicated transaction locks the year's row in {@code invoice_number_counters},
+ * numbers every invoice of that year still without one in creation order and moves the
+ * counter on. Numbers therefore only go to committed invoices, and the counter row is held
+ * for one UPDATE rather than for the whole of {@code createInvoice}. Callers on the same
+ * instance that arrive while a numbering transaction runs are served by the next one
+ * together, so a burst of creations costs a handful of transactions instead of one each.
+ * A periodic sweep numbers anything a failed after-commit step left behind.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InvoiceNumberService {
+
+    private static final String PENDING_YEARS_SQL =
+            "SELECT DISTINCT EXTRACT(YEAR FROM created_at)::int FROM invoices WHERE invoice_number IS NULL";
+
+    // Creates the year's counter on first use and locks it until commit
+    private static final String LOCK_COUNTER_SQL =
+            "INSERT INTO invoice_number_counters (year, last_number) VALUES (:year, 0) " +
+            "ON CONFLICT (year) DO UPDATE SET last_number = invoice_number_counters.last_number " +
+            "RETURNING last_number";
+
+    // Runs after the lock, so its snapshot includes every invoice committed before it.
+    // The PDF is dropped because one rendered before numbering shows no number.
+    private static final String NUMBER_SQL =
+            "WITH numbered AS (" +
+            "UPDATE invoices i SET invoice_number = :prefix || LPAD(n.seq::text, GREATEST(6, LENGTH(n.seq::text)), '0'), " +
+            "pdf_path = NULL " +
+            "FROM (SELECT id, :lastNumber + ROW_NUMBER() OVER (ORDER BY created_at, id) AS seq " +
+            "FROM invoices WHERE invoice_number IS NULL AND created_at >= :from AND created_at < :to) n " +
+            "WHERE i.id = n.id RETURNING n.seq) " +
+            "UPDATE invoice_number_counters SET last_number = last_number + (SELECT COUNT(*) FROM numbered) " +
+            "WHERE year = :year RETURNING last_number";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    private final ReentrantLock numberingLock = new ReentrantLock();
+    private final AtomicLong requested = new AtomicLong();
+    // Highest request known to be covered by a finished numbering pass; guarded by numberingLock
+    private long served;
+
+    /**
+     * Number every committed invoice that has no number yet. Must be called outside the
+     * transaction that created them; returns once those invoices are numbered.
+     */
+    public void assignPendingNumbers() {
+        long ticket = requested.incrementAndGet();
+        numberingLock.lock();
+        try {
+            // A pass that started after this call was made has already numbered our invoices
+            if (served >= ticket) {
+                return;
+            }
+            long covered = requested.get();
+            numberPendingYears();
+            served = covered;
+        } finally {
+            numberingLock.unlock();
+        }
+    }
+
+    // Before PdfPrerenderListener, so the pre-rendered PDF shows the number
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onInvoiceCreated(InvoiceCreatedEvent event) {
+        try {
+            assignPendingNumbers();
+        } catch (Exception e) {
+            log.warn("Failed to number invoice {}; the next sweep will", event.invoiceId(), e);
+        }
+    }
+
+    /**
+     * Number invoices whose after-commit numbering failed. Runs every 5 minutes.
+     */
+    @Scheduled(cron = "${app.scheduler.invoice-numbering-cron:0 */5 * * * ?}")
+    public void numberMissedInvoices() {
+        try {
+            assignPendingNumbers();
+        } catch (Exception e) {
+            log.error("Error numbering invoices", e);
+        }
+    }
+
+    private void numberPendingYears() {
+        List<Integer> years = jdbcTemplate.queryForList(PENDING_YEARS_SQL, new MapSqlParameterSource(), Integer.class);
+        if (years.isEmpty()) {
+            return;
+        }
+
+        // Also correct when called from an after-commit callback, where the old transaction is still bound
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        for (Integer year : years) {
+            Integer lastNumber = transactionTemplate.execute(status -> numberYear(year));
+            log.debug("Invoice numbers for {} now run up to {}", year, lastNumber);
+        }
+    }
+
+    private Integer numberYear(int year) {
+        MapSqlParameterSource params = new MapSqlParameterSource("year", year);
+        Integer lastNumber = jdbcTemplate.queryForObject(LOCK_COUNTER_SQL, params, Integer.class);
+
+        params.addValue("lastNumber", lastNumber)
+                .addValue("prefix", year + "-")
+                .addValue("from", LocalDate.of(year, 1, 1).atStartOfDay())
+                .addValue("to", LocalDate.of(year + 1, 1, 1).atStartOfDay());
+        return jdbcTemplate.queryForObject(NUMBER_SQL, params, Integer.class);
+    }
+}
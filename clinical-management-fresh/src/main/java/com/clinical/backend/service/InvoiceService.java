@@ -1,56 +1,84 @@
 package com.clinical.backend.service;
 
+import com.clinical.backend.dto.invoice.InvoiceLineItemRequest;
 import com.clinical.backend.dto.invoice.InvoiceRequest;
 import com.clinical.backend.dto.invoice.InvoiceResponse;
 import com.clinical.backend.entity.Appointment;
 import com.clinical.backend.entity.Invoice;
+import com.clinical.backend.entity.InvoiceLineItem;
 import com.clinical.backend.enums.InvoiceStatus;
+import com.clinical.backend.event.InvoiceCreatedEvent;
+import com.clinical.backend.exception.BusinessException;
 import com.clinical.backend.exception.ResourceNotFoundException;
 import com.clinical.backend.mapper.InvoiceMapper;
 import com.clinical.backend.repository.AppointmentRepository;
+import com.clinical.backend.repository.InvoiceLineItemRepository;
 import com.clinical.backend.repository.InvoiceRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class InvoiceService {
     
+    // Line used for invoices created with a plain amount instead of line items, and by the billing run
+    static final String DEFAULT_SERVICE_CODE = "CONSULTATION";
+    static final String DEFAULT_DESCRIPTION = "Medical Consultation";
+    
     private final InvoiceRepository invoiceRepository;
+    private final InvoiceLineItemRepository invoiceLineItemRepository;
     private final AppointmentRepository appointmentRepository;
     private final InvoiceMapper invoiceMapper;
     private final PdfService pdfService;
+    private final PdfStorageService pdfStorageService;
     private final AuditService auditService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
     
     @Transactional
     public InvoiceResponse createInvoice(InvoiceRequest request) {
         Appointment appointment = appointmentRepository.findById(request.getAppointmentId())
                 .orElseThrow(() -> new ResourceNotFoundException("Appointment not found"));
         
-        int totalCents = request.getAmountCents() + (request.getTaxCents() != null ? request.getTaxCents() : 0);
+        List<InvoiceLineItem> lineItems = toLineItems(request);
+        int amountCents = lineItems.stream().mapToInt(item -> item.getQuantity() * item.getUnitPriceCents()).sum();
+        int taxCents = lineItems.stream().mapToInt(InvoiceLineItem::getTaxCents).sum();
         
         Invoice invoice = Invoice.builder()
                 .appointment(appointment)
                 .patient(appointment.getPatient())
-                .amountCents(request.getAmountCents())
-                .taxCents(request.getTaxCents() != null ? request.getTaxCents() : 0)
-                .totalCents(totalCents)
+                .amountCents(amountCents)
+                .taxCents(taxCents)
+                .totalCents(amountCents + taxCents)
                 .status(InvoiceStatus.PENDING)
                 .dueDate(request.getDueDate())
-                .lineItems(request.getLineItems())
                 .build();
         
         Invoice savedInvoice = invoiceRepository.save(invoice);
+        invoiceLineItemRepository.insertAll(savedInvoice.getId(), lineItems);
         
         auditService.logCreate("Invoice", savedInvoice.getId());
         
-        return invoiceMapper.toResponse(savedInvoice);
+        // Rendered in the background once this transaction commits
+        eventPublisher.publishEvent(new InvoiceCreatedEvent(savedInvoice.getId()));
+        
+        InvoiceResponse response = invoiceMapper.toResponse(savedInvoice);
+        response.setLineItems(lineItems.stream().map(invoiceMapper::toLineItemResponse).toList());
+        return response;
     }
     
     @Transactional(readOnly = true)
@@ -63,16 +91,12 @@ public class InvoiceService {
     
     @Transactional(readOnly = true)
     public List<InvoiceResponse> getPatientInvoices(Long patientId) {
-        return invoiceRepository.findByPatientId(patientId).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+        return toResponses(invoiceRepository.findByPatientId(patientId));
     }
     
     @Transactional(readOnly = true)
-    public List<InvoiceResponse> getUnpaidInvoices() {
-        return invoiceRepository.findByStatus(InvoiceStatus.PENDING).stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public List<InvoiceResponse> getRecentPatientInvoices(Long patientId, int limit) {
+        return toResponses(invoiceRepository.findRecentByPatientId(patientId, PageRequest.of(0, limit)));
     }
     
     @Transactional
@@ -84,19 +108,131 @@ public class InvoiceService {
         invoice.setPaymentMethod(paymentMethod);
         invoice.setPaidAt(LocalDateTime.now());
         
+        // The rendered PDF shows the status, so drop it and let the next download re-render
+        pdfStorageService.delete(invoice.getPdfPath());
+        invoice.setPdfPath(null);
+        
         Invoice savedInvoice = invoiceRepository.save(invoice);
         
         return toResponse(savedInvoice);
     }
     
-    public byte[] generateInvoicePdf(Long id) {
-        // TODO: Implement PDF generation using PDFBox
-        throw new RuntimeException("PDF generation not implemented yet");
+    /**
+     * Return the invoice PDF as a file-backed resource, rendering it to disk first if the
+     * background pre-render has not finished yet.
+     * Serving from disk keeps heap usage per download constant and lets range requests work.
+     */
+    public Resource getInvoicePdf(Long id) throws IOException {
+        return pdfStorageService.load(ensureInvoicePdf(id));
+    }
+    
+    /**
+     * Render the invoice PDF to storage unless it is already there, and return its stored path.
+     * No transaction is open while rendering: the invoice and its lines are read in one short
+     * read-only transaction, and the stored path is written back in another.
+     */
+    public String ensureInvoicePdf(Long id) throws IOException {
+        TransactionTemplate readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+        PdfSource source = readTransaction.execute(status -> {
+            Invoice invoice = invoiceRepository.findWithPatientById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Invoice not found"));
+            if (pdfStorageService.exists(invoice.getPdfPath())) {
+                return new PdfSource(invoice, null);
+            }
+            return new PdfSource(invoice, invoiceLineItemRepository.findByInvoiceIds(List.of(id)));
+        });
+        
+        Invoice invoice = source.invoice();
+        if (source.lineItems() == null) {
+            return invoice.getPdfPath();
+        }
+        
+        String pdfPath = pdfStorageService.store(
+                "invoices/invoice_" + id + ".pdf",
+                outputStream -> pdfService.writeInvoicePdf(invoice, source.lineItems(), outputStream));
+        
+        // Not recorded if the invoice was paid or numbered meanwhile; the next download re-renders
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                invoiceRepository.updatePdfPath(id, pdfPath, invoice.getStatus(), invoice.getInvoiceNumber()));
+        return pdfPath;
+    }
+    
+    // Line items are null when the stored PDF is still current
+    private record PdfSource(Invoice invoice, List<InvoiceLineItem> lineItems) {
+    }
+    
+    /**
+     * The invoice's lines from the request, or a single consultation line carrying the plain
+     * amount and tax when the request has none. Explicit amounts must agree with the lines.
+     */
+    private List<InvoiceLineItem> toLineItems(InvoiceRequest request) {
+        int requestTaxCents = request.getTaxCents() != null ? request.getTaxCents() : 0;
+        
+        if (request.getLineItems() == null || request.getLineItems().isEmpty()) {
+            if (request.getAmountCents() == null) {
+                throw new BusinessException("Either an amount or line items are required");
+            }
+            return List.of(lineItem(1, DEFAULT_SERVICE_CODE, DEFAULT_DESCRIPTION, 1,
+                    request.getAmountCents(), requestTaxCents));
+        }
+        
+        List<InvoiceLineItem> lineItems = new ArrayList<>(request.getLineItems().size());
+        for (InvoiceLineItemRequest item : request.getLineItems()) {
+            lineItems.add(lineItem(lineItems.size() + 1,
+                    item.getServiceCode().trim().toUpperCase(Locale.ROOT),
+                    item.getDescription().trim(),
+                    item.getQuantity() != null ? item.getQuantity() : 1,
+                    item.getUnitPriceCents(),
+                    item.getTaxCents() != null ? item.getTaxCents() : 0));
+        }
+        
+        int amountCents = lineItems.stream().mapToInt(item -> item.getQuantity() * item.getUnitPriceCents()).sum();
+        int taxCents = lineItems.stream().mapToInt(InvoiceLineItem::getTaxCents).sum();
+        if (request.getAmountCents() != null && request.getAmountCents() != amountCents) {
+            throw new BusinessException("Amount does not match the sum of the line items");
+        }
+        if (requestTaxCents != 0 && requestTaxCents != taxCents) {
+            throw new BusinessException("Tax does not match the sum of the line items");
+        }
+        return lineItems;
+    }
+    
+    private InvoiceLineItem lineItem(int position, String serviceCode, String description,
+                                     int quantity, int unitPriceCents, int taxCents) {
+        return InvoiceLineItem.builder()
+                .position(position)
+                .serviceCode(serviceCode)
+                .description(description)
+                .quantity(quantity)
+                .unitPriceCents(unitPriceCents)
+                .taxCents(taxCents)
+                // Mirrors the generated column so the create response needs no re-read
+                .lineTotalCents(quantity * unitPriceCents + taxCents)
+                .build();
+    }
+    
+    // One line item query for the whole list rather than one per invoice
+    private List<InvoiceResponse> toResponses(List<Invoice> invoices) {
+        if (invoices.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<InvoiceLineItem>> lineItemsByInvoice = invoiceLineItemRepository
+                .findByInvoiceIds(invoices.stream().map(Invoice::getId).toList()).stream()
+                .collect(Collectors.groupingBy(item -> item.getInvoice().getId()));
+        return invoices.stream()
+                .map(invoice -> toResponse(invoice, lineItemsByInvoice.getOrDefault(invoice.getId(), List.of())))
+                .collect(Collectors.toList());
     }
     
     private InvoiceResponse toResponse(Invoice invoice) {
+        return toResponse(invoice, invoiceLineItemRepository.findByInvoiceIds(List.of(invoice.getId())));
+    }
+    
+    private InvoiceResponse toResponse(Invoice invoice, List<InvoiceLineItem> lineItems) {
         return InvoiceResponse.builder()
                 .id(invoice.getId())
+                .invoiceNumber(invoice.getInvoiceNumber())
                 .appointmentId(invoice.getAppointment().getId())
                 .patientId(invoice.getPatient().getId())
                 .patientName(invoice.getPatient().getFirstName() + " " + invoice.getPatient().getLastName())
@@ -108,7 +244,7 @@ public class InvoiceService {
                 .paidAt(invoice.getPaidAt())
                 .dueDate(invoice.getDueDate())
                 .pdfPath(invoice.getPdfPath())
-                .lineItems(invoice.getLineItems())
+                .lineItems(lineItems.stream().map(invoiceMapper::toLineItemResponse).toList())
                 .createdAt(invoice.getCreatedAt())
                 .build();
     }
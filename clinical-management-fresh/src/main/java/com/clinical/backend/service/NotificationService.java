@@ -3,16 +3,25 @@ package com.clinical.backend.service;
 import com.clinical.backend.entity.Appointment;
 import com.clinical.backend.entity.Notification;
 import com.clinical.backend.entity.User;
+import com.clinical.backend.event.InvoicesOverdueEvent.OverdueInvoice;
 import com.clinical.backend.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
     
+    private static final String INSERT_NOTIFICATION_SQL = "INSERT INTO notifications (user_id, type, title, message, link) " +
+            "VALUES (:userId, :type, :title, :message, :link)";
+    
     private final NotificationRepository notificationRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
     
     @Transactional
     public void notifyAppointmentCreated(Appointment appointment) {
@@ -59,6 +68,29 @@ public class NotificationService {
         );
     }
     
+    /**
+     * Tell patients with an account that their invoice is overdue, in one batched insert.
+     * Returns the number of notifications created.
+     */
+    @Transactional
+    public int notifyInvoicesOverdue(List<OverdueInvoice> invoices) {
+        MapSqlParameterSource[] rows = invoices.stream()
+                .filter(invoice -> invoice.patientUserId() != null)
+                .map(invoice -> new MapSqlParameterSource()
+                        .addValue("userId", invoice.patientUserId())
+                        .addValue("type", "INVOICE_OVERDUE")
+                        .addValue("title", "Invoice Overdue")
+                        .addValue("message", String.format("Invoice %s for $%.2f was due on %s and is now overdue",
+                                invoice.reference(), invoice.totalCents() / 100.0, invoice.dueDate()))
+                        .addValue("link", "/invoices/" + invoice.invoiceId()))
+                .toArray(MapSqlParameterSource[]::new);
+        
+        if (rows.length > 0) {
+            jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, rows);
+        }
+        return rows.length;
+    }
+    
     private void createNotification(User user, String type, String title, String message, String link) {
         Notification notification = Notification.builder()
                 .user(user)
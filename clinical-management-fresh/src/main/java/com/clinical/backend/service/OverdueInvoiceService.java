@@ -0,0 +1,95 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.event.InvoicesOverdueEvent;
+import com.clinical.backend.event.InvoicesOverdueEvent.OverdueInvoice;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Moves PENDING invoices past their due date to OVERDUE.
+ *
+ * The work is done in chunks of one UPDATE each, which picks the next rows through
+ * idx_invoices_due_date and returns what the dunning notices need, so no invoice entity is
+ * loaded. The status is printed on the invoice PDF, so the cached copy is dropped in the same
+ * UPDATE. Each chunk commits on its own and publishes {@link InvoicesOverdueEvent}; the notices
+ * go out after that commit. SKIP LOCKED lets replicas sweep at the same time without
+ * flipping, or notifying about, the same invoice twice.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OverdueInvoiceService {
+
+    private static final String MARK_OVERDUE_SQL =
+            "WITH batch AS (" +
+            "SELECT id FROM invoices WHERE status = 'PENDING' AND due_date < :today " +
+            "ORDER BY due_date LIMIT :limit FOR UPDATE SKIP LOCKED) " +
+            "UPDATE invoices i SET status = 'OVERDUE', pdf_path = NULL " +
+            "FROM batch b, patients p " +
+            "WHERE i.id = b.id AND p.id = i.patient_id " +
+            "RETURNING i.id, i.invoice_number, i.total_cents, i.due_date, p.user_id, p.email, p.first_name, p.last_name";
+
+    private static final RowMapper<OverdueInvoice> OVERDUE_ROW_MAPPER = (rs, rowNum) -> new OverdueInvoice(
+            rs.getLong("id"),
+            rs.getString("invoice_number"),
+            rs.getInt("total_cents"),
+            rs.getObject("due_date", LocalDate.class),
+            rs.getObject("user_id", Long.class),
+            rs.getString("email"),
+            rs.getString("first_name") + " " + rs.getString("last_name"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.invoices.overdue-chunk-size:500}")
+    private int chunkSize = 500;
+
+    /**
+     * Flip every invoice due before {@code today} that is still PENDING. Returns how many moved.
+     */
+    public long markOverdueInvoices(LocalDate today) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long marked = 0;
+
+        while (true) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("today", today)
+                    .addValue("limit", chunkSize);
+            List<OverdueInvoice> chunk = transactionTemplate.execute(status -> {
+                List<OverdueInvoice> invoices = jdbcTemplate.query(MARK_OVERDUE_SQL, params, OVERDUE_ROW_MAPPER);
+                if (!invoices.isEmpty()) {
+                    eventPublisher.publishEvent(new InvoicesOverdueEvent(invoices));
+                }
+                return invoices;
+            });
+
+            marked += chunk.size();
+            meterRegistry.counter("invoices.overdue.marked").increment(chunk.size());
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+
+        sample.stop(meterRegistry.timer("invoices.overdue.sweep"));
+        if (marked > 0) {
+            log.info("Marked {} invoices as OVERDUE", marked);
+        }
+        return marked;
+    }
+}
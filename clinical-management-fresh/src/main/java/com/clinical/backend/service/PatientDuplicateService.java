@@ -0,0 +1,308 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.patient.DuplicateCandidateResponse;
+import com.clinical.backend.dto.patient.PatientRequest;
+import com.clinical.backend.entity.Patient;
+import com.clinical.backend.exception.ResourceNotFoundException;
+import com.clinical.backend.util.StringSimilarity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.language.DoubleMetaphone;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Finds patient records that probably describe the same person.
+ *
+ * Every patient has a few blocking keys stored in {@code patient_blocking_keys}: a phonetic
+ * last name combined with the date of birth, the normalised email and the normalised phone
+ * number. A lookup only scores the patients sharing at least one key with the record being
+ * checked, so the cost depends on the block size and not on the size of the registry.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientDuplicateService {
+
+    /** Candidates scoring at least this are reported. */
+    public static final double CANDIDATE_THRESHOLD = 0.70;
+
+    /** Candidates scoring at least this block patient creation unless explicitly allowed. */
+    public static final double STRONG_MATCH_THRESHOLD = 0.85;
+
+    private static final double NAME_WEIGHT = 0.60;
+    private static final double DATE_OF_BIRTH_WEIGHT = 0.30;
+    private static final double PARTIAL_DATE_OF_BIRTH_WEIGHT = 0.15;
+    private static final double EMAIL_WEIGHT = 0.05;
+    private static final double PHONE_WEIGHT = 0.05;
+
+    private static final int MAX_BLOCK_SIZE = 500;
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+    private static final int PHONE_KEY_DIGITS = 9;
+    private static final int MIN_PHONE_DIGITS = 7;
+
+    private static final DoubleMetaphone DOUBLE_METAPHONE = new DoubleMetaphone();
+
+    private static final String IDENTITY_COLUMNS = "p.id, p.first_name, p.last_name, p.date_of_birth, p.email, p.phone";
+
+    private static final String INSERT_KEY_SQL = "INSERT INTO patient_blocking_keys (key_type, key_value, patient_id) " +
+            "VALUES (:keyType, :keyValue, :patientId) ON CONFLICT DO NOTHING";
+
+    private static final String DELETE_KEYS_SQL = "DELETE FROM patient_blocking_keys WHERE patient_id = :patientId";
+
+    private static final String MISSING_KEYS_SQL = "SELECT " + IDENTITY_COLUMNS + " FROM patients p " +
+            "WHERE p.id > :lastId AND NOT EXISTS " +
+            "(SELECT 1 FROM patient_blocking_keys k WHERE k.patient_id = p.id) " +
+            "ORDER BY p.id LIMIT :limit";
+
+    private static final RowMapper<Identity> IDENTITY_ROW_MAPPER = (rs, rowNum) -> new Identity(
+            rs.getLong("id"),
+            rs.getString("first_name"),
+            rs.getString("last_name"),
+            rs.getObject("date_of_birth", LocalDate.class),
+            rs.getString("email"),
+            rs.getString("phone"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    public List<DuplicateCandidateResponse> findCandidates(PatientRequest request) {
+        return scoreBlock(new Identity(null, request.getFirstName(), request.getLastName(),
+                request.getDateOfBirth(), request.getEmail(), request.getPhone()));
+    }
+
+    public List<DuplicateCandidateResponse> findCandidatesForPatient(Long patientId) {
+        List<Identity> patients = jdbcTemplate.query(
+                "SELECT " + IDENTITY_COLUMNS + " FROM patients p WHERE p.id = :id",
+                new MapSqlParameterSource("id", patientId), IDENTITY_ROW_MAPPER);
+        if (patients.isEmpty()) {
+            throw new ResourceNotFoundException("Patient not found with id: " + patientId);
+        }
+        return scoreBlock(patients.get(0));
+    }
+
+    /**
+     * Replace the blocking keys of a patient after it was created or updated. Runs in the
+     * caller's transaction.
+     */
+    public void indexPatient(Patient patient) {
+        Identity identity = new Identity(patient.getId(), patient.getFirstName(), patient.getLastName(),
+                patient.getDateOfBirth(), patient.getEmail(), patient.getPhone());
+
+        jdbcTemplate.update(DELETE_KEYS_SQL, new MapSqlParameterSource("patientId", patient.getId()));
+        insertKeys(List.of(identity));
+    }
+
+    /**
+     * Compute keys for every patient that has none, e.g. rows from before this table existed or
+     * written by the bulk import. Works through the registry in id order, one batch per transaction.
+     */
+    public long indexMissingPatients() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long lastId = 0;
+        long indexed = 0;
+
+        while (true) {
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("lastId", lastId)
+                    .addValue("limit", BACKFILL_BATCH_SIZE);
+            List<Identity> batch = jdbcTemplate.query(MISSING_KEYS_SQL, params, IDENTITY_ROW_MAPPER);
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            transactionTemplate.executeWithoutResult(status -> insertKeys(batch));
+            lastId = batch.get(batch.size() - 1).id();
+            indexed += batch.size();
+        }
+
+        if (indexed > 0) {
+            log.info("Computed duplicate detection keys for {} patients", indexed);
+        }
+        return indexed;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        Thread.ofPlatform().name("patient-key-backfill").daemon().start(() -> {
+            try {
+                indexMissingPatients();
+            } catch (Exception e) {
+                log.error("Failed to backfill duplicate detection keys", e);
+            }
+        });
+    }
+
+    private List<DuplicateCandidateResponse> scoreBlock(Identity subject) {
+        List<BlockingKey> keys = blockingKeys(subject);
+        if (keys.isEmpty()) {
+            return List.of();
+        }
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(IDENTITY_COLUMNS)
+                .append(" FROM patients p WHERE p.id IN (SELECT k.patient_id FROM patient_blocking_keys k WHERE ");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        for (int i = 0; i < keys.size(); i++) {
+            if (i > 0) {
+                sql.append(" OR ");
+            }
+            sql.append("(k.key_type = :type").append(i).append(" AND k.key_value = :value").append(i).append(')');
+            params.addValue("type" + i, keys.get(i).type());
+            params.addValue("value" + i, keys.get(i).value());
+        }
+        sql.append(")");
+        if (subject.id() != null) {
+            sql.append(" AND p.id <> :excludeId");
+            params.addValue("excludeId", subject.id());
+        }
+        sql.append(" LIMIT ").append(MAX_BLOCK_SIZE);
+
+        List<Identity> block = jdbcTemplate.query(sql.toString(), params, IDENTITY_ROW_MAPPER);
+
+        return block.stream()
+                .map(candidate -> score(subject, candidate))
+                .filter(candidate -> candidate.getScore() >= CANDIDATE_THRESHOLD)
+                .sorted(Comparator.comparingDouble(DuplicateCandidateResponse::getScore).reversed())
+                .toList();
+    }
+
+    private DuplicateCandidateResponse score(Identity subject, Identity candidate) {
+        List<String> matchedOn = new ArrayList<>();
+
+        double nameSimilarity = StringSimilarity.jaroWinkler(normalizeName(subject), normalizeName(candidate));
+        double score = NAME_WEIGHT * nameSimilarity;
+        if (nameSimilarity >= 0.9) {
+            matchedOn.add("NAME");
+        }
+
+        if (Objects.equals(subject.dateOfBirth(), candidate.dateOfBirth())) {
+            score += DATE_OF_BIRTH_WEIGHT;
+            matchedOn.add("DATE_OF_BIRTH");
+        } else if (differsInOneComponent(subject.dateOfBirth(), candidate.dateOfBirth())) {
+            // Typo in the day, month or year
+            score += PARTIAL_DATE_OF_BIRTH_WEIGHT;
+        }
+
+        String email = normalizeEmail(subject.email());
+        if (email != null && email.equals(normalizeEmail(candidate.email()))) {
+            score += EMAIL_WEIGHT;
+            matchedOn.add("EMAIL");
+        }
+
+        String phone = normalizePhone(subject.phone());
+        if (phone != null && phone.equals(normalizePhone(candidate.phone()))) {
+            score += PHONE_WEIGHT;
+            matchedOn.add("PHONE");
+        }
+
+        return DuplicateCandidateResponse.builder()
+                .patientId(candidate.id())
+                .fullName(candidate.firstName() + " " + candidate.lastName())
+                .dateOfBirth(candidate.dateOfBirth())
+                .email(candidate.email())
+                .phone(candidate.phone())
+                .score(Math.round(score * 1000) / 1000.0)
+                .matchedOn(matchedOn)
+                .build();
+    }
+
+    private void insertKeys(List<Identity> patients) {
+        List<MapSqlParameterSource> rows = new ArrayList<>();
+        for (Identity patient : patients) {
+            for (BlockingKey key : blockingKeys(patient)) {
+                rows.add(new MapSqlParameterSource()
+                        .addValue("keyType", key.type())
+                        .addValue("keyValue", key.value())
+                        .addValue("patientId", patient.id()));
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_KEY_SQL, rows.toArray(new MapSqlParameterSource[0]));
+        }
+    }
+
+    static List<BlockingKey> blockingKeys(Identity patient) {
+        List<BlockingKey> keys = new ArrayList<>(3);
+
+        if (patient.lastName() != null && patient.dateOfBirth() != null) {
+            keys.add(new BlockingKey("NAME_DOB", phonetic(patient.lastName()) + "|" + patient.dateOfBirth()));
+        }
+
+        String email = normalizeEmail(patient.email());
+        if (email != null) {
+            keys.add(new BlockingKey("EMAIL", email));
+        }
+
+        String phone = normalizePhone(patient.phone());
+        if (phone != null) {
+            keys.add(new BlockingKey("PHONE", phone));
+        }
+        return keys;
+    }
+
+    private static String phonetic(String lastName) {
+        String code = DOUBLE_METAPHONE.doubleMetaphone(lastName.trim());
+        // Names without any Latin letters have no phonetic code; fall back to the name itself
+        return code == null || code.isEmpty() ? lastName.trim().toLowerCase(Locale.ROOT) : code;
+    }
+
+    private static String normalizeName(Identity patient) {
+        return (Objects.toString(patient.firstName(), "") + " " + Objects.toString(patient.lastName(), ""))
+                .trim()
+                .toLowerCase(Locale.ROOT);
+    }
+
+    static String normalizeEmail(String email) {
+        if (email == null || email.isBlank()) {
+            return null;
+        }
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        int at = normalized.indexOf('@');
+        int plus = normalized.indexOf('+');
+        if (plus > 0 && plus < at) {
+            normalized = normalized.substring(0, plus) + normalized.substring(at);
+        }
+        return normalized;
+    }
+
+    static String normalizePhone(String phone) {
+        if (phone == null) {
+            return null;
+        }
+        String digits = phone.replaceAll("\\D", "");
+        if (digits.length() < MIN_PHONE_DIGITS) {
+            return null;
+        }
+        // Compare on the subscriber part so "+33 6 12 34 56 78" and "06 12 34 56 78" match
+        return digits.length() > PHONE_KEY_DIGITS ? digits.substring(digits.length() - PHONE_KEY_DIGITS) : digits;
+    }
+
+    private static boolean differsInOneComponent(LocalDate a, LocalDate b) {
+        if (a == null || b == null) {
+            return false;
+        }
+        int differences = (a.getYear() != b.getYear() ? 1 : 0)
+                + (a.getMonthValue() != b.getMonthValue() ? 1 : 0)
+                + (a.getDayOfMonth() != b.getDayOfMonth() ? 1 : 0);
+        return differences == 1;
+    }
+
+    record Identity(Long id, String firstName, String lastName, LocalDate dateOfBirth, String email, String phone) {
+    }
+
+    record BlockingKey(String type, String value) {
+    }
+}
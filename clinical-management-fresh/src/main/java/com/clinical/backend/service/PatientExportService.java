@@ -0,0 +1,195 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.enums.ExportFormat;
+import com.clinical.backend.util.CsvWriter;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Full patient registry export for the reporting warehouse.
+ *
+ * Rows are read through a forward-only server-side cursor with a fixed fetch size and written
+ * straight to the output stream, so memory use does not depend on the number of patients.
+ * The cursor runs in a single read-only transaction that ends as soon as the last row is written.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientExportService {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final List<Column> COLUMNS = List.of(
+            new Column("id", "id", Long.class),
+            new Column("firstName", "first_name", String.class),
+            new Column("lastName", "last_name", String.class),
+            new Column("dateOfBirth", "date_of_birth", LocalDate.class),
+            new Column("gender", "gender", String.class),
+            new Column("phone", "phone", String.class),
+            new Column("email", "email", String.class),
+            new Column("address", "address", String.class),
+            new Column("medicalHistory", "medical_history", String.class),
+            new Column("allergies", "allergies", String.class),
+            new Column("bloodType", "blood_type", String.class),
+            new Column("emergencyContactName", "emergency_contact_name", String.class),
+            new Column("emergencyContactPhone", "emergency_contact_phone", String.class),
+            new Column("createdAt", "created_at", LocalDateTime.class),
+            new Column("updatedAt", "updated_at", LocalDateTime.class)
+    );
+
+    private static final String SELECT_SQL = "SELECT " +
+            String.join(", ", COLUMNS.stream().map(Column::sqlName).toList()) +
+            " FROM patients ORDER BY id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write every patient to the given stream. The stream is not closed.
+     */
+    public void export(ExportFormat format, boolean gzip, OutputStream outputStream) throws IOException {
+        GZIPOutputStream gzipStream = gzip ? new GZIPOutputStream(outputStream, BUFFER_SIZE) : null;
+        OutputStream target = gzip ? gzipStream : outputStream;
+        RowSink sink = format == ExportFormat.CSV ? new CsvSink(target) : new NdjsonSink(target, objectMapper);
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        AtomicLong exported = new AtomicLong();
+        long startedAt = System.currentTimeMillis();
+
+        sink.start();
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.query(this::openCursor, (ResultSet rs) -> {
+                    try {
+                        sink.write(readRow(rs));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    exported.incrementAndGet();
+                }));
+        sink.finish();
+
+        if (gzipStream != null) {
+            gzipStream.finish();
+        }
+        outputStream.flush();
+
+        log.info("Exported {} patients as {} in {} ms", exported.get(), format, System.currentTimeMillis() - startedAt);
+    }
+
+    private PreparedStatement openCursor(Connection connection) throws SQLException {
+        // PostgreSQL only streams with a fetch size inside a transaction (auto-commit off)
+        PreparedStatement statement = connection.prepareStatement(
+                SELECT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(FETCH_SIZE);
+        return statement;
+    }
+
+    private Object[] readRow(ResultSet rs) throws SQLException {
+        Object[] values = new Object[COLUMNS.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = rs.getObject(i + 1, COLUMNS.get(i).type());
+        }
+        return values;
+    }
+
+    private record Column(String name, String sqlName, Class<?> type) {
+    }
+
+    private interface RowSink {
+        void start() throws IOException;
+
+        void write(Object[] values) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    private static class CsvSink implements RowSink {
+
+        private final CsvWriter csv;
+
+        CsvSink(OutputStream outputStream) {
+            this.csv = new CsvWriter(new BufferedWriter(
+                    new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE));
+        }
+
+        @Override
+        public void start() throws IOException {
+            csv.writeRecord(COLUMNS.stream().map(Column::name).toArray());
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            csv.writeRecord(values);
+        }
+
+        @Override
+        public void finish() throws IOException {
+            csv.flush();
+        }
+    }
+
+    private static class NdjsonSink implements RowSink {
+
+        private final JsonGenerator json;
+
+        NdjsonSink(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(outputStream);
+            // One object per line, separated by the newline written after each row
+            this.json.setRootValueSeparator(null);
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void start() {
+        }
+
+        @Override
+        public void write(Object[] values) throws IOException {
+            json.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                String name = COLUMNS.get(i).name();
+                Object value = values[i];
+                if (value == null) {
+                    json.writeNullField(name);
+                } else if (value instanceof Long number) {
+                    json.writeNumberField(name, number);
+                } else {
+                    json.writeStringField(name, value.toString());
+                }
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            json.flush();
+        }
+    }
+}
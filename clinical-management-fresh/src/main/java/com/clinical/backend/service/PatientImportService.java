@@ -0,0 +1,320 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.patient.PatientImportResponse;
+import com.clinical.backend.dto.patient.PatientRequest;
+import com.clinical.backend.entity.Patient;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.util.CsvReader;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk patient import from CSV. The upload is parsed and validated row by row and written in
+ * JDBC batches, each in its own short transaction, so memory stays flat regardless of file size.
+ * Invalid and duplicate rows are reported by line number and skipped; the rest of the file is
+ * still imported.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PatientImportService {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_SQL = "INSERT INTO patients (first_name, last_name, date_of_birth, gender, " +
+            "phone, email, address, medical_history, allergies, blood_type, emergency_contact_name, " +
+            "emergency_contact_phone) VALUES (:firstName, :lastName, :dateOfBirth, :gender, :phone, :email, " +
+            ":address, :medicalHistory, :allergies, :bloodType, :emergencyContactName, :emergencyContactPhone)";
+
+    private static final String EXISTING_EMAILS_SQL =
+            "SELECT LOWER(email) FROM patients WHERE LOWER(email) IN (:emails)";
+
+    // Header names are matched case-insensitively, ignoring spaces, dashes and underscores
+    private static final Map<String, BiConsumer<PatientRequest, String>> COLUMNS = Map.ofEntries(
+            Map.entry("firstname", PatientRequest::setFirstName),
+            Map.entry("lastname", PatientRequest::setLastName),
+            Map.entry("dateofbirth", (request, value) -> request.setDateOfBirth(LocalDate.parse(value))),
+            Map.entry("gender", PatientRequest::setGender),
+            Map.entry("phone", PatientRequest::setPhone),
+            Map.entry("email", PatientRequest::setEmail),
+            Map.entry("address", PatientRequest::setAddress),
+            Map.entry("medicalhistory", PatientRequest::setMedicalHistory),
+            Map.entry("allergies", PatientRequest::setAllergies),
+            Map.entry("bloodtype", PatientRequest::setBloodType),
+            Map.entry("emergencycontactname", PatientRequest::setEmergencyContactName),
+            Map.entry("emergencycontactphone", PatientRequest::setEmergencyContactPhone)
+    );
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("firstname", "lastname", "dateofbirth");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final Validator validator;
+    private final SearchService searchService;
+    private final PatientDuplicateService patientDuplicateService;
+
+    public PatientImportResponse importCsv(InputStream inputStream) throws IOException {
+        ImportResult result = new ImportResult();
+
+        try (CsvReader csv = new CsvReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            List<String> header = csv.readRecord();
+            if (header == null) {
+                throw new BusinessException("CSV file is empty");
+            }
+            Map<Integer, BiConsumer<PatientRequest, String>> columns = mapColumns(header);
+
+            Set<String> seenEmails = new HashSet<>();
+            List<ImportRow> batch = new ArrayList<>(BATCH_SIZE);
+            List<String> record;
+
+            while ((record = csv.readRecord()) != null) {
+                long line = csv.getRecordLine();
+                if (record.stream().allMatch(String::isBlank)) {
+                    continue;
+                }
+                result.totalRows++;
+
+                PatientRequest request;
+                try {
+                    request = toRequest(record, columns);
+                } catch (DateTimeParseException e) {
+                    result.fail(line, "Invalid date of birth '" + e.getParsedString() + "', expected yyyy-MM-dd");
+                    continue;
+                }
+
+                Set<ConstraintViolation<PatientRequest>> violations = validator.validate(request);
+                if (!violations.isEmpty()) {
+                    result.fail(line, violations.stream()
+                            .map(ConstraintViolation::getMessage)
+                            .sorted()
+                            .collect(Collectors.joining("; ")));
+                    continue;
+                }
+
+                String email = normalizeEmail(request.getEmail());
+                if (email != null && !seenEmails.add(email)) {
+                    result.duplicate(line, "Email " + email + " appears earlier in the file");
+                    continue;
+                }
+
+                batch.add(new ImportRow(line, request, email));
+                if (batch.size() == BATCH_SIZE) {
+                    flush(batch, result);
+                    batch.clear();
+                }
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch, result);
+            }
+        }
+
+        log.info("Patient import finished: {} rows, {} imported, {} duplicates, {} failed",
+                result.totalRows, result.imported, result.duplicates, result.failed);
+
+        if (result.imported > 0) {
+            patientDuplicateService.indexMissingPatients();
+        }
+
+        return result.toResponse();
+    }
+
+    private Map<Integer, BiConsumer<PatientRequest, String>> mapColumns(List<String> header) {
+        Map<Integer, BiConsumer<PatientRequest, String>> columns = new HashMap<>();
+        Set<String> present = new HashSet<>();
+
+        for (int i = 0; i < header.size(); i++) {
+            String name = normalizeHeader(header.get(i));
+            BiConsumer<PatientRequest, String> setter = COLUMNS.get(name);
+            if (setter != null) {
+                columns.put(i, setter);
+                present.add(name);
+            }
+        }
+
+        List<String> missing = REQUIRED_COLUMNS.stream().filter(name -> !present.contains(name)).toList();
+        if (!missing.isEmpty()) {
+            throw new BusinessException("CSV header is missing required columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private PatientRequest toRequest(List<String> record, Map<Integer, BiConsumer<PatientRequest, String>> columns) {
+        PatientRequest request = new PatientRequest();
+        columns.forEach((index, setter) -> {
+            if (index < record.size()) {
+                String value = record.get(index).trim();
+                if (!value.isEmpty()) {
+                    setter.accept(request, value);
+                }
+            }
+        });
+        return request;
+    }
+
+    private void flush(List<ImportRow> batch, ImportResult result) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Set<String> existing = new HashSet<>();
+
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> {
+                existing.addAll(findExistingEmails(batch));
+                List<SqlParameterSource> rows = batch.stream()
+                        .filter(row -> !isExisting(row, existing))
+                        .map(row -> toInsertArgs(row.request()))
+                        .toList();
+                return rows.isEmpty() ? List.<Long>of() : insert(rows);
+            });
+            reportDuplicates(batch, existing, result, null);
+            result.imported += ids.size();
+            index(batch, ids);
+        } catch (DataAccessException e) {
+            String message = "Batch rejected by the database: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Patient import batch starting on line {} failed", batch.get(0).line(), e);
+            // Rows already known to be duplicates stay duplicates, the rest of the batch failed
+            reportDuplicates(batch, existing, result, message);
+        }
+    }
+
+    private void reportDuplicates(List<ImportRow> batch, Set<String> existing, ImportResult result, String failure) {
+        for (ImportRow row : batch) {
+            if (isExisting(row, existing)) {
+                result.duplicate(row.line(), "A patient with email " + row.email() + " already exists");
+            } else if (failure != null) {
+                result.fail(row.line(), failure);
+            }
+        }
+    }
+
+    /**
+     * Rows written through JDBC bypass the entity listeners that feed the search index, so the
+     * batch just committed is indexed by id rather than rebuilding the whole patient index.
+     */
+    private void index(List<ImportRow> batch, List<Long> ids) {
+        try {
+            searchService.index(Patient.class, ids);
+        } catch (RuntimeException e) {
+            log.warn("Patients imported from line {} will be searchable after the next reindex",
+                    batch.get(0).line(), e);
+        }
+    }
+
+    private List<Long> insert(List<SqlParameterSource> rows) {
+        GeneratedKeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows.toArray(SqlParameterSource[]::new), keys, new String[] {"id"});
+        return keys.getKeyList().stream()
+                .map(key -> ((Number) key.get("id")).longValue())
+                .toList();
+    }
+
+    private static boolean isExisting(ImportRow row, Set<String> existing) {
+        return row.email() != null && existing.contains(row.email());
+    }
+
+    private Set<String> findExistingEmails(List<ImportRow> batch) {
+        List<String> emails = batch.stream()
+                .map(ImportRow::email)
+                .filter(email -> email != null)
+                .toList();
+        if (emails.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(jdbcTemplate.queryForList(EXISTING_EMAILS_SQL, Map.of("emails", emails), String.class));
+    }
+
+    private SqlParameterSource toInsertArgs(PatientRequest request) {
+        return new MapSqlParameterSource()
+                .addValue("firstName", request.getFirstName())
+                .addValue("lastName", request.getLastName())
+                .addValue("dateOfBirth", request.getDateOfBirth())
+                .addValue("gender", request.getGender())
+                .addValue("phone", request.getPhone())
+                .addValue("email", request.getEmail())
+                .addValue("address", request.getAddress())
+                .addValue("medicalHistory", request.getMedicalHistory())
+                .addValue("allergies", request.getAllergies())
+                .addValue("bloodType", request.getBloodType())
+                .addValue("emergencyContactName", request.getEmergencyContactName())
+                .addValue("emergencyContactPhone", request.getEmergencyContactPhone());
+    }
+
+    private static String normalizeHeader(String name) {
+        // Excel likes to prepend a byte order mark to UTF-8 files
+        return name.replace("\uFEFF", "")
+                .replaceAll("[\\s_-]", "")
+                .toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeEmail(String email) {
+        return email == null ? null : email.toLowerCase(Locale.ROOT);
+    }
+
+    private record ImportRow(long line, PatientRequest request, String email) {
+    }
+
+    private static class ImportResult {
+        private long totalRows;
+        private long imported;
+        private long duplicates;
+        private long failed;
+        private final List<PatientImportResponse.RowError> errors = new ArrayList<>();
+        private boolean errorsTruncated;
+
+        void fail(long line, String message) {
+            failed++;
+            report(line, message);
+        }
+
+        void duplicate(long line, String message) {
+            duplicates++;
+            report(line, message);
+        }
+
+        private void report(long line, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new PatientImportResponse.RowError(line, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+
+        PatientImportResponse toResponse() {
+            return PatientImportResponse.builder()
+                    .totalRows(totalRows)
+                    .imported(imported)
+                    .duplicates(duplicates)
+                    .failed(failed)
+                    .errors(errors)
+                    .errorsTruncated(errorsTruncated)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.appointment.AppointmentResponse;
+import com.clinical.backend.dto.invoice.InvoiceResponse;
+import com.clinical.backend.dto.patient.PatientOverviewResponse;
+import com.clinical.backend.dto.patient.PatientResponse;
+import com.clinical.backend.dto.prescription.PrescriptionResponse;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Everything the patient chart shows on open, in one call.
+ *
+ * The sections are loaded concurrently on virtual threads. Each one goes through its own
+ * service, so it runs in its own short read-only transaction on its own connection, and
+ * only the most recent items of each section are fetched.
+ */
+@Service
+@RequiredArgsConstructor
+public class PatientOverviewService {
+
+    public static final int DEFAULT_SECTION_SIZE = 5;
+    public static final int MAX_SECTION_SIZE = 50;
+
+    private final PatientService patientService;
+    private final AppointmentService appointmentService;
+    private final PrescriptionService prescriptionService;
+    private final InvoiceService invoiceService;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public PatientOverviewResponse getOverview(Long patientId, int sectionSize) {
+        int limit = Math.min(Math.max(sectionSize, 1), MAX_SECTION_SIZE);
+
+        CompletableFuture<PatientResponse> patient =
+                load(() -> patientService.getPatientById(patientId));
+        CompletableFuture<List<AppointmentResponse>> appointments =
+                load(() -> appointmentService.getRecentPatientAppointments(patientId, limit));
+        CompletableFuture<List<PrescriptionResponse>> prescriptions =
+                load(() -> prescriptionService.getRecentPatientPrescriptions(patientId, limit));
+        CompletableFuture<List<InvoiceResponse>> invoices =
+                load(() -> invoiceService.getRecentPatientInvoices(patientId, limit));
+
+        return PatientOverviewResponse.builder()
+                .patient(join(patient))
+                .recentAppointments(join(appointments))
+                .recentPrescriptions(join(prescriptions))
+                .recentInvoices(join(invoices))
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> load(Supplier<T> section) {
+        return CompletableFuture.supplyAsync(section, executor);
+    }
+
+    private <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // Surface the section's own exception (e.g. patient not found) to the exception handler
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
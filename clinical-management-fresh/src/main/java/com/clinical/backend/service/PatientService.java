@@ -2,10 +2,14 @@ package com.clinical.backend.service;
 
 import com.clinical.backend.dto.patient.PatientRequest;
 import com.clinical.backend.dto.patient.PatientResponse;
+import com.clinical.backend.dto.patient.PatientSummaryResponse;
+import com.clinical.backend.dto.patient.DuplicateCandidateResponse;
 import com.clinical.backend.entity.Patient;
+import com.clinical.backend.exception.BusinessException;
 import com.clinical.backend.exception.ResourceNotFoundException;
 import com.clinical.backend.mapper.PatientMapper;
 import com.clinical.backend.repository.PatientRepository;
+import com.clinical.backend.repository.projection.PatientSummary;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -22,39 +26,64 @@ public class PatientService {
     private final PatientRepository patientRepository;
     private final PatientMapper patientMapper;
     private final AuditService auditService;
+    private final PatientDuplicateService patientDuplicateService;
     
     @Transactional(readOnly = true)
     public Page<PatientResponse> getAllPatients(Pageable pageable) {
-        return patientRepository.findAll(pageable)
+        return patientRepository.findAllWithClinicalDetailsBy(pageable)
                 .map(this::toResponse);
     }
     
+    @Transactional(readOnly = true)
+    public Page<PatientSummaryResponse> getPatientSummaries(Pageable pageable) {
+        return patientRepository.findAllProjectedBy(pageable)
+                .map(this::toSummaryResponse);
+    }
+    
     @Transactional(readOnly = true)
     public PatientResponse getPatientById(Long id) {
-        Patient patient = patientRepository.findById(id)
+        Patient patient = patientRepository.findWithClinicalDetailsById(id)
                 .orElseThrow(() -> new RuntimeException("Patient not found with id: " + id));
         return toResponse(patient);
     }
     
     @Transactional(readOnly = true)
     public Page<PatientResponse> searchPatients(String search, Pageable pageable) {
-        return patientRepository.searchPatients(search)
-                .stream()
-                .map(this::toResponse)
-                .collect(java.util.stream.Collectors.toList())
-                .stream()
-                .skip(pageable.getOffset())
-                .limit(pageable.getPageSize())
-                .collect(java.util.stream.Collectors.collectingAndThen(
-                    java.util.stream.Collectors.toList(),
-                    list -> new org.springframework.data.domain.PageImpl<>(list, pageable, patientRepository.searchPatients(search).size())
-                ));
+        return patientRepository.searchPatients(search, pageable)
+                .map(this::toResponse);
+    }
+    
+    @Transactional(readOnly = true)
+    public Page<PatientSummaryResponse> searchPatientSummaries(String search, Pageable pageable) {
+        return patientRepository.searchPatientSummaries(search, pageable)
+                .map(this::toSummaryResponse);
     }
     
     @Transactional
     public PatientResponse createPatient(PatientRequest request) {
+        return createPatient(request, false);
+    }
+    
+    /**
+     * Create a patient, refusing when the registry already holds a strong duplicate candidate
+     * unless {@code allowDuplicate} is set (e.g. after a user reviewed the candidates).
+     */
+    @Transactional
+    public PatientResponse createPatient(PatientRequest request, boolean allowDuplicate) {
+        if (!allowDuplicate) {
+            List<Long> strongMatches = patientDuplicateService.findCandidates(request).stream()
+                    .filter(candidate -> candidate.getScore() >= PatientDuplicateService.STRONG_MATCH_THRESHOLD)
+                    .map(DuplicateCandidateResponse::getPatientId)
+                    .toList();
+            if (!strongMatches.isEmpty()) {
+                throw new BusinessException("Possible duplicate of existing patient(s) " + strongMatches
+                        + "; review them or resubmit with allowDuplicate=true");
+            }
+        }
+        
         Patient patient = toEntity(request);
         Patient savedPatient = patientRepository.save(patient);
+        patientDuplicateService.indexPatient(savedPatient);
         return toResponse(savedPatient);
     }
     
@@ -65,6 +94,7 @@ public class PatientService {
         
         updateEntityFromRequest(existingPatient, request);
         Patient updatedPatient = patientRepository.save(existingPatient);
+        patientDuplicateService.indexPatient(updatedPatient);
         return toResponse(updatedPatient);
     }
     
@@ -97,6 +127,18 @@ public class PatientService {
                 .build();
     }
     
+    private PatientSummaryResponse toSummaryResponse(PatientSummary summary) {
+        return PatientSummaryResponse.builder()
+                .id(summary.getId())
+                .firstName(summary.getFirstName())
+                .lastName(summary.getLastName())
+                .fullName(summary.getFirstName() + " " + summary.getLastName())
+                .dateOfBirth(summary.getDateOfBirth())
+                .phone(summary.getPhone())
+                .email(summary.getEmail())
+                .build();
+    }
+    
     private Patient toEntity(PatientRequest request) {
         return Patient.builder()
                 .firstName(request.getFirstName())
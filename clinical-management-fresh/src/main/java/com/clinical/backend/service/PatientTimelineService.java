@@ -0,0 +1,260 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.patient.PatientTimelineResponse;
+import com.clinical.backend.dto.patient.TimelineEntryResponse;
+import com.clinical.backend.entity.Appointment;
+import com.clinical.backend.entity.Invoice;
+import com.clinical.backend.entity.Message;
+import com.clinical.backend.entity.Patient;
+import com.clinical.backend.entity.Prescription;
+import com.clinical.backend.enums.TimelineEntryType;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.exception.ResourceNotFoundException;
+import com.clinical.backend.repository.AppointmentRepository;
+import com.clinical.backend.repository.InvoiceRepository;
+import com.clinical.backend.repository.MessageRepository;
+import com.clinical.backend.repository.PatientRepository;
+import com.clinical.backend.repository.PrescriptionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.Function;
+
+/**
+ * Chronological history of a patient across appointments, prescriptions, invoices and messages,
+ * newest first.
+ *
+ * Each source is read with a keyset query that returns at most one page of rows strictly older
+ * than that source's last position, and the sources are merged lazily through a heap holding
+ * one head per source. The cursor handed back records where each source stopped, so scrolling
+ * through years of history costs the same per page as the first one.
+ */
+@Service
+@RequiredArgsConstructor
+public class PatientTimelineService {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final Comparator<TimelineEntryResponse> NEWEST_FIRST = Comparator
+            .comparing(TimelineEntryResponse::getOccurredAt, Comparator.reverseOrder())
+            .thenComparing(TimelineEntryResponse::getType)
+            .thenComparing(TimelineEntryResponse::getId, Comparator.reverseOrder());
+
+    private final PatientRepository patientRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final PrescriptionRepository prescriptionRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final MessageRepository messageRepository;
+
+    @Transactional(readOnly = true)
+    public PatientTimelineResponse getTimeline(Long patientId, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Patient patient = patientRepository.findById(patientId)
+                .orElseThrow(() -> new ResourceNotFoundException("Patient not found with id: " + patientId));
+        Long userId = patient.getUser() != null ? patient.getUser().getId() : null;
+
+        Map<TimelineEntryType, Position> positions = decodeCursor(cursor);
+        Pageable limit = PageRequest.of(0, pageSize);
+
+        // Only sources that have not been exhausted yet are queried
+        List<Source> sources = new ArrayList<>(TimelineEntryType.values().length);
+        addSource(sources, positions, TimelineEntryType.APPOINTMENT, pageSize, position ->
+                map(appointmentRepository.findTimelinePage(patientId, position.time(), position.id(), limit),
+                        this::toAppointmentEntry));
+        addSource(sources, positions, TimelineEntryType.PRESCRIPTION, pageSize, position ->
+                map(prescriptionRepository.findTimelinePage(patientId, position.time(), position.id(), limit),
+                        this::toPrescriptionEntry));
+        addSource(sources, positions, TimelineEntryType.INVOICE, pageSize, position ->
+                map(invoiceRepository.findTimelinePage(patientId, position.time(), position.id(), limit),
+                        this::toInvoiceEntry));
+        if (userId != null) {
+            addSource(sources, positions, TimelineEntryType.MESSAGE, pageSize, position ->
+                    map(messageRepository.findTimelinePage(userId, position.time(), position.id(), limit),
+                            message -> toMessageEntry(message, userId)));
+        } else {
+            positions.put(TimelineEntryType.MESSAGE, null);
+        }
+
+        PriorityQueue<Head> heap = new PriorityQueue<>(sources.size(),
+                Comparator.comparing(Head::entry, NEWEST_FIRST));
+        for (Source source : sources) {
+            source.advance(heap);
+        }
+
+        List<TimelineEntryResponse> entries = new ArrayList<>(pageSize);
+        while (entries.size() < pageSize && !heap.isEmpty()) {
+            Head head = heap.poll();
+            entries.add(head.entry());
+            positions.put(head.source().type, new Position(head.entry().getOccurredAt(), head.entry().getId()));
+            head.source().advance(heap);
+        }
+
+        // A source is finished once it returned a short page and every row it returned was consumed
+        for (Source source : sources) {
+            if (source.isExhausted()) {
+                positions.put(source.type, null);
+            }
+        }
+
+        boolean hasMore = positions.values().stream().anyMatch(position -> position != null);
+        return PatientTimelineResponse.builder()
+                .entries(entries)
+                .nextCursor(hasMore ? encodeCursor(positions) : null)
+                .build();
+    }
+
+    private void addSource(List<Source> sources, Map<TimelineEntryType, Position> positions,
+                           TimelineEntryType type, int pageSize,
+                           Function<Position, List<TimelineEntryResponse>> query) {
+        if (!positions.containsKey(type)) {
+            positions.put(type, Position.START);
+        }
+        Position position = positions.get(type);
+        if (position != null) {
+            sources.add(new Source(type, query.apply(position), pageSize));
+        }
+    }
+
+    private static <T> List<TimelineEntryResponse> map(List<T> rows, Function<T, TimelineEntryResponse> mapper) {
+        List<TimelineEntryResponse> entries = new ArrayList<>(rows.size());
+        for (T row : rows) {
+            entries.add(mapper.apply(row));
+        }
+        return entries;
+    }
+
+    private TimelineEntryResponse toAppointmentEntry(Appointment appointment) {
+        return TimelineEntryResponse.builder()
+                .type(TimelineEntryType.APPOINTMENT)
+                .id(appointment.getId())
+                .occurredAt(appointment.getStartTime())
+                .title("Appointment with " + appointment.getDoctor().getUser().getFullName())
+                .detail(appointment.getReason())
+                .status(appointment.getStatus().name())
+                .build();
+    }
+
+    private TimelineEntryResponse toPrescriptionEntry(Prescription prescription) {
+        return TimelineEntryResponse.builder()
+                .type(TimelineEntryType.PRESCRIPTION)
+                .id(prescription.getId())
+                .occurredAt(prescription.getCreatedAt())
+                .title("Prescription by " + prescription.getDoctor().getUser().getFullName())
+                .detail(prescription.getMedications())
+                .build();
+    }
+
+    private TimelineEntryResponse toInvoiceEntry(Invoice invoice) {
+        return TimelineEntryResponse.builder()
+                .type(TimelineEntryType.INVOICE)
+                .id(invoice.getId())
+                .occurredAt(invoice.getCreatedAt())
+                .title(String.format("Invoice #%d - $%.2f", invoice.getId(), invoice.getTotalCents() / 100.0))
+                .detail(invoice.getDueDate() != null ? "Due " + invoice.getDueDate() : null)
+                .status(invoice.getStatus().name())
+                .build();
+    }
+
+    private TimelineEntryResponse toMessageEntry(Message message, Long patientUserId) {
+        boolean sent = message.getFromUser().getId().equals(patientUserId);
+        String title = sent
+                ? "Message to " + message.getToUser().getFullName()
+                : "Message from " + message.getFromUser().getFullName();
+        return TimelineEntryResponse.builder()
+                .type(TimelineEntryType.MESSAGE)
+                .id(message.getId())
+                .occurredAt(message.getCreatedAt())
+                .title(title)
+                .detail(message.getSubject())
+                .build();
+    }
+
+    // Cursor format (before Base64url): one "TYPE=isoTime,id" or "TYPE=-" (exhausted) per source,
+    // separated by ';'. Sources missing from the cursor start from the newest row.
+
+    static String encodeCursor(Map<TimelineEntryType, Position> positions) {
+        StringBuilder raw = new StringBuilder();
+        for (Map.Entry<TimelineEntryType, Position> entry : positions.entrySet()) {
+            if (!raw.isEmpty()) {
+                raw.append(';');
+            }
+            raw.append(entry.getKey().name()).append('=');
+            Position position = entry.getValue();
+            raw.append(position == null ? "-" : position.time() + "," + position.id());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Map<TimelineEntryType, Position> decodeCursor(String cursor) {
+        Map<TimelineEntryType, Position> positions = new EnumMap<>(TimelineEntryType.class);
+        if (cursor == null || cursor.isBlank()) {
+            return positions;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            for (String part : raw.split(";")) {
+                int separator = part.indexOf('=');
+                TimelineEntryType type = TimelineEntryType.valueOf(part.substring(0, separator));
+                String value = part.substring(separator + 1);
+                if (value.equals("-")) {
+                    positions.put(type, null);
+                } else {
+                    int comma = value.lastIndexOf(',');
+                    positions.put(type, new Position(
+                            LocalDateTime.parse(value.substring(0, comma)),
+                            Long.parseLong(value.substring(comma + 1))));
+                }
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException("Invalid timeline cursor");
+        }
+        return positions;
+    }
+
+    record Position(LocalDateTime time, Long id) {
+        // Sorts after every real row, so the first page needs no special-cased query
+        static final Position START = new Position(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    }
+
+    private record Head(TimelineEntryResponse entry, Source source) {
+    }
+
+    private static class Source {
+        private final TimelineEntryType type;
+        private final Iterator<TimelineEntryResponse> rows;
+        private final boolean fullPage;
+        private Head pending;
+
+        Source(TimelineEntryType type, List<TimelineEntryResponse> rows, int pageSize) {
+            this.type = type;
+            this.rows = rows.iterator();
+            this.fullPage = rows.size() >= pageSize;
+        }
+
+        void advance(PriorityQueue<Head> heap) {
+            pending = rows.hasNext() ? new Head(rows.next(), this) : null;
+            if (pending != null) {
+                heap.add(pending);
+            }
+        }
+
+        boolean isExhausted() {
+            return !fullPage && pending == null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.clinical.backend.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Single-page text layout helper used by {@link PdfService}.
+ * Tracks the vertical cursor and the active style so that the font operator
+ * is only written when the style actually changes.
+ */
+class PdfLayout implements Closeable {
+
+    static final float MARGIN = 50;
+    static final float LEADING = 1.5f * 12;
+    static final float AMOUNT_COLUMN_X = 400;
+
+    /**
+     * Text styles shared by every generated document.
+     */
+    enum Style {
+        TITLE(true, 18),
+        HEADING(true, 12),
+        BODY(false, 10),
+        BODY_BOLD(true, 10);
+
+        private final boolean bold;
+        private final float size;
+
+        Style(boolean bold, float size) {
+            this.bold = bold;
+            this.size = size;
+        }
+    }
+
+    private final PDPageContentStream contentStream;
+    private final PDFont regularFont;
+    private final PDFont boldFont;
+    private final float pageWidth;
+    private float yPosition;
+    private Style currentStyle;
+
+    PdfLayout(PDDocument document) throws IOException {
+        PDPage page = new PDPage(PDRectangle.A4);
+        document.addPage(page);
+
+        // Standard 14 fonts are not embedded, so one instance per document is enough.
+        // PDFBox 3 no longer offers shared static instances because they are not thread-safe.
+        this.regularFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA);
+        this.boldFont = new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD);
+        this.contentStream = new PDPageContentStream(document, page);
+        this.pageWidth = page.getMediaBox().getWidth();
+        this.yPosition = page.getMediaBox().getHeight() - MARGIN;
+    }
+
+    /**
+     * Write a line of text at the left margin and advance the cursor by one line.
+     */
+    void line(Style style, String text) throws IOException {
+        showText(style, MARGIN, text);
+        yPosition -= LEADING;
+    }
+
+    /**
+     * Write a label at the left margin and a value in the amount column on the same line,
+     * then advance the cursor by one line.
+     */
+    void columns(Style style, String label, String value) throws IOException {
+        showText(style, MARGIN, label);
+        showText(style, AMOUNT_COLUMN_X, value);
+        yPosition -= LEADING;
+    }
+
+    /**
+     * Draw a horizontal rule across the printable width at the current cursor position.
+     */
+    void rule() throws IOException {
+        contentStream.moveTo(MARGIN, yPosition);
+        contentStream.lineTo(pageWidth - MARGIN, yPosition);
+        contentStream.stroke();
+    }
+
+    void skip(float lines) {
+        yPosition -= LEADING * lines;
+    }
+
+    void skipPoints(float points) {
+        yPosition -= points;
+    }
+
+    private void showText(Style style, float x, String text) throws IOException {
+        if (style != currentStyle) {
+            contentStream.setFont(style.bold ? boldFont : regularFont, style.size);
+            currentStyle = style;
+        }
+        contentStream.beginText();
+        contentStream.newLineAtOffset(x, yPosition);
+        contentStream.showText(text);
+        contentStream.endText();
+    }
+
+    @Override
+    public void close() throws IOException {
+        contentStream.close();
+    }
+}
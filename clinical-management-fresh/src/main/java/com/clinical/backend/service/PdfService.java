@@ -1,318 +1,162 @@
 package com.clinical.backend.service;
 
 import com.clinical.backend.entity.Invoice;
+import com.clinical.backend.entity.InvoiceLineItem;
 import com.clinical.backend.entity.Prescription;
+import com.clinical.backend.service.PdfLayout.Style;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
-import org.apache.pdfbox.pdmodel.font.Standard14Fonts;
 import org.springframework.stereotype.Service;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PdfService {
-    
+
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy");
     private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("MMM dd, yyyy HH:mm");
-    
+
+    // Single-page documents are a few KB; sizing the buffer up front avoids repeated growth copies
+    private static final int INITIAL_BUFFER_SIZE = 8 * 1024;
+
     public byte[] generatePrescriptionPdf(Prescription prescription) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        writePrescriptionPdf(prescription, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    public byte[] generateInvoicePdf(Invoice invoice, List<InvoiceLineItem> lineItems) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream(INITIAL_BUFFER_SIZE);
+        writeInvoicePdf(invoice, lineItems, outputStream);
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Render a prescription straight into the given stream without an intermediate buffer.
+     * The stream is not closed.
+     */
+    public void writePrescriptionPdf(Prescription prescription, OutputStream outputStream) throws IOException {
         try (PDDocument document = new PDDocument()) {
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
-            
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                float margin = 50;
-                float yPosition = page.getMediaBox().getHeight() - margin;
-                float fontSize = 12;
-                float leading = 1.5f * fontSize;
-                
-                // Title
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 18);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("MEDICAL PRESCRIPTION");
-                contentStream.endText();
-                yPosition -= leading * 2;
-                
-                // Prescription ID and Date
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Prescription ID: " + prescription.getId());
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Date: " + prescription.getCreatedAt().format(DATE_FORMATTER));
-                contentStream.endText();
-                yPosition -= leading * 2;
-                
+            try (PdfLayout layout = new PdfLayout(document)) {
+                layout.line(Style.TITLE, "MEDICAL PRESCRIPTION");
+                layout.skip(1);
+
+                layout.line(Style.BODY, "Prescription ID: " + prescription.getId());
+                layout.line(Style.BODY, "Date: " + prescription.getCreatedAt().format(DATE_FORMATTER));
+                layout.skip(1);
+
                 // Doctor Information
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Doctor Information");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Name: " + prescription.getDoctor().getUser().getFullName());
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Specialty: " + prescription.getDoctor().getSpecialty());
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("License: " + prescription.getDoctor().getLicenseNumber());
-                contentStream.endText();
-                yPosition -= leading * 2;
-                
+                layout.line(Style.HEADING, "Doctor Information");
+                layout.line(Style.BODY, "Name: " + prescription.getDoctor().getUser().getFullName());
+                layout.line(Style.BODY, "Specialty: " + prescription.getDoctor().getSpecialty());
+                layout.line(Style.BODY, "License: " + prescription.getDoctor().getLicenseNumber());
+                layout.skip(1);
+
                 // Patient Information
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Patient Information");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Name: " + prescription.getPatient().getFullName());
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("DOB: " + prescription.getPatient().getDateOfBirth().format(DATE_FORMATTER));
-                contentStream.endText();
-                yPosition -= leading * 2;
-                
-                // Diagnosis
+                layout.line(Style.HEADING, "Patient Information");
+                layout.line(Style.BODY, "Name: " + prescription.getPatient().getFullName());
+                layout.line(Style.BODY, "DOB: " + prescription.getPatient().getDateOfBirth().format(DATE_FORMATTER));
+                layout.skip(1);
+
                 if (prescription.getDiagnosis() != null) {
-                    contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 12);
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText("Diagnosis");
-                    contentStream.endText();
-                    yPosition -= leading;
-                    
-                    contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText(prescription.getDiagnosis());
-                    contentStream.endText();
-                    yPosition -= leading * 2;
+                    section(layout, "Diagnosis", prescription.getDiagnosis());
                 }
-                
-                // Medications
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Medications");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText(prescription.getMedications());
-                contentStream.endText();
-                yPosition -= leading * 2;
-                
-                // Instructions
+
+                section(layout, "Medications", prescription.getMedications());
+
                 if (prescription.getInstructions() != null) {
-                    contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 12);
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText("Instructions");
-                    contentStream.endText();
-                    yPosition -= leading;
-                    
-                    contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText(prescription.getInstructions());
-                    contentStream.endText();
-                    yPosition -= leading * 2;
+                    section(layout, "Instructions", prescription.getInstructions());
                 }
-                
-                // Valid Until
+
                 if (prescription.getValidUntil() != null) {
-                    contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 10);
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText("Valid Until: " + prescription.getValidUntil().format(DATE_FORMATTER));
-                    contentStream.endText();
+                    layout.line(Style.BODY_BOLD, "Valid Until: " + prescription.getValidUntil().format(DATE_FORMATTER));
                 }
             }
-            
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
             document.save(outputStream);
-            return outputStream.toByteArray();
         }
     }
-    
-    public byte[] generateInvoicePdf(Invoice invoice) throws IOException {
+
+    /**
+     * Render an invoice with its line items (in position order) straight into the given stream
+     * without an intermediate buffer. The stream is not closed.
+     */
+    public void writeInvoicePdf(Invoice invoice, List<InvoiceLineItem> lineItems, OutputStream outputStream)
+            throws IOException {
         try (PDDocument document = new PDDocument()) {
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
-            
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                float margin = 50;
-                float yPosition = page.getMediaBox().getHeight() - margin;
-                float fontSize = 12;
-                float leading = 1.5f * fontSize;
-                
-                // Title
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 18);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("INVOICE");
-                contentStream.endText();
-                yPosition -= leading * 2;
-                
+            try (PdfLayout layout = new PdfLayout(document)) {
+                layout.line(Style.TITLE, "INVOICE");
+                layout.skip(1);
+
                 // Invoice Details
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Invoice ID: " + invoice.getId());
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Date: " + invoice.getCreatedAt().format(DATE_FORMATTER));
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Status: " + invoice.getStatus());
-                contentStream.endText();
-                yPosition -= leading * 2;
-                
+                // Numbers are assigned just after commit; an unnumbered PDF is dropped once it gets one
+                if (invoice.getInvoiceNumber() != null) {
+                    layout.line(Style.BODY, "Invoice Number: " + invoice.getInvoiceNumber());
+                } else {
+                    layout.line(Style.BODY, "Invoice ID: " + invoice.getId());
+                }
+                layout.line(Style.BODY, "Date: " + invoice.getCreatedAt().format(DATE_FORMATTER));
+                layout.line(Style.BODY, "Status: " + invoice.getStatus());
+                layout.skip(1);
+
                 // Patient Information
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Bill To:");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText(invoice.getPatient().getFullName());
-                contentStream.endText();
-                yPosition -= leading;
-                
+                layout.line(Style.HEADING, "Bill To:");
+                layout.line(Style.BODY, invoice.getPatient().getFullName());
                 if (invoice.getPatient().getEmail() != null) {
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText(invoice.getPatient().getEmail());
-                    contentStream.endText();
-                    yPosition -= leading;
+                    layout.line(Style.BODY, invoice.getPatient().getEmail());
                 }
-                
-                yPosition -= leading;
-                
+                layout.skip(1);
+
                 // Line Items
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Description");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(400, yPosition);
-                contentStream.showText("Amount");
-                contentStream.endText();
-                yPosition -= leading;
-                
-                // Draw line
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading;
-                
-                // Service details
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Medical Consultation");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(400, yPosition);
-                contentStream.showText(String.format("$%.2f", invoice.getAmountCents() / 100.0));
-                contentStream.endText();
-                yPosition -= leading * 2;
-                
-                // Tax
+                layout.columns(Style.HEADING, "Description", "Amount");
+                layout.rule();
+                layout.skip(1);
+
+                if (lineItems.isEmpty()) {
+                    layout.columns(Style.BODY, "Medical Consultation", formatCents(invoice.getAmountCents()));
+                }
+                for (InvoiceLineItem item : lineItems) {
+                    String label = item.getQuantity() > 1
+                            ? item.getDescription() + " (" + item.getQuantity() + " x " + formatCents(item.getUnitPriceCents()) + ")"
+                            : item.getDescription();
+                    layout.columns(Style.BODY, label, formatCents(item.getQuantity() * item.getUnitPriceCents()));
+                }
+                layout.skip(1);
+
                 if (invoice.getTaxCents() > 0) {
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText("Tax");
-                    contentStream.endText();
-                    
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(400, yPosition);
-                    contentStream.showText(String.format("$%.2f", invoice.getTaxCents() / 100.0));
-                    contentStream.endText();
-                    yPosition -= leading;
+                    layout.columns(Style.BODY, "Tax", formatCents(invoice.getTaxCents()));
                 }
-                
-                // Draw line
-                yPosition -= 5;
-                contentStream.moveTo(margin, yPosition);
-                contentStream.lineTo(page.getMediaBox().getWidth() - margin, yPosition);
-                contentStream.stroke();
-                yPosition -= leading;
-                
-                // Total
-                contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA_BOLD), 12);
-                contentStream.beginText();
-                contentStream.newLineAtOffset(margin, yPosition);
-                contentStream.showText("Total");
-                contentStream.endText();
-                
-                contentStream.beginText();
-                contentStream.newLineAtOffset(400, yPosition);
-                contentStream.showText(String.format("$%.2f", invoice.getTotalCents() / 100.0));
-                contentStream.endText();
-                yPosition -= leading * 2;
-                
-                // Due Date
+
+                layout.skipPoints(5);
+                layout.rule();
+                layout.skip(1);
+
+                layout.columns(Style.HEADING, "Total", formatCents(invoice.getTotalCents()));
+                layout.skip(1);
+
                 if (invoice.getDueDate() != null) {
-                    contentStream.setFont(new PDType1Font(Standard14Fonts.FontName.HELVETICA), 10);
-                    contentStream.beginText();
-                    contentStream.newLineAtOffset(margin, yPosition);
-                    contentStream.showText("Due Date: " + invoice.getDueDate().format(DATE_FORMATTER));
-                    contentStream.endText();
+                    layout.line(Style.BODY, "Due Date: " + invoice.getDueDate().format(DATE_FORMATTER));
                 }
             }
-            
-            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
             document.save(outputStream);
-            return outputStream.toByteArray();
         }
     }
+
+    private void section(PdfLayout layout, String heading, String body) throws IOException {
+        layout.line(Style.HEADING, heading);
+        layout.line(Style.BODY, body);
+        layout.skip(1);
+    }
+
+    private String formatCents(int cents) {
+        return String.format("$%.2f", cents / 100.0);
+    }
 }
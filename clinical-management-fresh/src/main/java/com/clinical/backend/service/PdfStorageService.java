@@ -0,0 +1,84 @@
+package com.clinical.backend.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Stores rendered PDFs on disk (the shared pdf-storage volume in Kubernetes).
+ * Paths handed out by this service are relative to the storage root and are what
+ * gets persisted in the {@code pdf_path} columns.
+ */
+@Service
+@Slf4j
+public class PdfStorageService {
+
+    @FunctionalInterface
+    public interface PdfWriter {
+        void write(OutputStream outputStream) throws IOException;
+    }
+
+    private final Path storageRoot;
+
+    public PdfStorageService(@Value("${app.pdf.storage-dir:./pdfs}") String storageDir) {
+        this.storageRoot = Paths.get(storageDir).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Render a document straight to disk. The content is written to a temporary file first and
+     * moved into place atomically, so concurrent readers never see a half-written PDF.
+     */
+    public String store(String relativePath, PdfWriter writer) throws IOException {
+        Path target = resolve(relativePath);
+        Files.createDirectories(target.getParent());
+
+        Path tempFile = Files.createTempFile(target.getParent(), ".render-", ".tmp");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                writer.write(outputStream);
+            }
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+
+        log.debug("Stored PDF {}", relativePath);
+        return relativePath;
+    }
+
+    public boolean exists(String relativePath) {
+        return relativePath != null && Files.isRegularFile(resolve(relativePath));
+    }
+
+    public Resource load(String relativePath) {
+        return new FileSystemResource(resolve(relativePath));
+    }
+
+    public void delete(String relativePath) {
+        if (relativePath == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(resolve(relativePath));
+        } catch (IOException e) {
+            log.warn("Failed to delete stored PDF {}", relativePath, e);
+        }
+    }
+
+    private Path resolve(String relativePath) {
+        Path path = storageRoot.resolve(relativePath).normalize();
+        if (!path.startsWith(storageRoot)) {
+            throw new IllegalArgumentException("PDF path escapes storage directory: " + relativePath);
+        }
+        return path;
+    }
+}
@@ -4,12 +4,18 @@ import com.clinical.backend.dto.prescription.PrescriptionRequest;
 import com.clinical.backend.dto.prescription.PrescriptionResponse;
 import com.clinical.backend.entity.Appointment;
 import com.clinical.backend.entity.Prescription;
+import com.clinical.backend.event.PrescriptionCreatedEvent;
+import com.clinical.backend.exception.ResourceNotFoundException;
 import com.clinical.backend.repository.AppointmentRepository;
 import com.clinical.backend.repository.PrescriptionRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,6 +25,9 @@ public class PrescriptionService {
     
     private final PrescriptionRepository prescriptionRepository;
     private final AppointmentRepository appointmentRepository;
+    private final PdfService pdfService;
+    private final PdfStorageService pdfStorageService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Transactional
     public PrescriptionResponse createPrescription(PrescriptionRequest request) {
@@ -37,6 +46,9 @@ public class PrescriptionService {
         
         Prescription savedPrescription = prescriptionRepository.save(prescription);
         
+        // Rendered in the background once this transaction commits
+        eventPublisher.publishEvent(new PrescriptionCreatedEvent(savedPrescription.getId()));
+        
         return toResponse(savedPrescription);
     }
     
@@ -55,9 +67,38 @@ public class PrescriptionService {
                 .collect(Collectors.toList());
     }
     
-    public byte[] generatePrescriptionPdf(Long id) {
-        // TODO: Implement PDF generation using PDFBox
-        throw new RuntimeException("PDF generation not implemented yet");
+    @Transactional(readOnly = true)
+    public List<PrescriptionResponse> getRecentPatientPrescriptions(Long patientId, int limit) {
+        return prescriptionRepository.findRecentByPatientId(patientId, PageRequest.of(0, limit)).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+    
+    /**
+     * Return the prescription PDF as a file-backed resource, rendering it to disk first if the
+     * background pre-render has not finished yet.
+     */
+    @Transactional
+    public Resource getPrescriptionPdf(Long id) throws IOException {
+        return pdfStorageService.load(ensurePrescriptionPdf(id));
+    }
+    
+    /**
+     * Render the prescription PDF to storage unless it is already there, and return its stored path.
+     */
+    @Transactional
+    public String ensurePrescriptionPdf(Long id) throws IOException {
+        Prescription prescription = prescriptionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Prescription not found"));
+        
+        if (!pdfStorageService.exists(prescription.getPdfPath())) {
+            String pdfPath = pdfStorageService.store(
+                    "prescriptions/prescription_" + id + ".pdf",
+                    outputStream -> pdfService.writePrescriptionPdf(prescription, outputStream));
+            prescription.setPdfPath(pdfPath);
+        }
+        
+        return prescription.getPdfPath();
     }
     
     private PrescriptionResponse toResponse(Prescription prescription) {
@@ -0,0 +1,205 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.report.AgingBucketResponse;
+import com.clinical.backend.dto.report.DoctorRevenueResponse;
+import com.clinical.backend.dto.report.PaymentMethodRevenueResponse;
+import com.clinical.backend.dto.report.RevenuePeriodResponse;
+import com.clinical.backend.dto.report.ServiceRevenueResponse;
+import com.clinical.backend.enums.AgingBucket;
+import com.clinical.backend.enums.ReportGranularity;
+import com.clinical.backend.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Revenue and receivables reports for finance.
+ *
+ * Revenue is cash-basis: PAID invoices counted on the day they were paid. Reports read the
+ * {@code invoice_revenue_daily} rollup (one row per day, doctor and payment method), so a
+ * year-long report groups a few thousand rows instead of every invoice. A trigger on
+ * {@code invoices} records which days went stale, and the rollup is refreshed for just those
+ * days before each report and periodically in the background. Revenue per service is summed
+ * from the invoice line items of the invoices paid in the range. Receivables change with the
+ * current date, so the aging report is a single GROUP BY over the open invoices.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RevenueReportService {
+
+    private static final String DRAIN_DIRTY_DAYS_SQL = "DELETE FROM invoice_revenue_dirty_days RETURNING day";
+
+    private static final String DELETE_ROLLUP_SQL = "DELETE FROM invoice_revenue_daily WHERE day IN (:days)";
+
+    // The paid_at range lets idx_invoices_paid_at narrow the scan; the IN list picks the stale days
+    private static final String INSERT_ROLLUP_SQL =
+            "INSERT INTO invoice_revenue_daily (day, doctor_id, payment_method, invoice_count, total_cents, tax_cents) " +
+            "SELECT i.paid_at::date, a.doctor_id, COALESCE(UPPER(TRIM(i.payment_method)), 'UNKNOWN'), " +
+            "COUNT(*), SUM(i.total_cents), SUM(i.tax_cents) " +
+            "FROM invoices i JOIN appointments a ON a.id = i.appointment_id " +
+            "WHERE i.status = 'PAID' AND i.paid_at >= :from AND i.paid_at < :to " +
+            "AND i.paid_at::date IN (:days) " +
+            "GROUP BY 1, 2, 3";
+
+    private static final String REVENUE_BY_PERIOD_SQL =
+            "SELECT date_trunc(:unit, r.day::timestamp)::date AS period_start, " +
+            "SUM(r.invoice_count) AS invoice_count, SUM(r.total_cents) AS total_cents, SUM(r.tax_cents) AS tax_cents " +
+            "FROM invoice_revenue_daily r WHERE r.day BETWEEN :from AND :to " +
+            "GROUP BY 1 ORDER BY 1";
+
+    private static final String REVENUE_BY_DOCTOR_SQL =
+            "SELECT r.doctor_id, u.full_name, SUM(r.invoice_count) AS invoice_count, SUM(r.total_cents) AS total_cents " +
+            "FROM invoice_revenue_daily r " +
+            "JOIN doctors d ON d.id = r.doctor_id JOIN users u ON u.id = d.user_id " +
+            "WHERE r.day BETWEEN :from AND :to " +
+            "GROUP BY r.doctor_id, u.full_name ORDER BY total_cents DESC";
+
+    private static final String REVENUE_BY_PAYMENT_METHOD_SQL =
+            "SELECT r.payment_method, SUM(r.invoice_count) AS invoice_count, SUM(r.total_cents) AS total_cents " +
+            "FROM invoice_revenue_daily r WHERE r.day BETWEEN :from AND :to " +
+            "GROUP BY r.payment_method ORDER BY total_cents DESC";
+
+    // idx_invoices_paid_at finds the paid invoices, the line items are read by invoice
+    private static final String REVENUE_BY_SERVICE_SQL =
+            "SELECT li.service_code, COUNT(DISTINCT li.invoice_id) AS invoice_count, SUM(li.quantity) AS quantity, " +
+            "SUM(li.quantity * li.unit_price_cents::bigint) AS net_cents, SUM(li.tax_cents) AS tax_cents, " +
+            "SUM(li.line_total_cents) AS total_cents " +
+            "FROM invoices i JOIN invoice_line_items li ON li.invoice_id = i.id " +
+            "WHERE i.status = 'PAID' AND i.paid_at >= :from AND i.paid_at < :to " +
+            "GROUP BY li.service_code ORDER BY total_cents DESC";
+
+    private static final String AGING_SQL =
+            "SELECT CASE " +
+            "WHEN i.due_date IS NULL OR i.due_date >= :today THEN 'CURRENT' " +
+            "WHEN i.due_date >= :today - 30 THEN 'DAYS_1_30' " +
+            "WHEN i.due_date >= :today - 60 THEN 'DAYS_31_60' " +
+            "WHEN i.due_date >= :today - 90 THEN 'DAYS_61_90' " +
+            "ELSE 'DAYS_OVER_90' END AS bucket, " +
+            "COUNT(*) AS invoice_count, SUM(i.total_cents) AS total_cents " +
+            "FROM invoices i WHERE i.status IN ('PENDING', 'OVERDUE') " +
+            "GROUP BY 1";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Recompute the rollup rows of every day touched since the last refresh. Concurrent
+     * refreshes are safe: draining the dirty days locks them, so each day is rebuilt once.
+     * A payment still in flight holds its day's marker locked, so the drain waits for it and
+     * the rebuild sees it.
+     */
+    @Scheduled(fixedDelayString = "${app.reports.rollup-refresh-ms:300000}")
+    public void refreshRollup() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Integer refreshed = transactionTemplate.execute(status -> {
+            List<LocalDate> days = jdbcTemplate.getJdbcTemplate().query(DRAIN_DIRTY_DAYS_SQL,
+                    (rs, rowNum) -> rs.getObject("day", LocalDate.class));
+            if (days.isEmpty()) {
+                return 0;
+            }
+
+            MapSqlParameterSource params = new MapSqlParameterSource()
+                    .addValue("days", days)
+                    .addValue("from", Collections.min(days).atStartOfDay())
+                    .addValue("to", Collections.max(days).plusDays(1).atStartOfDay());
+            jdbcTemplate.update(DELETE_ROLLUP_SQL, params);
+            jdbcTemplate.update(INSERT_ROLLUP_SQL, params);
+            return days.size();
+        });
+
+        if (refreshed != null && refreshed > 0) {
+            log.debug("Refreshed revenue rollup for {} days", refreshed);
+        }
+    }
+
+    public List<RevenuePeriodResponse> getRevenueByPeriod(LocalDate from, LocalDate to, ReportGranularity granularity) {
+        MapSqlParameterSource params = range(from, to)
+                .addValue("unit", granularity.name().toLowerCase(Locale.ROOT));
+        return jdbcTemplate.query(REVENUE_BY_PERIOD_SQL, params, (rs, rowNum) -> RevenuePeriodResponse.builder()
+                .periodStart(rs.getObject("period_start", LocalDate.class))
+                .invoiceCount(rs.getLong("invoice_count"))
+                .totalCents(rs.getLong("total_cents"))
+                .taxCents(rs.getLong("tax_cents"))
+                .build());
+    }
+
+    public List<DoctorRevenueResponse> getRevenueByDoctor(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(REVENUE_BY_DOCTOR_SQL, range(from, to), (rs, rowNum) -> DoctorRevenueResponse.builder()
+                .doctorId(rs.getLong("doctor_id"))
+                .doctorName(rs.getString("full_name"))
+                .invoiceCount(rs.getLong("invoice_count"))
+                .totalCents(rs.getLong("total_cents"))
+                .build());
+    }
+
+    public List<PaymentMethodRevenueResponse> getRevenueByPaymentMethod(LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(REVENUE_BY_PAYMENT_METHOD_SQL, range(from, to), (rs, rowNum) -> PaymentMethodRevenueResponse.builder()
+                .paymentMethod(rs.getString("payment_method"))
+                .invoiceCount(rs.getLong("invoice_count"))
+                .totalCents(rs.getLong("total_cents"))
+                .build());
+    }
+
+    /**
+     * Paid revenue per service code, computed from the line items rather than the rollup.
+     */
+    public List<ServiceRevenueResponse> getRevenueByService(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("Report end date must not be before start date");
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("from", from.atStartOfDay())
+                .addValue("to", to.plusDays(1).atStartOfDay());
+        return jdbcTemplate.query(REVENUE_BY_SERVICE_SQL, params, (rs, rowNum) -> ServiceRevenueResponse.builder()
+                .serviceCode(rs.getString("service_code"))
+                .invoiceCount(rs.getLong("invoice_count"))
+                .quantity(rs.getLong("quantity"))
+                .netCents(rs.getLong("net_cents"))
+                .taxCents(rs.getLong("tax_cents"))
+                .totalCents(rs.getLong("total_cents"))
+                .build());
+    }
+
+    /**
+     * Open (PENDING and OVERDUE) invoices grouped by how far past their due date they are.
+     * Every bucket is returned, empty ones with zero totals.
+     */
+    public List<AgingBucketResponse> getReceivablesAging() {
+        Map<AgingBucket, AgingBucketResponse> buckets = new EnumMap<>(AgingBucket.class);
+        for (AgingBucket bucket : AgingBucket.values()) {
+            buckets.put(bucket, AgingBucketResponse.builder().bucket(bucket).build());
+        }
+
+        jdbcTemplate.query(AGING_SQL, new MapSqlParameterSource("today", LocalDate.now()), rs -> {
+            AgingBucketResponse bucket = buckets.get(AgingBucket.valueOf(rs.getString("bucket")));
+            bucket.setInvoiceCount(rs.getLong("invoice_count"));
+            bucket.setTotalCents(rs.getLong("total_cents"));
+        });
+        return new ArrayList<>(buckets.values());
+    }
+
+    // Each report first folds in the invoices paid or changed since the last refresh
+    private MapSqlParameterSource range(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new BusinessException("Report end date must not be before start date");
+        }
+        refreshRollup();
+        return new MapSqlParameterSource()
+                .addValue("from", from)
+                .addValue("to", to);
+    }
+}
@@ -0,0 +1,214 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.room.RoomResponse;
+import com.clinical.backend.enums.AppointmentStatus;
+import com.clinical.backend.event.AppointmentChangedEvent;
+import com.clinical.backend.event.RoomChangedEvent;
+import com.clinical.backend.repository.AppointmentRepository;
+import com.clinical.backend.repository.RoomRepository;
+import com.clinical.backend.repository.projection.RoomBooking;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of which rooms are taken when, used by the booking flow to pick a free room.
+ *
+ * Each room keeps its current and future bookings in a set ordered by start time. Bookings in
+ * one room never overlap (prevent_room_double_booking), so a slot is free when the last booking
+ * starting before the slot's end has already ended: one O(log n) lookup per room instead of a
+ * scan of its appointments. The index is advisory; the exclusion constraint still rejects a
+ * booking that raced past a stale entry.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoomOccupancyService {
+
+    private static final Comparator<Slot> BY_START = Comparator
+            .comparing(Slot::start)
+            .thenComparing(Slot::appointmentId);
+
+    private final RoomRepository roomRepository;
+    private final AppointmentRepository appointmentRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    private volatile List<RoomResponse> rooms;
+    private volatile Map<Long, NavigableSet<Slot>> slotsByRoom = new ConcurrentHashMap<>();
+    private final Map<Long, Slot> slotsByAppointment = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reloadRooms();
+        reloadBookings();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onRoomChanged(RoomChangedEvent event) {
+        reloadRooms();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onAppointmentChanged(AppointmentChangedEvent event) {
+        if (event.appointmentId() == null) {
+            reloadBookings();
+        } else {
+            refreshBooking(event.appointmentId());
+        }
+    }
+
+    public synchronized void reloadRooms() {
+        rooms = readOnly(() -> roomRepository.findAll().stream()
+                .map(room -> RoomResponse.builder()
+                        .id(room.getId())
+                        .name(room.getName())
+                        .description(room.getDescription())
+                        .active(room.getActive())
+                        .build())
+                .sorted(Comparator.comparing(RoomResponse::getName, String.CASE_INSENSITIVE_ORDER))
+                .toList());
+    }
+
+    public synchronized void reloadBookings() {
+        List<RoomBooking> bookings = readOnly(() -> appointmentRepository.findRoomBookingsEndingAfter(LocalDateTime.now()));
+
+        Map<Long, NavigableSet<Slot>> byRoom = new ConcurrentHashMap<>();
+        slotsByAppointment.clear();
+        for (RoomBooking booking : bookings) {
+            Slot slot = Slot.of(booking);
+            byRoom.computeIfAbsent(slot.roomId(), id -> new ConcurrentSkipListSet<>(BY_START)).add(slot);
+            slotsByAppointment.put(slot.appointmentId(), slot);
+        }
+        slotsByRoom = byRoom;
+        log.debug("Room occupancy loaded with {} upcoming bookings", bookings.size());
+    }
+
+    /**
+     * Re-read one appointment after it was booked, moved or cancelled.
+     */
+    public synchronized void refreshBooking(Long appointmentId) {
+        Optional<RoomBooking> booking = readOnly(() -> appointmentRepository.findRoomBookingById(appointmentId));
+
+        Slot previous = slotsByAppointment.remove(appointmentId);
+        if (previous != null) {
+            NavigableSet<Slot> slots = slotsByRoom.get(previous.roomId());
+            if (slots != null) {
+                slots.remove(previous);
+            }
+        }
+
+        booking.filter(b -> b.getRoomId() != null)
+                .filter(b -> b.getStatus() != AppointmentStatus.CANCELLED)
+                .filter(b -> b.getEndTime().isAfter(LocalDateTime.now()))
+                .map(Slot::of)
+                .ifPresent(slot -> {
+                    slotsByRoom.computeIfAbsent(slot.roomId(), id -> new ConcurrentSkipListSet<>(BY_START)).add(slot);
+                    slotsByAppointment.put(slot.appointmentId(), slot);
+                });
+    }
+
+    /**
+     * Drop bookings that have ended; the index only needs the present and the future.
+     * Runs every night at 3:30 AM.
+     */
+    @Scheduled(cron = "${app.scheduler.room-occupancy-prune-cron:0 30 3 * * ?}")
+    public synchronized void pruneEndedBookings() {
+        LocalDateTime now = LocalDateTime.now();
+        slotsByAppointment.values().removeIf(slot -> {
+            if (slot.end().isAfter(now)) {
+                return false;
+            }
+            slotsByRoom.get(slot.roomId()).remove(slot);
+            return true;
+        });
+    }
+
+    public List<RoomResponse> getRooms() {
+        return rooms();
+    }
+
+    public Optional<RoomResponse> findRoom(Long roomId) {
+        return rooms().stream().filter(room -> room.getId().equals(roomId)).findFirst();
+    }
+
+    public boolean hasActiveRooms() {
+        return rooms().stream().anyMatch(RoomResponse::getActive);
+    }
+
+    public boolean isFree(Long roomId, LocalDateTime startTime, LocalDateTime endTime) {
+        NavigableSet<Slot> slots = slotsByRoom.get(roomId);
+        if (slots == null) {
+            return true;
+        }
+        // The latest booking starting before the slot ends is the only one that can still be running
+        Slot latest = slots.lower(new Slot(Long.MIN_VALUE, roomId, endTime, endTime));
+        return latest == null || !latest.end().isAfter(startTime);
+    }
+
+    public List<RoomResponse> findFreeRooms(LocalDateTime startTime, LocalDateTime endTime) {
+        return rooms().stream()
+                .filter(RoomResponse::getActive)
+                .filter(room -> isFree(room.getId(), startTime, endTime))
+                .toList();
+    }
+
+    /**
+     * A free active room for the slot, preferring the one named {@code preferredName}
+     * (the doctor's usual room), otherwise the first free room by name.
+     */
+    public Optional<RoomResponse> findFreeRoom(LocalDateTime startTime, LocalDateTime endTime, String preferredName) {
+        List<RoomResponse> free = findFreeRooms(startTime, endTime);
+        if (preferredName != null) {
+            String preferred = preferredName.trim();
+            for (RoomResponse room : free) {
+                if (room.getName().equalsIgnoreCase(preferred)) {
+                    return Optional.of(room);
+                }
+            }
+        }
+        return free.stream().findFirst();
+    }
+
+    private List<RoomResponse> rooms() {
+        List<RoomResponse> current = rooms;
+        if (current == null) {
+            // Bookings can arrive before the startup load has finished
+            load();
+            current = rooms;
+        }
+        return current;
+    }
+
+    private <T> T readOnly(Supplier<T> query) {
+        // Also runs right after another transaction commits, so it always gets its own
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> query.get());
+    }
+
+    private record Slot(Long appointmentId, Long roomId, LocalDateTime start, LocalDateTime end) {
+
+        static Slot of(RoomBooking booking) {
+            return new Slot(booking.getId(), booking.getRoomId(), booking.getStartTime(), booking.getEndTime());
+        }
+    }
+}
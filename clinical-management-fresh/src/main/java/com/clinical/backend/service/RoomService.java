@@ -0,0 +1,90 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.room.RoomRequest;
+import com.clinical.backend.dto.room.RoomResponse;
+import com.clinical.backend.entity.Room;
+import com.clinical.backend.event.RoomChangedEvent;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.exception.ResourceNotFoundException;
+import com.clinical.backend.repository.RoomRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Management of consultation rooms. Reads are served by {@link RoomOccupancyService}; every
+ * write publishes {@link RoomChangedEvent} so its room list is reloaded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RoomService {
+
+    private final RoomRepository roomRepository;
+    private final RoomOccupancyService roomOccupancyService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public List<RoomResponse> getAllRooms() {
+        return roomOccupancyService.getRooms();
+    }
+
+    public List<RoomResponse> getFreeRooms(LocalDateTime startTime, LocalDateTime endTime) {
+        if (!endTime.isAfter(startTime)) {
+            throw new BusinessException("End time must be after start time");
+        }
+        return roomOccupancyService.findFreeRooms(startTime, endTime);
+    }
+
+    @Transactional
+    public RoomResponse createRoom(RoomRequest request) {
+        String name = request.getName().trim();
+        if (roomRepository.existsByNameIgnoreCase(name)) {
+            throw new BusinessException("A room named " + name + " already exists");
+        }
+
+        Room room = roomRepository.save(Room.builder()
+                .name(name)
+                .description(request.getDescription())
+                .active(request.getActive() == null || request.getActive())
+                .build());
+
+        eventPublisher.publishEvent(new RoomChangedEvent(room.getId()));
+        log.info("Created room {}", name);
+        return toResponse(room);
+    }
+
+    @Transactional
+    public RoomResponse updateRoom(Long id, RoomRequest request) {
+        Room room = roomRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Room not found with id: " + id));
+
+        String name = request.getName().trim();
+        if (!room.getName().equalsIgnoreCase(name) && roomRepository.existsByNameIgnoreCase(name)) {
+            throw new BusinessException("A room named " + name + " already exists");
+        }
+        room.setName(name);
+        room.setDescription(request.getDescription());
+        if (request.getActive() != null) {
+            // Deactivating only stops new assignments; existing bookings keep the room
+            room.setActive(request.getActive());
+        }
+
+        Room saved = roomRepository.save(room);
+        eventPublisher.publishEvent(new RoomChangedEvent(saved.getId()));
+        return toResponse(saved);
+    }
+
+    private RoomResponse toResponse(Room room) {
+        return RoomResponse.builder()
+                .id(room.getId())
+                .name(room.getName())
+                .description(room.getDescription())
+                .active(room.getActive())
+                .build();
+    }
+}
@@ -0,0 +1,168 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.search.SearchHitResponse;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.search.SearchMappingConfigurer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.search.engine.common.EntityReference;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.hibernate.search.mapper.orm.work.SearchIndexingPlan;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.clinical.backend.search.SearchFields.AUDIENCE;
+import static com.clinical.backend.search.SearchFields.BODY;
+import static com.clinical.backend.search.SearchFields.PUBLIC_AUDIENCE;
+import static com.clinical.backend.search.SearchFields.TITLE;
+import static com.clinical.backend.search.SearchFields.TITLE_PREFIX;
+
+/**
+ * Global search over the embedded Lucene index. Hits are ranked with exact title matches first,
+ * then title prefixes, then fuzzy (one typo) matches on titles and body text.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SearchService {
+
+    private static final int MAX_RESULTS = 100;
+
+    private final EntityManager entityManager;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final AtomicBoolean reindexRunning = new AtomicBoolean();
+
+    @Value("${app.search.reindex.threads-to-load-objects:4}")
+    private int reindexThreads;
+
+    @Value("${app.search.reindex.batch-size:100}")
+    private int reindexBatchSize;
+
+    @Value("${app.search.reindex-if-empty:true}")
+    private boolean reindexIfEmpty;
+
+    /**
+     * Each replica keeps its own index; a fresh pod starts with an empty one and fills it here.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reindexIfEmpty() {
+        if (!reindexIfEmpty) {
+            return;
+        }
+        long indexed = Search.session(entityManager)
+                .search(SearchMappingConfigurer.INDEXED_TYPES)
+                .where(f -> f.matchAll())
+                .fetchTotalHitCount();
+        if (indexed == 0) {
+            log.info("Search index is empty, rebuilding it");
+            startReindex();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public List<SearchHitResponse> search(String query, Long currentUserId, int limit) {
+        String terms = query == null ? "" : query.trim();
+        if (terms.isEmpty()) {
+            throw new BusinessException("Search query must not be empty");
+        }
+        int maxResults = Math.min(Math.max(limit, 1), MAX_RESULTS);
+
+        SearchSession session = Search.session(entityManager);
+        return session.search(SearchMappingConfigurer.INDEXED_TYPES)
+                .select(f -> f.composite()
+                        .from(f.entityReference(), f.score(), f.field(TITLE, String.class))
+                        .as(SearchService::toHit))
+                .where(f -> f.bool()
+                        .must(f.bool()
+                                .should(f.match().field(TITLE).matching(terms).boost(3.0f))
+                                .should(f.match().field(TITLE_PREFIX).matching(terms).boost(2.0f))
+                                .should(f.match().field(TITLE).matching(terms).fuzzy(1))
+                                .should(f.match().field(BODY).matching(terms).fuzzy(1)))
+                        .filter(f.bool()
+                                .should(f.match().field(AUDIENCE).matching(PUBLIC_AUDIENCE))
+                                .should(f.match().field(AUDIENCE).matching(currentUserId))))
+                .fetchHits(maxResults);
+    }
+
+    /**
+     * Typed against the engine's {@link EntityReference}; the ORM mapper's own one is deprecated.
+     */
+    private static SearchHitResponse toHit(EntityReference reference, Float score, String title) {
+        return SearchHitResponse.builder()
+                .type(reference.name().toUpperCase(Locale.ROOT))
+                .id((Long) reference.id())
+                .title(title)
+                .score(score)
+                .build();
+    }
+
+    /**
+     * Add or refresh the given entities in the index now, e.g. rows just written with plain JDBC.
+     * Much cheaper than {@link #startReindex(Collection)} when only part of a type changed.
+     */
+    @Transactional(readOnly = true)
+    public void index(Class<?> type, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String entityName = entityManager.getMetamodel().entity(type).getName();
+        List<?> entities = entityManager
+                .createQuery("SELECT e FROM " + entityName + " e WHERE e.id IN :ids", type)
+                .setParameter("ids", ids)
+                .getResultList();
+
+        SearchIndexingPlan indexingPlan = Search.session(entityManager).indexingPlan();
+        entities.forEach(indexingPlan::addOrUpdate);
+        indexingPlan.execute();
+        entityManager.clear();
+    }
+
+    /**
+     * Rebuild every index from the database in the background. Entities are loaded in batches on
+     * several threads per type, and two types are indexed concurrently.
+     */
+    public void startReindex() {
+        startReindex(SearchMappingConfigurer.INDEXED_TYPES);
+    }
+
+    /**
+     * Rebuild the indexes of the given entity types only, e.g. after rows were written with plain JDBC.
+     */
+    public void startReindex(Collection<? extends Class<?>> types) {
+        if (!reindexRunning.compareAndSet(false, true)) {
+            throw new BusinessException("A search reindex is already running");
+        }
+
+        log.info("Starting search reindex with {} loader threads and batch size {}", reindexThreads, reindexBatchSize);
+        long startedAt = System.currentTimeMillis();
+
+        Search.mapping(entityManagerFactory)
+                .scope(types)
+                .massIndexer()
+                .typesToIndexInParallel(2)
+                .threadsToLoadObjects(reindexThreads)
+                .batchSizeToLoadObjects(reindexBatchSize)
+                .start()
+                .whenComplete((ignored, error) -> {
+                    reindexRunning.set(false);
+                    if (error != null) {
+                        log.error("Search reindex failed", error);
+                    } else {
+                        log.info("Search reindex completed in {} ms", System.currentTimeMillis() - startedAt);
+                    }
+                });
+    }
+}
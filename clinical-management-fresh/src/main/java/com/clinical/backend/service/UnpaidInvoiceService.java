@@ -0,0 +1,183 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.invoice.UnpaidInvoicePageResponse;
+import com.clinical.backend.dto.invoice.UnpaidInvoiceResponse;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.util.CsvWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Open (PENDING and OVERDUE) invoices for collections work, earliest due date first and
+ * invoices without a due date last.
+ *
+ * Both the paged listing and the CSV export read flat rows joined with the patient in one
+ * query, so no invoice entity or lazy association is touched. Pages are keyset-based on
+ * (due date, id) and served by idx_invoices_unpaid_due, so a deep page costs the same as the
+ * first one. The export streams through a server-side cursor, so its memory use does not
+ * depend on the size of the backlog.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class UnpaidInvoiceService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private static final int FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Must match the expression of idx_invoices_unpaid_due
+    private static final String DUE_ORDER = "COALESCE(i.due_date, DATE '9999-12-31')";
+    private static final LocalDate NO_DUE_DATE = LocalDate.of(9999, 12, 31);
+
+    private static final String SELECT_UNPAID_SQL =
+            "SELECT i.id, i.invoice_number, i.patient_id, p.first_name, p.last_name, p.phone, p.email, " +
+            "i.amount_cents, i.tax_cents, i.total_cents, i.status, i.due_date, i.created_at " +
+            "FROM invoices i JOIN patients p ON p.id = i.patient_id " +
+            "WHERE i.status IN ('PENDING', 'OVERDUE') ";
+
+    private static final String PAGE_SQL = SELECT_UNPAID_SQL +
+            "AND (" + DUE_ORDER + ", i.id) > (:afterDueDate, :afterId) " +
+            "ORDER BY " + DUE_ORDER + ", i.id LIMIT :limit";
+
+    private static final String EXPORT_SQL = SELECT_UNPAID_SQL +
+            "ORDER BY " + DUE_ORDER + ", i.id";
+
+    private static final String[] CSV_HEADER = {
+            "invoiceId", "invoiceNumber", "patientId", "patientName", "phone", "email",
+            "amountCents", "taxCents", "totalCents", "status", "dueDate", "createdAt"
+    };
+
+    private static final RowMapper<UnpaidInvoiceResponse> ROW_MAPPER = (rs, rowNum) -> UnpaidInvoiceResponse.builder()
+            .id(rs.getLong("id"))
+            .invoiceNumber(rs.getString("invoice_number"))
+            .patientId(rs.getLong("patient_id"))
+            .patientName(rs.getString("first_name") + " " + rs.getString("last_name"))
+            .patientPhone(rs.getString("phone"))
+            .patientEmail(rs.getString("email"))
+            .amountCents(rs.getInt("amount_cents"))
+            .taxCents(rs.getInt("tax_cents"))
+            .totalCents(rs.getInt("total_cents"))
+            .status(rs.getString("status"))
+            .dueDate(rs.getObject("due_date", LocalDate.class))
+            .createdAt(rs.getObject("created_at", LocalDateTime.class))
+            .build();
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    public UnpaidInvoicePageResponse getUnpaidInvoices(String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        Position after = decodeCursor(cursor);
+
+        // One extra row tells whether another page follows
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("afterDueDate", after.dueDate())
+                .addValue("afterId", after.id())
+                .addValue("limit", pageSize + 1);
+        List<UnpaidInvoiceResponse> rows = jdbcTemplate.query(PAGE_SQL, params, ROW_MAPPER);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<UnpaidInvoiceResponse> invoices = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            UnpaidInvoiceResponse last = invoices.get(invoices.size() - 1);
+            nextCursor = encodeCursor(new Position(last.getDueDate() != null ? last.getDueDate() : NO_DUE_DATE, last.getId()));
+        }
+        return UnpaidInvoicePageResponse.builder()
+                .invoices(invoices)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    /**
+     * Write every open invoice as CSV to the given stream. The stream is not closed.
+     */
+    public void exportCsv(OutputStream outputStream) throws IOException {
+        CsvWriter csv = new CsvWriter(new BufferedWriter(
+                new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE));
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+
+        AtomicLong exported = new AtomicLong();
+        long startedAt = System.currentTimeMillis();
+
+        csv.writeRecord((Object[]) CSV_HEADER);
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.getJdbcTemplate().query(this::openCursor, (ResultSet rs) -> {
+                    UnpaidInvoiceResponse invoice = ROW_MAPPER.mapRow(rs, 0);
+                    try {
+                        csv.writeRecord(invoice.getId(), invoice.getInvoiceNumber(), invoice.getPatientId(),
+                                invoice.getPatientName(), invoice.getPatientPhone(), invoice.getPatientEmail(),
+                                invoice.getAmountCents(),
+                                invoice.getTaxCents(), invoice.getTotalCents(), invoice.getStatus(),
+                                invoice.getDueDate(), invoice.getCreatedAt());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    exported.incrementAndGet();
+                }));
+        csv.flush();
+
+        log.info("Exported {} unpaid invoices in {} ms", exported.get(), System.currentTimeMillis() - startedAt);
+    }
+
+    private PreparedStatement openCursor(Connection connection) throws SQLException {
+        // PostgreSQL only streams with a fetch size inside a transaction (auto-commit off)
+        PreparedStatement statement = connection.prepareStatement(
+                EXPORT_SQL, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(FETCH_SIZE);
+        return statement;
+    }
+
+    // Cursor format (before Base64url): "isoDueDate,id" of the last invoice returned
+
+    static String encodeCursor(Position position) {
+        String raw = position.dueDate() + "," + position.id();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Position decodeCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return Position.START;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int comma = raw.lastIndexOf(',');
+            return new Position(LocalDate.parse(raw.substring(0, comma)), Long.parseLong(raw.substring(comma + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BusinessException("Invalid unpaid invoices cursor");
+        }
+    }
+
+    record Position(LocalDate dueDate, Long id) {
+        // Sorts before every real row, so the first page needs no special-cased query
+        static final Position START = new Position(LocalDate.of(1, 1, 1), 0L);
+    }
+}
@@ -0,0 +1,71 @@
+package com.clinical.backend.util;
+
+/**
+ * String similarity metrics used for fuzzy record matching.
+ */
+public final class StringSimilarity {
+
+    private static final double WINKLER_PREFIX_SCALE = 0.1;
+    private static final int WINKLER_MAX_PREFIX = 4;
+
+    private StringSimilarity() {
+    }
+
+    /**
+     * Jaro-Winkler similarity between 0 (nothing in common) and 1 (identical). Favours strings
+     * that share a prefix, which suits names with typos towards the end.
+     */
+    public static double jaroWinkler(String a, String b) {
+        if (a.equals(b)) {
+            return 1.0;
+        }
+        if (a.isEmpty() || b.isEmpty()) {
+            return 0.0;
+        }
+
+        int matchWindow = Math.max(0, Math.max(a.length(), b.length()) / 2 - 1);
+        boolean[] aMatched = new boolean[a.length()];
+        boolean[] bMatched = new boolean[b.length()];
+
+        int matches = 0;
+        for (int i = 0; i < a.length(); i++) {
+            int from = Math.max(0, i - matchWindow);
+            int to = Math.min(b.length() - 1, i + matchWindow);
+            for (int j = from; j <= to; j++) {
+                if (!bMatched[j] && a.charAt(i) == b.charAt(j)) {
+                    aMatched[i] = true;
+                    bMatched[j] = true;
+                    matches++;
+                    break;
+                }
+            }
+        }
+        if (matches == 0) {
+            return 0.0;
+        }
+
+        int transpositions = 0;
+        int j = 0;
+        for (int i = 0; i < a.length(); i++) {
+            if (aMatched[i]) {
+                while (!bMatched[j]) {
+                    j++;
+                }
+                if (a.charAt(i) != b.charAt(j)) {
+                    transpositions++;
+                }
+                j++;
+            }
+        }
+
+        double m = matches;
+        double jaro = (m / a.length() + m / b.length() + (m - transpositions / 2.0) / m) / 3.0;
+
+        int prefix = 0;
+        int maxPrefix = Math.min(WINKLER_MAX_PREFIX, Math.min(a.length(), b.length()));
+        while (prefix < maxPrefix && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        return jaro + prefix * WINKLER_PREFIX_SCALE * (1.0 - jaro);
+    }
+}
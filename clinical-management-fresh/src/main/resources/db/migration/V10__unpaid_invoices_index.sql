@@ -0,0 +1,4 @@
+-- Keyset index for the unpaid invoices listing (UnpaidInvoiceService): open invoices in
+-- due date order, undated ones last. The expression must match the service's queries.
+CREATE INDEX idx_invoices_unpaid_due ON invoices ((COALESCE(due_date, DATE '9999-12-31')), id)
+    WHERE status IN ('PENDING', 'OVERDUE');
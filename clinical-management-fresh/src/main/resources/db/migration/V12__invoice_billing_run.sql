@@ -0,0 +1,8 @@
+-- Invoices created by the nightly billing run (BillingRunService)
+ALTER TABLE invoices ADD COLUMN auto_billed BOOLEAN NOT NULL DEFAULT FALSE;
+
+-- At most one automatic invoice per appointment, so overlapping runs cannot bill twice
+CREATE UNIQUE INDEX uk_invoices_auto_billed_appointment ON invoices(appointment_id) WHERE auto_billed;
+
+-- The run looks for completed appointments; this keeps it off the rest of the table
+CREATE INDEX idx_appointments_completed ON appointments(id) WHERE status = 'COMPLETED';
@@ -0,0 +1,30 @@
+-- Gap-free invoice numbers per calendar year, e.g. 2025-000042 (InvoiceNumberService).
+-- Numbers are assigned right after an invoice commits, in creation order, so a rolled back
+-- invoice never consumes one.
+ALTER TABLE invoices ADD COLUMN invoice_number VARCHAR(20);
+
+-- Last number handed out per year; only the numbering transaction locks these rows
+CREATE TABLE invoice_number_counters (
+    year INTEGER PRIMARY KEY,
+    last_number INTEGER NOT NULL
+);
+
+-- Existing invoices are numbered by creation order within their year
+UPDATE invoices i
+SET invoice_number = n.year || '-' || LPAD(n.seq::text, GREATEST(6, LENGTH(n.seq::text)), '0')
+FROM (
+    SELECT id, EXTRACT(YEAR FROM created_at)::int AS year,
+           ROW_NUMBER() OVER (PARTITION BY EXTRACT(YEAR FROM created_at) ORDER BY created_at, id) AS seq
+    FROM invoices
+) n
+WHERE i.id = n.id;
+
+INSERT INTO invoice_number_counters (year, last_number)
+SELECT EXTRACT(YEAR FROM created_at)::int, COUNT(*)
+FROM invoices
+GROUP BY 1;
+
+CREATE UNIQUE INDEX uk_invoices_invoice_number ON invoices(invoice_number);
+
+-- Invoices still waiting for their number; normally empty
+CREATE INDEX idx_invoices_unnumbered ON invoices(created_at, id) WHERE invoice_number IS NULL;
@@ -0,0 +1,28 @@
+-- A payment must lock its day's dirty marker until it commits. With ON CONFLICT DO NOTHING
+-- an existing marker was left unlocked, so a rollup refresh could drain it and rebuild the day
+-- before the payment committed, and the payment was then never counted. Updating the marker
+-- holds its row lock, which makes the refresh's DELETE wait for the payment.
+CREATE OR REPLACE FUNCTION mark_invoice_revenue_dirty()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE'
+        AND OLD.status IS NOT DISTINCT FROM NEW.status
+        AND OLD.paid_at IS NOT DISTINCT FROM NEW.paid_at
+        AND OLD.payment_method IS NOT DISTINCT FROM NEW.payment_method
+        AND OLD.total_cents IS NOT DISTINCT FROM NEW.total_cents
+        AND OLD.tax_cents IS NOT DISTINCT FROM NEW.tax_cents
+        AND OLD.appointment_id IS NOT DISTINCT FROM NEW.appointment_id THEN
+        RETURN NULL;
+    END IF;
+    -- Both the old and the new payment day may change, e.g. when a payment is corrected
+    IF TG_OP <> 'INSERT' AND OLD.paid_at IS NOT NULL THEN
+        INSERT INTO invoice_revenue_dirty_days (day) VALUES (OLD.paid_at::date)
+        ON CONFLICT (day) DO UPDATE SET day = EXCLUDED.day;
+    END IF;
+    IF TG_OP <> 'DELETE' AND NEW.paid_at IS NOT NULL THEN
+        INSERT INTO invoice_revenue_dirty_days (day) VALUES (NEW.paid_at::date)
+        ON CONFLICT (day) DO UPDATE SET day = EXCLUDED.day;
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
@@ -0,0 +1,17 @@
+-- Month-end invoice export jobs (InvoiceExportService), shared by all replicas so any of them
+-- can report progress and serve the archive from the PDF storage volume
+CREATE TABLE invoice_export_jobs (
+    id VARCHAR(36) PRIMARY KEY,
+    date_from DATE NOT NULL,
+    date_to DATE NOT NULL,
+    status VARCHAR(20) NOT NULL CHECK (status IN ('QUEUED', 'RUNNING', 'COMPLETED', 'FAILED')),
+    total_invoices BIGINT NOT NULL DEFAULT 0,
+    processed_invoices BIGINT NOT NULL DEFAULT 0,
+    error TEXT,
+    archive_path VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    completed_at TIMESTAMP
+);
+
+-- Expired jobs are purged by age
+CREATE INDEX idx_invoice_export_jobs_expiry ON invoice_export_jobs((COALESCE(completed_at, created_at)));
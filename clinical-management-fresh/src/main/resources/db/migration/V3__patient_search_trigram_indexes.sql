@@ -0,0 +1,7 @@
+-- Trigram indexes for substring patient search (PatientRepository.searchPatients)
+-- LOWER(col) LIKE '%term%' cannot use the B-tree indexes from V1, so every search was a sequential scan
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX idx_patients_first_name_trgm ON patients USING gin (LOWER(first_name) gin_trgm_ops);
+CREATE INDEX idx_patients_last_name_trgm ON patients USING gin (LOWER(last_name) gin_trgm_ops);
+CREATE INDEX idx_patients_email_trgm ON patients USING gin (LOWER(email) gin_trgm_ops);
@@ -0,0 +1,14 @@
+-- Blocking keys for duplicate patient detection (PatientDuplicateService)
+-- A new record is only compared against patients sharing at least one key:
+--   NAME_DOB  double metaphone of the last name + date of birth
+--   EMAIL     lower-cased email without +tag
+--   PHONE     last 9 digits of the phone number
+-- Rows are maintained by the application; existing patients are backfilled on startup.
+CREATE TABLE patient_blocking_keys (
+    key_type VARCHAR(16) NOT NULL,
+    key_value VARCHAR(255) NOT NULL,
+    patient_id BIGINT NOT NULL REFERENCES patients(id) ON DELETE CASCADE,
+    PRIMARY KEY (key_type, key_value, patient_id)
+);
+
+CREATE INDEX idx_patient_blocking_keys_patient ON patient_blocking_keys(patient_id);
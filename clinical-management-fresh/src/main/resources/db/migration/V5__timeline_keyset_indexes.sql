@@ -0,0 +1,17 @@
+-- Composite indexes for the keyset-paginated patient timeline (PatientTimelineService)
+-- Each source is read newest first as (owner, timestamp, id) < (:owner, :time, :id), so every page
+-- is a single backward range scan. They replace the single-column owner indexes they extend.
+DROP INDEX IF EXISTS idx_appointments_patient_date;
+CREATE INDEX idx_appointments_patient_date ON appointments(patient_id, start_time, id);
+
+DROP INDEX IF EXISTS idx_prescriptions_patient;
+CREATE INDEX idx_prescriptions_patient_created ON prescriptions(patient_id, created_at, id);
+
+DROP INDEX IF EXISTS idx_invoices_patient;
+CREATE INDEX idx_invoices_patient_created ON invoices(patient_id, created_at, id);
+
+DROP INDEX IF EXISTS idx_messages_from_user;
+CREATE INDEX idx_messages_from_user_created ON messages(from_user_id, created_at, id);
+
+DROP INDEX IF EXISTS idx_messages_to_user;
+CREATE INDEX idx_messages_to_user_created ON messages(to_user_id, created_at, id);
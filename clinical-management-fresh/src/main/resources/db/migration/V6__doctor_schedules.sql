@@ -0,0 +1,33 @@
+-- Weekly working hours per doctor (DoctorAvailabilityService)
+-- Several rows on the same weekday express split shifts, i.e. a recurring break between them.
+-- Doctors without rows fall back to doctors.available_from/available_to on every day.
+CREATE TABLE doctor_schedule_templates (
+    id BIGSERIAL PRIMARY KEY,
+    doctor_id BIGINT NOT NULL REFERENCES doctors(id) ON DELETE CASCADE,
+    day_of_week VARCHAR(9) NOT NULL CHECK (day_of_week IN
+        ('MONDAY', 'TUESDAY', 'WEDNESDAY', 'THURSDAY', 'FRIDAY', 'SATURDAY', 'SUNDAY')),
+    start_time TIME NOT NULL,
+    end_time TIME NOT NULL,
+    CHECK (end_time > start_time)
+);
+
+CREATE INDEX idx_doctor_schedule_templates_doctor ON doctor_schedule_templates(doctor_id);
+
+-- Dated unavailability: one-off breaks, vacations, and clinic-wide holiday closures (doctor_id NULL)
+-- Without a time range the whole day is blocked; with one, that time is blocked on every day of the range.
+CREATE TABLE doctor_schedule_exceptions (
+    id BIGSERIAL PRIMARY KEY,
+    doctor_id BIGINT REFERENCES doctors(id) ON DELETE CASCADE,
+    start_date DATE NOT NULL,
+    end_date DATE NOT NULL,
+    start_time TIME,
+    end_time TIME,
+    reason VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CHECK (end_date >= start_date),
+    CHECK ((start_time IS NULL) = (end_time IS NULL)),
+    CHECK (end_time IS NULL OR end_time > start_time)
+);
+
+CREATE INDEX idx_doctor_schedule_exceptions_doctor ON doctor_schedule_exceptions(doctor_id, end_date);
+CREATE INDEX idx_doctor_schedule_exceptions_end_date ON doctor_schedule_exceptions(end_date);
@@ -0,0 +1,25 @@
+-- Consultation rooms as a bookable resource (RoomOccupancyService)
+CREATE TABLE rooms (
+    id BIGSERIAL PRIMARY KEY,
+    name VARCHAR(50) NOT NULL UNIQUE,
+    description VARCHAR(255),
+    active BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- Seed from the free-text doctors.room values; doctors keep that column as their preferred room
+INSERT INTO rooms (name)
+SELECT DISTINCT TRIM(room) FROM doctors WHERE room IS NOT NULL AND TRIM(room) <> '';
+
+-- Existing appointments stay without a room, so historical double bookings cannot block the migration
+ALTER TABLE appointments ADD COLUMN room_id BIGINT REFERENCES rooms(id);
+
+CREATE INDEX idx_appointments_room_time ON appointments(room_id, start_time, end_time);
+
+-- Same rule as prevent_double_booking, applied to rooms
+ALTER TABLE appointments
+ADD CONSTRAINT prevent_room_double_booking
+EXCLUDE USING gist (
+    room_id WITH =,
+    tsrange(start_time, end_time, '()') WITH &&
+) WHERE (room_id IS NOT NULL AND status NOT IN ('CANCELLED'));
@@ -0,0 +1,53 @@
+-- Daily revenue rollup for the reporting endpoints (RevenueReportService)
+-- Revenue is cash-basis: PAID invoices counted on the day they were paid.
+CREATE TABLE invoice_revenue_daily (
+    day DATE NOT NULL,
+    doctor_id BIGINT NOT NULL,
+    payment_method VARCHAR(50) NOT NULL,
+    invoice_count BIGINT NOT NULL,
+    total_cents BIGINT NOT NULL,
+    tax_cents BIGINT NOT NULL,
+    PRIMARY KEY (day, doctor_id, payment_method)
+);
+
+-- Days whose rollup rows are stale; filled by the trigger below, drained by the refresh
+CREATE TABLE invoice_revenue_dirty_days (
+    day DATE PRIMARY KEY
+);
+
+CREATE OR REPLACE FUNCTION mark_invoice_revenue_dirty()
+RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'UPDATE'
+        AND OLD.status IS NOT DISTINCT FROM NEW.status
+        AND OLD.paid_at IS NOT DISTINCT FROM NEW.paid_at
+        AND OLD.payment_method IS NOT DISTINCT FROM NEW.payment_method
+        AND OLD.total_cents IS NOT DISTINCT FROM NEW.total_cents
+        AND OLD.tax_cents IS NOT DISTINCT FROM NEW.tax_cents
+        AND OLD.appointment_id IS NOT DISTINCT FROM NEW.appointment_id THEN
+        RETURN NULL;
+    END IF;
+    -- Both the old and the new payment day may change, e.g. when a payment is corrected
+    IF TG_OP <> 'INSERT' AND OLD.paid_at IS NOT NULL THEN
+        INSERT INTO invoice_revenue_dirty_days (day) VALUES (OLD.paid_at::date) ON CONFLICT DO NOTHING;
+    END IF;
+    IF TG_OP <> 'DELETE' AND NEW.paid_at IS NOT NULL THEN
+        INSERT INTO invoice_revenue_dirty_days (day) VALUES (NEW.paid_at::date) ON CONFLICT DO NOTHING;
+    END IF;
+    RETURN NULL;
+END;
+$$ language 'plpgsql';
+
+CREATE TRIGGER mark_invoices_revenue_dirty AFTER INSERT OR UPDATE OR DELETE ON invoices
+    FOR EACH ROW EXECUTE FUNCTION mark_invoice_revenue_dirty();
+
+-- Recomputing a dirty day reads only that day's paid invoices
+CREATE INDEX idx_invoices_paid_at ON invoices(paid_at) WHERE status = 'PAID';
+
+INSERT INTO invoice_revenue_daily (day, doctor_id, payment_method, invoice_count, total_cents, tax_cents)
+SELECT i.paid_at::date, a.doctor_id, COALESCE(UPPER(TRIM(i.payment_method)), 'UNKNOWN'),
+       COUNT(*), SUM(i.total_cents), SUM(i.tax_cents)
+FROM invoices i
+JOIN appointments a ON a.id = i.appointment_id
+WHERE i.status = 'PAID' AND i.paid_at IS NOT NULL
+GROUP BY 1, 2, 3;
@@ -0,0 +1,22 @@
+-- Structured invoice lines, replacing the free-text invoices.line_items column
+CREATE TABLE invoice_line_items (
+    id BIGSERIAL PRIMARY KEY,
+    invoice_id BIGINT NOT NULL REFERENCES invoices(id) ON DELETE CASCADE,
+    position INTEGER NOT NULL,
+    service_code VARCHAR(50) NOT NULL,
+    description VARCHAR(255) NOT NULL,
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    unit_price_cents INTEGER NOT NULL CHECK (unit_price_cents >= 0),
+    tax_cents INTEGER NOT NULL DEFAULT 0 CHECK (tax_cents >= 0),
+    line_total_cents INTEGER GENERATED ALWAYS AS (quantity * unit_price_cents + tax_cents) STORED,
+    UNIQUE (invoice_id, position)
+);
+
+-- Per-service revenue reads the lines of one service and joins them to their invoices
+CREATE INDEX idx_invoice_line_items_service ON invoice_line_items(service_code, invoice_id);
+
+-- Existing invoices become a single consultation line carrying their amount and tax.
+-- invoices.line_items is no longer written; it stays so the original text is not lost.
+INSERT INTO invoice_line_items (invoice_id, position, service_code, description, quantity, unit_price_cents, tax_cents)
+SELECT id, 1, 'CONSULTATION', 'Medical Consultation', 1, amount_cents, tax_cents
+FROM invoices;
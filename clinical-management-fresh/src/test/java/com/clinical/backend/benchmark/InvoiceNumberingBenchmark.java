@@ -0,0 +1,150 @@
+package com.clinical.backend.benchmark;
+
+import com.clinical.backend.service.InvoiceNumberService;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invoice creations per second with 50 concurrent creators, each taking a gap-free number.
+ *
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *           -Dexec.args="-cp %classpath com.clinical.backend.benchmark.InvoiceNumberingBenchmark"
+ *
+ * exec:exec puts the test classpath on the launched JVM's -cp, which the forked benchmark JVM
+ * inherits. exec:java would run inside Maven, and the fork would not find the benchmark classes.
+ *
+ * Needs Docker: the schema is built by the Flyway migrations in a PostgreSQL container.
+ * {@code numberInCreatingTransaction} is the naive approach, where the counter row stays locked
+ * until the creating transaction commits; {@code numberAfterCommit} goes through
+ * {@link InvoiceNumberService}. {@code transactionWorkMs} stands in for the rest of
+ * {@code createInvoice} (line items, audit log, round trips) done while that transaction is open.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(50)
+@Fork(1)
+public class InvoiceNumberingBenchmark {
+
+    private static final String INSERT_INVOICE_SQL =
+            "INSERT INTO invoices (appointment_id, patient_id, amount_cents, tax_cents, total_cents, status, invoice_number) " +
+            "VALUES (:appointmentId, :patientId, 5000, 0, 5000, 'PENDING', :invoiceNumber)";
+
+    private static final String NEXT_NUMBER_SQL =
+            "INSERT INTO invoice_number_counters (year, last_number) VALUES (:year, 1) " +
+            "ON CONFLICT (year) DO UPDATE SET last_number = invoice_number_counters.last_number + 1 " +
+            "RETURNING last_number";
+
+    @Param({"0", "5"})
+    public int transactionWorkMs;
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private InvoiceNumberService invoiceNumberService;
+    private MapSqlParameterSource invoice;
+    private int year;
+
+    @Setup
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(postgres.getJdbcUrl());
+        config.setUsername(postgres.getUsername());
+        config.setPassword(postgres.getPassword());
+        // One connection per creator plus the numbering transaction
+        config.setMaximumPoolSize(60);
+        dataSource = new HikariDataSource(config);
+
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        invoiceNumberService = new InvoiceNumberService(jdbcTemplate, transactionManager);
+
+        invoice = jdbcTemplate.queryForObject(
+                "SELECT id, patient_id FROM appointments ORDER BY id LIMIT 1", new MapSqlParameterSource(),
+                (rs, rowNum) -> new MapSqlParameterSource()
+                        .addValue("appointmentId", rs.getLong("id"))
+                        .addValue("patientId", rs.getLong("patient_id")));
+        year = LocalDate.now().getYear();
+    }
+
+    @TearDown
+    public void tearDown() {
+        // Both strategies share the counters, so every number must still be taken exactly once
+        Integer gaps = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(MAX(c.last_number), 0) - COUNT(i.id) FROM invoice_number_counters c " +
+                "LEFT JOIN invoices i ON i.invoice_number LIKE c.year || '-%' WHERE c.year = :year",
+                new MapSqlParameterSource("year", year), Integer.class);
+        System.out.println("Missing invoice numbers: " + gaps);
+        dataSource.close();
+        postgres.stop();
+    }
+
+    @Benchmark
+    public void numberInCreatingTransaction() {
+        transactionTemplate.executeWithoutResult(status -> {
+            Integer number = jdbcTemplate.queryForObject(NEXT_NUMBER_SQL,
+                    new MapSqlParameterSource("year", year), Integer.class);
+            jdbcTemplate.update(INSERT_INVOICE_SQL, new MapSqlParameterSource(invoice.getValues())
+                    .addValue("invoiceNumber", String.format("%d-%06d", year, number)));
+            doTransactionWork();
+        });
+    }
+
+    @Benchmark
+    public void numberAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(INSERT_INVOICE_SQL, new MapSqlParameterSource(invoice.getValues())
+                    .addValue("invoiceNumber", null));
+            doTransactionWork();
+        });
+        invoiceNumberService.assignPendingNumbers();
+    }
+
+    private void doTransactionWork() {
+        if (transactionWorkMs > 0) {
+            jdbcTemplate.getJdbcTemplate().execute("SELECT pg_sleep(" + transactionWorkMs / 1000.0 + ")");
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(InvoiceNumberingBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,149 @@
+package com.clinical.backend.benchmark;
+
+import com.clinical.backend.entity.Appointment;
+import com.clinical.backend.entity.Doctor;
+import com.clinical.backend.entity.Invoice;
+import com.clinical.backend.entity.InvoiceLineItem;
+import com.clinical.backend.entity.Patient;
+import com.clinical.backend.entity.Prescription;
+import com.clinical.backend.entity.User;
+import com.clinical.backend.enums.InvoiceStatus;
+import com.clinical.backend.enums.UserRole;
+import com.clinical.backend.service.PdfService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput and allocation benchmark for PDF rendering.
+ *
+ * Run with: mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java
+ *           -Dexec.args="-cp %classpath com.clinical.backend.benchmark.PdfServiceBenchmark"
+ *
+ * exec:exec puts the test classpath on the launched JVM's -cp, which the forked benchmark JVM
+ * inherits. exec:java would run inside Maven, and the fork would not find the benchmark classes.
+ *
+ * The score is documents/sec; the GC profiler's gc.alloc.rate.norm line is bytes allocated per document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PdfServiceBenchmark {
+
+    private PdfService pdfService;
+    private Prescription prescription;
+    private Invoice invoice;
+    private List<InvoiceLineItem> lineItems;
+
+    @Setup
+    public void setUp() {
+        pdfService = new PdfService();
+
+        User doctorUser = new User();
+        doctorUser.setId(1L);
+        doctorUser.setEmail("doctor@clinical.com");
+        doctorUser.setFullName("Dr. John Smith");
+        doctorUser.setRole(UserRole.DOCTOR);
+
+        Doctor doctor = Doctor.builder()
+                .id(1L)
+                .user(doctorUser)
+                .specialty("Cardiology")
+                .licenseNumber("MD-12345")
+                .build();
+
+        Patient patient = Patient.builder()
+                .id(1L)
+                .firstName("Alice")
+                .lastName("Dupont")
+                .email("alice.dupont@email.com")
+                .dateOfBirth(LocalDate.of(1985, 6, 15))
+                .build();
+
+        Appointment appointment = Appointment.builder()
+                .id(1L)
+                .patient(patient)
+                .doctor(doctor)
+                .startTime(LocalDateTime.now())
+                .endTime(LocalDateTime.now().plusMinutes(30))
+                .build();
+
+        prescription = Prescription.builder()
+                .id(1L)
+                .appointment(appointment)
+                .doctor(doctor)
+                .patient(patient)
+                .diagnosis("Hypertension")
+                .medications("Amlodipine 5mg once daily")
+                .instructions("Take in the morning with water")
+                .validUntil(LocalDate.now().plusMonths(3))
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        invoice = Invoice.builder()
+                .id(1L)
+                .appointment(appointment)
+                .patient(patient)
+                .amountCents(5000)
+                .taxCents(1000)
+                .totalCents(6000)
+                .status(InvoiceStatus.PENDING)
+                .dueDate(LocalDate.now().plusDays(30))
+                .createdAt(LocalDateTime.now())
+                .build();
+
+        lineItems = List.of(
+                InvoiceLineItem.builder().position(1).serviceCode("CONSULTATION").description("Medical Consultation")
+                        .quantity(1).unitPriceCents(3000).taxCents(600).build(),
+                InvoiceLineItem.builder().position(2).serviceCode("ECG").description("Electrocardiogram")
+                        .quantity(2).unitPriceCents(1000).taxCents(400).build());
+    }
+
+    @Benchmark
+    public byte[] prescriptionToBytes() throws IOException {
+        return pdfService.generatePrescriptionPdf(prescription);
+    }
+
+    @Benchmark
+    public byte[] invoiceToBytes() throws IOException {
+        return pdfService.generateInvoicePdf(invoice, lineItems);
+    }
+
+    @Benchmark
+    public void invoiceToStream(Blackhole blackhole) throws IOException {
+        OutputStream sink = OutputStream.nullOutputStream();
+        pdfService.writeInvoicePdf(invoice, lineItems, sink);
+        blackhole.consume(sink);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(PdfServiceBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
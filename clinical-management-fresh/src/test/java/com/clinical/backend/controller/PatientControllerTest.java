@@ -1,8 +1,18 @@
 package com.clinical.backend.controller;
 
+import com.clinical.backend.config.MethodSecurityConfig;
 import com.clinical.backend.dto.patient.PatientRequest;
 import com.clinical.backend.dto.patient.PatientResponse;
+import com.clinical.backend.dto.patient.PatientSummaryResponse;
+import com.clinical.backend.enums.ExportFormat;
+import com.clinical.backend.security.CustomUserDetailsService;
+import com.clinical.backend.security.JwtUtil;
+import com.clinical.backend.service.PatientDuplicateService;
+import com.clinical.backend.service.PatientExportService;
+import com.clinical.backend.service.PatientImportService;
+import com.clinical.backend.service.PatientOverviewService;
 import com.clinical.backend.service.PatientService;
+import com.clinical.backend.service.PatientTimelineService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,16 +21,20 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.util.Arrays;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -30,6 +44,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(PatientController.class)
+@Import(MethodSecurityConfig.class)
 @DisplayName("Patient Controller Integration Tests")
 class PatientControllerTest {
 
@@ -39,6 +54,28 @@ class PatientControllerTest {
     @MockBean
     private PatientService patientService;
 
+    @MockBean
+    private PatientImportService patientImportService;
+
+    @MockBean
+    private PatientExportService patientExportService;
+
+    @MockBean
+    private PatientDuplicateService patientDuplicateService;
+
+    @MockBean
+    private PatientOverviewService patientOverviewService;
+
+    @MockBean
+    private PatientTimelineService patientTimelineService;
+
+    // Needed by JwtAuthenticationFilter, which the web slice picks up
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private CustomUserDetailsService customUserDetailsService;
+
     private ObjectMapper objectMapper;
     private PatientRequest patientRequest;
     private PatientResponse patientResponse;
@@ -97,6 +134,49 @@ class PatientControllerTest {
                 .andExpect(jsonPath("$.data.content[1].firstName").value("Jane"));
     }
 
+    @Test
+    @WithMockUser(roles = "SECRETARY")
+    @DisplayName("Should return summary fields only when view=summary")
+    void testGetAllPatientsSummaryView() throws Exception {
+        // Arrange
+        PatientSummaryResponse summary = PatientSummaryResponse.builder()
+                .id(1L)
+                .firstName("John")
+                .lastName("Doe")
+                .fullName("John Doe")
+                .phone("+1234567890")
+                .build();
+
+        when(patientService.getPatientSummaries(any(Pageable.class)))
+                .thenReturn(new PageImpl<>(Arrays.asList(summary)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/patients")
+                        .with(csrf())
+                        .param("view", "summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.content", hasSize(1)))
+                .andExpect(jsonPath("$.data.content[0].fullName").value("John Doe"))
+                .andExpect(jsonPath("$.data.content[0].medicalHistory").doesNotExist());
+
+        verify(patientService, never()).getAllPatients(any(Pageable.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "SECRETARY")
+    @DisplayName("Should reject an unknown view with 400")
+    void testGetAllPatientsUnknownView() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/patients")
+                        .with(csrf())
+                        .param("view", "compact"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Invalid value 'compact' for parameter 'view', expected one of [SUMMARY, FULL]"));
+
+        verifyNoInteractions(patientService);
+    }
+
     @Test
     @WithMockUser(roles = "SECRETARY")
     @DisplayName("Should get patient by ID successfully")
@@ -145,7 +225,7 @@ class PatientControllerTest {
     @DisplayName("Should create patient successfully")
     void testCreatePatientSuccess() throws Exception {
         // Arrange
-        when(patientService.createPatient(any(PatientRequest.class)))
+        when(patientService.createPatient(any(PatientRequest.class), eq(false)))
                 .thenReturn(patientResponse);
 
         // Act & Assert
@@ -159,7 +239,7 @@ class PatientControllerTest {
                 .andExpect(jsonPath("$.data.firstName").value("John"))
                 .andExpect(jsonPath("$.data.email").value("john.doe@test.com"));
 
-        verify(patientService, times(1)).createPatient(any(PatientRequest.class));
+        verify(patientService, times(1)).createPatient(any(PatientRequest.class), eq(false));
     }
 
     @Test
@@ -176,7 +256,7 @@ class PatientControllerTest {
                         .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
 
-        verify(patientService, never()).createPatient(any());
+        verify(patientService, never()).createPatient(any(), anyBoolean());
     }
 
     @Test
@@ -307,4 +387,57 @@ class PatientControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true));
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should accept a lowercase export format")
+    void testExportPatientsLowercaseFormat() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/patients/export")
+                        .with(csrf())
+                        .param("format", "ndjson"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("Content-Disposition", containsString(".ndjson")));
+        verify(patientExportService, times(1)).export(eq(ExportFormat.NDJSON), eq(false), any(OutputStream.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should accept a lowercase csv export format")
+    void testExportPatientsLowercaseCsvFormat() throws Exception {
+        // Act
+        MvcResult result = mockMvc.perform(get("/api/patients/export")
+                        .with(csrf())
+                        .param("format", "csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "text/csv"))
+                .andExpect(header().string("Content-Disposition", containsString(".csv")));
+        verify(patientExportService, times(1)).export(eq(ExportFormat.CSV), eq(false), any(OutputStream.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should reject an unknown export format with 400")
+    void testExportPatientsUnknownFormat() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/patients/export")
+                        .with(csrf())
+                        .param("format", "xlsx"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Invalid value 'xlsx' for parameter 'format', expected one of [CSV, NDJSON]"));
+
+        verifyNoInteractions(patientExportService);
+    }
 }
@@ -0,0 +1,77 @@
+package com.clinical.backend.controller;
+
+import com.clinical.backend.enums.ReportGranularity;
+import com.clinical.backend.security.CustomUserDetailsService;
+import com.clinical.backend.security.JwtUtil;
+import com.clinical.backend.service.RevenueReportService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReportController.class)
+@DisplayName("Report Controller Integration Tests")
+class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private RevenueReportService revenueReportService;
+
+    // Needed by JwtAuthenticationFilter, which the web slice picks up
+    @MockBean
+    private JwtUtil jwtUtil;
+
+    @MockBean
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Test
+    @WithMockUser(roles = "SECRETARY")
+    @DisplayName("Should accept a lowercase granularity")
+    void testRevenueByPeriodLowercaseGranularity() throws Exception {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 1, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+        when(revenueReportService.getRevenueByPeriod(from, to, ReportGranularity.MONTH)).thenReturn(List.of());
+
+        // Act & Assert
+        mockMvc.perform(get("/api/reports/revenue")
+                        .with(csrf())
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-03-31")
+                        .param("granularity", "month"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true));
+
+        verify(revenueReportService, times(1)).getRevenueByPeriod(from, to, ReportGranularity.MONTH);
+    }
+
+    @Test
+    @WithMockUser(roles = "SECRETARY")
+    @DisplayName("Should reject an unknown granularity with 400")
+    void testRevenueByPeriodUnknownGranularity() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/api/reports/revenue")
+                        .with(csrf())
+                        .param("from", "2025-01-01")
+                        .param("to", "2025-03-31")
+                        .param("granularity", "quarter"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Invalid value 'quarter' for parameter 'granularity', expected one of [DAY, WEEK, MONTH]"));
+
+        verifyNoInteractions(revenueReportService);
+    }
+}
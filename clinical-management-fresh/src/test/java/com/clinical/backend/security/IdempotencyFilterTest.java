@@ -0,0 +1,95 @@
+package com.clinical.backend.security;
+
+import com.clinical.backend.service.IdempotencyService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Idempotency Filter Tests")
+class IdempotencyFilterTest {
+
+    @Mock
+    private IdempotencyService idempotencyService;
+
+    private IdempotencyFilter idempotencyFilter;
+    private final AtomicReference<byte[]> received = new AtomicReference<>();
+    private final FilterChain chain = (request, response) -> received.set(request.getInputStream().readAllBytes());
+
+    @BeforeEach
+    void setUp() {
+        idempotencyFilter = new IdempotencyFilter(idempotencyService, new ObjectMapper());
+        CustomUserDetails user = new CustomUserDetails(1L, "secretary@test.com", "hash", "SECRETARY", true);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should hash and claim a chunked body that stays under the limit")
+    void testSmallChunkedBodyIsClaimed() throws Exception {
+        // Arrange
+        byte[] body = "{\"amount\":100}".getBytes();
+        when(idempotencyService.claim(eq(1L), eq("key-1"), anyString())).thenReturn(Optional.empty());
+
+        // Act
+        idempotencyFilter.doFilter(chunkedPost(body), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertArrayEquals(body, received.get());
+        verify(idempotencyService, times(1)).complete(eq(1L), eq("key-1"), any());
+    }
+
+    @Test
+    @DisplayName("Should stream a chunked body over the limit through without buffering it whole")
+    void testLargeChunkedBodyPassesThrough() throws Exception {
+        // Arrange
+        byte[] body = new byte[3 * 1024 * 1024];
+        Arrays.fill(body, (byte) 'x');
+
+        // Act
+        idempotencyFilter.doFilter(chunkedPost(body), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertArrayEquals(body, received.get());
+        verifyNoInteractions(idempotencyService);
+    }
+
+    private static MockHttpServletRequest chunkedPost(byte[] body) {
+        // Transfer-Encoding: chunked, so no Content-Length is declared
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/patients/import") {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContent(body);
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, "key-1");
+        request.addHeader("Transfer-Encoding", "chunked");
+        return request;
+    }
+}
@@ -2,15 +2,19 @@ package com.clinical.backend.service;
 
 import com.clinical.backend.dto.appointment.AppointmentRequest;
 import com.clinical.backend.dto.appointment.AppointmentResponse;
+import com.clinical.backend.dto.room.RoomResponse;
 import com.clinical.backend.entity.Appointment;
 import com.clinical.backend.entity.Doctor;
 import com.clinical.backend.entity.Patient;
+import com.clinical.backend.entity.Room;
 import com.clinical.backend.entity.User;
 import com.clinical.backend.enums.AppointmentStatus;
 import com.clinical.backend.enums.UserRole;
+import com.clinical.backend.exception.BusinessException;
 import com.clinical.backend.repository.AppointmentRepository;
 import com.clinical.backend.repository.DoctorRepository;
 import com.clinical.backend.repository.PatientRepository;
+import com.clinical.backend.repository.RoomRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -18,6 +22,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -44,6 +50,24 @@ class AppointmentServiceTest {
     @Mock
     private DoctorRepository doctorRepository;
 
+    @Mock
+    private DoctorAvailabilityService doctorAvailabilityService;
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomOccupancyService roomOccupancyService;
+
+    @Mock
+    private EmailService emailService;
+
+    @Mock
+    private SimpMessagingTemplate messagingTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AppointmentService appointmentService;
 
@@ -151,6 +175,71 @@ class AppointmentServiceTest {
         verify(appointmentRepository, never()).save(any(Appointment.class));
     }
 
+    @Test
+    @DisplayName("Should assign the doctor's usual room when it is free")
+    void testCreateAppointmentAssignsFreeRoom() {
+        // Arrange
+        LocalDateTime startTime = LocalDateTime.now().plusDays(2);
+        LocalDateTime endTime = startTime.plusHours(1);
+        testDoctor.setRoom("B12");
+
+        AppointmentRequest request = new AppointmentRequest();
+        request.setPatientId(1L);
+        request.setDoctorId(1L);
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+
+        RoomResponse room = RoomResponse.builder().id(4L).name("B12").active(true).build();
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
+        when(appointmentRepository.findDoctorAppointmentsBetween(anyLong(), any(), any()))
+                .thenReturn(new ArrayList<>());
+        when(appointmentRepository.findByPatient(any())).thenReturn(new ArrayList<>());
+        when(roomOccupancyService.hasActiveRooms()).thenReturn(true);
+        when(roomOccupancyService.findFreeRoom(startTime, endTime, "B12")).thenReturn(Optional.of(room));
+        when(roomRepository.getReferenceById(4L)).thenReturn(Room.builder().id(4L).name("B12").build());
+        when(appointmentRepository.save(any(Appointment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // Act
+        AppointmentResponse response = appointmentService.createAppointment(request);
+
+        // Assert
+        assertEquals(4L, response.getRoomId());
+        assertEquals("B12", response.getRoomName());
+    }
+
+    @Test
+    @DisplayName("Should reject a requested room that is already booked")
+    void testCreateAppointmentWithBusyRoom() {
+        // Arrange
+        LocalDateTime startTime = LocalDateTime.now().plusDays(2);
+        LocalDateTime endTime = startTime.plusHours(1);
+
+        AppointmentRequest request = new AppointmentRequest();
+        request.setPatientId(1L);
+        request.setDoctorId(1L);
+        request.setStartTime(startTime);
+        request.setEndTime(endTime);
+        request.setRoomId(4L);
+
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
+        when(doctorRepository.findById(1L)).thenReturn(Optional.of(testDoctor));
+        when(appointmentRepository.findDoctorAppointmentsBetween(anyLong(), any(), any()))
+                .thenReturn(new ArrayList<>());
+        when(appointmentRepository.findByPatient(any())).thenReturn(new ArrayList<>());
+        when(roomOccupancyService.findRoom(4L))
+                .thenReturn(Optional.of(RoomResponse.builder().id(4L).name("B12").active(true).build()));
+        when(roomOccupancyService.isFree(4L, startTime, endTime)).thenReturn(false);
+
+        // Act & Assert
+        BusinessException exception = assertThrows(BusinessException.class, () -> {
+            appointmentService.createAppointment(request);
+        });
+
+        assertTrue(exception.getMessage().contains("already booked"));
+        verify(appointmentRepository, never()).save(any(Appointment.class));
+    }
+
     @Test
     @DisplayName("Should throw exception when patient exceeds daily appointment limit")
     void testCreateAppointmentExceedsDailyLimit() {
@@ -0,0 +1,177 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.invoice.BankReconciliationResponse;
+import com.clinical.backend.dto.invoice.BankReconciliationResponse.UnmatchedLine;
+import com.clinical.backend.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Bank Reconciliation Service Tests")
+class BankReconciliationServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private BankReconciliationService bankReconciliationService;
+
+    @Test
+    @DisplayName("Should match by reference or by amount and payer, and mark matches paid in one batch")
+    void testMatchesAndMarksPaid() throws Exception {
+        // Arrange
+        openInvoices(
+                invoice(1L, "2025-000001", 11000, "Alice", "Dupont"),
+                invoice(2L, "2025-000002", 5000, "John", "Doe"),
+                invoice(3L, "2025-000003", 7500, "Jane", "Smith"));
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class))).thenReturn(new int[] {1, 1});
+        InputStream csv = csv("""
+                Booking Date,Amount,Payer,Reference
+                2025-02-03,110.00,Someone Else,"Invoice 2025-000001, thank you"
+                03/02/2025,"50,00",DOE JOHN,consultation
+                2025-02-04,-80.00,Pharmacy,Card payment
+                2025-02-04,12.00,Unknown,no reference
+                """);
+
+        // Act
+        BankReconciliationResponse response = bankReconciliationService.reconcile(csv);
+
+        // Assert
+        assertEquals(4, response.getTotalLines());
+        assertEquals(2, response.getMatched());
+        assertEquals(16000, response.getMatchedCents());
+        assertEquals(1, response.getIgnored());
+        assertEquals(1, response.getUnmatched());
+        assertEquals(5, response.getUnmatchedLines().get(0).getLine());
+
+        ArgumentCaptor<SqlParameterSource[]> batch = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), batch.capture());
+        assertEquals(2, batch.getValue().length);
+        assertEquals(1L, batch.getValue()[0].getValue("id"));
+        assertEquals(LocalDateTime.of(2025, 2, 3, 0, 0), batch.getValue()[0].getValue("paidAt"));
+        assertEquals(2L, batch.getValue()[1].getValue("id"));
+    }
+
+    @Test
+    @DisplayName("Should report a wrong amount and a second payment of the same invoice")
+    void testReportsMismatches() throws Exception {
+        // Arrange
+        openInvoices(invoice(1L, "2025-000001", 11000, "Alice", "Dupont"));
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class))).thenReturn(new int[] {1});
+        InputStream csv = csv("""
+                date,amount,reference
+                2025-02-03,100.00,2025-000001
+                2025-02-03,110.00,2025-000001
+                2025-02-04,110.00,2025-000001
+                2025-02-04,110.00,2024-000999
+                """);
+
+        // Act
+        BankReconciliationResponse response = bankReconciliationService.reconcile(csv);
+
+        // Assert
+        assertEquals(1, response.getMatched());
+        List<String> reasons = response.getUnmatchedLines().stream().map(UnmatchedLine::getReason).toList();
+        assertEquals(List.of(
+                "Amount 100.00 does not match invoice 2025-000001 total 110.00",
+                "Invoice 2025-000001 is already paid by line 3",
+                "Invoice 2024-000999 is not open"), reasons);
+    }
+
+    @Test
+    @DisplayName("Should report an invoice paid by hand while the file was being matched")
+    void testPaidMeanwhile() throws Exception {
+        // Arrange
+        openInvoices(invoice(1L, "2025-000001", 11000, "Alice", "Dupont"));
+        when(jdbcTemplate.batchUpdate(anyString(), any(SqlParameterSource[].class))).thenReturn(new int[] {0});
+        InputStream csv = csv("""
+                amount,reference
+                110.00,2025-000001
+                """);
+
+        // Act
+        BankReconciliationResponse response = bankReconciliationService.reconcile(csv);
+
+        // Assert
+        assertEquals(0, response.getMatched());
+        assertEquals(0, response.getMatchedCents());
+        assertEquals("Invoice 2025-000001 was paid meanwhile", response.getUnmatchedLines().get(0).getReason());
+    }
+
+    @Test
+    @DisplayName("Should reject a file without an amount column")
+    void testRejectsMissingColumns() {
+        // Arrange
+        InputStream csv = csv("""
+                date,reference
+                2025-02-03,2025-000001
+                """);
+
+        // Act & Assert
+        BusinessException e = assertThrows(BusinessException.class, () -> bankReconciliationService.reconcile(csv));
+        assertTrue(e.getMessage().contains("amount"));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should parse amounts in both decimal conventions")
+    void testParseCents() {
+        assertEquals(123450L, BankReconciliationService.parseCents("1,234.50"));
+        assertEquals(123450L, BankReconciliationService.parseCents("1.234,50 EUR"));
+        assertEquals(-8000L, BankReconciliationService.parseCents("-80,00"));
+        assertEquals(110000L, BankReconciliationService.parseCents("1100"));
+        assertNull(BankReconciliationService.parseCents("12.345"));
+        assertNull(BankReconciliationService.parseCents(""));
+    }
+
+    private void openInvoices(ResultSet... rows) throws SQLException {
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(2);
+            for (ResultSet row : rows) {
+                handler.processRow(row);
+            }
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(MapSqlParameterSource.class), any(RowCallbackHandler.class));
+    }
+
+    private static ResultSet invoice(Long id, String invoiceNumber, int totalCents, String firstName, String lastName)
+            throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(id);
+        when(rs.getString("invoice_number")).thenReturn(invoiceNumber);
+        when(rs.getInt("total_cents")).thenReturn(totalCents);
+        when(rs.getString("first_name")).thenReturn(firstName);
+        when(rs.getString("last_name")).thenReturn(lastName);
+        return rs;
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,127 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.invoice.BillingRunResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Billing Run Service Tests")
+class BillingRunServiceTest {
+
+    private static final LocalDate BILLING_DATE = LocalDate.of(2025, 1, 31);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private InvoiceNumberService invoiceNumberService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private BillingRunService billingRunService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        billingRunService = new BillingRunService(jdbcTemplate, transactionManager, meterRegistry, invoiceNumberService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        billingRunService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should bill chunks until every worker reaches the end")
+    @SuppressWarnings("unchecked")
+    void testBillsAllChunks() throws SQLException {
+        // Arrange
+        ResultSet fullChunk = chunk(500, 700L, 500);
+        ResultSet lastChunk = chunk(0, 0L, 0);
+        when(jdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> ((RowMapper<?>) invocation.getArgument(2)).mapRow(fullChunk, 0))
+                .thenAnswer(invocation -> ((RowMapper<?>) invocation.getArgument(2)).mapRow(lastChunk, 0));
+        when(jdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class), eq(Long.class))).thenReturn(3L);
+
+        // Act
+        BillingRunResponse run = billingRunService.runBilling(BILLING_DATE);
+
+        // Assert
+        assertEquals(500, run.getInvoicesCreated());
+        assertEquals(3, run.getSkippedWithoutFee());
+        assertEquals(LocalDate.of(2025, 3, 2), run.getDueDate());
+        assertEquals(500, meterRegistry.counter("invoices.billing.created").count());
+        verify(invoiceNumberService, times(1)).assignPendingNumbers();
+        // The full chunk is followed by one more, and each of the other workers finds nothing
+        verify(jdbcTemplate, times(5)).queryForObject(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class));
+    }
+
+    @Test
+    @DisplayName("Should continue after the last appointment of the previous chunk")
+    @SuppressWarnings("unchecked")
+    void testResumesAfterLastAppointment() throws SQLException {
+        // Arrange
+        ResultSet fullChunk = chunk(500, 700L, 498);
+        ResultSet lastChunk = chunk(0, 0L, 0);
+        when(jdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> ((RowMapper<?>) invocation.getArgument(2)).mapRow(fullChunk, 0))
+                .thenAnswer(invocation -> ((RowMapper<?>) invocation.getArgument(2)).mapRow(lastChunk, 0));
+        when(jdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class), eq(Long.class))).thenReturn(0L);
+
+        // Act
+        BillingRunResponse run = billingRunService.runBilling(BILLING_DATE);
+
+        // Assert
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate, times(5)).queryForObject(anyString(), params.capture(), any(RowMapper.class));
+        assertTrue(params.getAllValues().stream().anyMatch(p -> Long.valueOf(700L).equals(p.getValue("afterId"))));
+        // Two appointments were billed by an overlapping run in the meantime
+        assertEquals(498, run.getInvoicesCreated());
+    }
+
+    @Test
+    @DisplayName("Should fail the run when a chunk fails and allow the next run")
+    @SuppressWarnings("unchecked")
+    void testFailedChunk() {
+        // Arrange
+        when(jdbcTemplate.queryForObject(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+
+        // Act & Assert
+        assertThrows(DataAccessResourceFailureException.class, () -> billingRunService.runBilling(BILLING_DATE));
+        assertThrows(DataAccessResourceFailureException.class, () -> billingRunService.runBilling(BILLING_DATE));
+        verify(jdbcTemplate, never()).queryForObject(anyString(), any(MapSqlParameterSource.class), eq(Long.class));
+    }
+
+    private static ResultSet chunk(int claimed, long lastId, int created) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        lenient().when(rs.getInt("claimed")).thenReturn(claimed);
+        lenient().when(rs.getLong("last_id")).thenReturn(lastId);
+        lenient().when(rs.getInt("created")).thenReturn(created);
+        return rs;
+    }
+}
@@ -0,0 +1,145 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.entity.Appointment;
+import com.clinical.backend.entity.Doctor;
+import com.clinical.backend.entity.DoctorScheduleTemplate;
+import com.clinical.backend.entity.User;
+import com.clinical.backend.event.AppointmentChangedEvent;
+import com.clinical.backend.event.DoctorChangedEvent;
+import com.clinical.backend.event.DoctorScheduleChangedEvent;
+import com.clinical.backend.event.RoomChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Cache Invalidation Service Tests")
+class CacheInvalidationServiceTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private SessionFactory sessionFactory;
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CacheInvalidationService cacheInvalidationService;
+    private CacheInvalidationService otherReplica;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cacheInvalidationService = new CacheInvalidationService(entityManagerFactory, jdbcTemplate, dataSource, meterRegistry, eventPublisher);
+        otherReplica = new CacheInvalidationService(entityManagerFactory, jdbcTemplate, dataSource, meterRegistry, eventPublisher);
+        lenient().when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        lenient().when(sessionFactory.getCache()).thenReturn(cache);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheInvalidationService.shutdown();
+        otherReplica.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should evict a doctor changed on another replica")
+    void testHandleNotificationEvictsDoctor() {
+        // Act
+        cacheInvalidationService.handleNotification(otherReplica.payload(Doctor.class, 5L));
+
+        // Assert
+        verify(cache).evictEntityData(Doctor.class, 5L);
+        verify(cache, never()).evictNaturalIdData(any(Class.class));
+        assertEquals(1.0, meterRegistry.counter("cache.invalidations", "direction", "received").count());
+        verify(eventPublisher).publishEvent(new DoctorChangedEvent(5L));
+    }
+
+    @Test
+    @DisplayName("Should also drop the email lookups when a user changes")
+    void testHandleNotificationEvictsUserNaturalIds() {
+        // Act
+        cacheInvalidationService.handleNotification(otherReplica.payload(User.class, 7L));
+
+        // Assert
+        verify(cache).evictEntityData(User.class, 7L);
+        verify(cache).evictNaturalIdData(User.class);
+    }
+
+    @Test
+    @DisplayName("Should recompile schedules without touching the cache when a schedule changes")
+    void testHandleNotificationReloadsSchedules() {
+        // Act
+        cacheInvalidationService.handleNotification(otherReplica.payload(DoctorScheduleTemplate.class, 3L));
+
+        // Assert
+        verify(eventPublisher).publishEvent(new DoctorScheduleChangedEvent(null));
+        verifyNoInteractions(cache);
+    }
+
+    @Test
+    @DisplayName("Should refresh the room occupancy of an appointment booked elsewhere")
+    void testHandleNotificationRefreshesAppointment() {
+        // Act
+        cacheInvalidationService.handleNotification(otherReplica.payload(Appointment.class, 11L));
+
+        // Assert
+        verify(eventPublisher).publishEvent(new AppointmentChangedEvent(11L));
+        verifyNoInteractions(cache);
+    }
+
+    @Test
+    @DisplayName("Should clear the cache and reload every view after (re)connecting")
+    void testResynchronize() {
+        // Act
+        cacheInvalidationService.resynchronize();
+
+        // Assert
+        verify(cache).evictEntityData(User.class);
+        verify(cache).evictEntityData(Doctor.class);
+        verify(cache).evictNaturalIdData(User.class);
+        verify(eventPublisher).publishEvent(new DoctorChangedEvent(null));
+        verify(eventPublisher).publishEvent(new DoctorScheduleChangedEvent(null));
+        verify(eventPublisher).publishEvent(new RoomChangedEvent(null));
+        verify(eventPublisher).publishEvent(new AppointmentChangedEvent(null));
+    }
+
+    @Test
+    @DisplayName("Should ignore its own and unknown notifications")
+    void testHandleNotificationIgnoresOwnAndUnknown() {
+        // Act
+        cacheInvalidationService.handleNotification(cacheInvalidationService.payload(User.class, 7L));
+        cacheInvalidationService.handleNotification("other:Patient:1");
+        cacheInvalidationService.handleNotification("garbage");
+
+        // Assert
+        verifyNoInteractions(cache, eventPublisher);
+    }
+}
@@ -0,0 +1,185 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.entity.Doctor;
+import com.clinical.backend.entity.DoctorScheduleException;
+import com.clinical.backend.entity.DoctorScheduleTemplate;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.repository.DoctorScheduleExceptionRepository;
+import com.clinical.backend.repository.DoctorScheduleTemplateRepository;
+import com.clinical.backend.service.DoctorAvailabilityService.TimeWindow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Doctor Availability Service Tests")
+class DoctorAvailabilityServiceTest {
+
+    // A Monday far enough ahead that the exceptions below are still upcoming
+    private static final LocalDate MONDAY = LocalDate.of(2030, 1, 7);
+
+    @Mock
+    private DoctorScheduleTemplateRepository templateRepository;
+
+    @Mock
+    private DoctorScheduleExceptionRepository exceptionRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DoctorAvailabilityService doctorAvailabilityService;
+
+    private Doctor scheduledDoctor;
+    private Doctor legacyDoctor;
+    private final List<DoctorScheduleException> exceptions = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        scheduledDoctor = Doctor.builder().id(1L).build();
+        legacyDoctor = Doctor.builder()
+                .id(2L)
+                .availableFrom(LocalTime.of(10, 0))
+                .availableTo(LocalTime.of(16, 0))
+                .build();
+
+        // Monday split around a lunch break, Tuesday as two touching shifts
+        lenient().when(templateRepository.findAll()).thenReturn(List.of(
+                template(DayOfWeek.MONDAY, 8, 12),
+                template(DayOfWeek.MONDAY, 13, 17),
+                template(DayOfWeek.TUESDAY, 8, 12),
+                template(DayOfWeek.TUESDAY, 12, 16)));
+        lenient().when(exceptionRepository.findByEndDateGreaterThanEqual(any())).thenReturn(exceptions);
+    }
+
+    @Test
+    @DisplayName("Should compile the weekly template into merged windows per weekday")
+    void testWeeklyWindows() {
+        // Act
+        doctorAvailabilityService.load();
+
+        // Assert
+        assertEquals(List.of(window(8, 12), window(13, 17)),
+                doctorAvailabilityService.getAvailableWindows(scheduledDoctor, MONDAY));
+        assertEquals(List.of(window(8, 16)),
+                doctorAvailabilityService.getAvailableWindows(scheduledDoctor, MONDAY.plusDays(1)));
+        assertTrue(doctorAvailabilityService.getAvailableWindows(scheduledDoctor, MONDAY.plusDays(2)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should accept bookings inside a shift and reject the lunch break")
+    void testCheckBookableRespectsBreaks() {
+        // Arrange
+        doctorAvailabilityService.load();
+
+        // Act & Assert
+        assertDoesNotThrow(() -> doctorAvailabilityService.checkBookable(scheduledDoctor, at(MONDAY, 9), at(MONDAY, 10)));
+        assertThrows(BusinessException.class,
+                () -> doctorAvailabilityService.checkBookable(scheduledDoctor, at(MONDAY, 11), at(MONDAY, 14)));
+        assertThrows(BusinessException.class,
+                () -> doctorAvailabilityService.checkBookable(scheduledDoctor, at(MONDAY, 12), at(MONDAY, 13)));
+    }
+
+    @Test
+    @DisplayName("Should block vacations and clinic-wide closures")
+    void testExceptionsAndClosures() {
+        // Arrange
+        exceptions.add(DoctorScheduleException.builder()
+                .doctor(scheduledDoctor)
+                .startDate(MONDAY)
+                .endDate(MONDAY)
+                .startTime(LocalTime.of(8, 0))
+                .endTime(LocalTime.of(10, 0))
+                .reason("Conference call")
+                .build());
+        exceptions.add(DoctorScheduleException.builder()
+                .startDate(MONDAY.plusDays(1))
+                .endDate(MONDAY.plusDays(1))
+                .reason("Public holiday")
+                .build());
+        doctorAvailabilityService.load();
+
+        // Act & Assert
+        assertEquals(List.of(window(10, 12), window(13, 17)),
+                doctorAvailabilityService.getAvailableWindows(scheduledDoctor, MONDAY));
+        assertTrue(doctorAvailabilityService.getAvailableWindows(scheduledDoctor, MONDAY.plusDays(1)).isEmpty());
+        assertTrue(doctorAvailabilityService.getAvailableWindows(legacyDoctor, MONDAY.plusDays(1)).isEmpty());
+        assertThrows(BusinessException.class,
+                () -> doctorAvailabilityService.checkBookable(scheduledDoctor, at(MONDAY, 9), at(MONDAY, 10)));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the doctor's available hours without a weekly template")
+    void testFallbackToAvailableHours() {
+        // Arrange
+        doctorAvailabilityService.load();
+
+        // Act & Assert
+        assertEquals(List.of(window(10, 16)), doctorAvailabilityService.getAvailableWindows(legacyDoctor, MONDAY));
+        assertDoesNotThrow(() -> doctorAvailabilityService.checkBookable(legacyDoctor, at(MONDAY, 15), at(MONDAY, 16)));
+        assertThrows(BusinessException.class,
+                () -> doctorAvailabilityService.checkBookable(legacyDoctor, at(MONDAY, 9), at(MONDAY, 10)));
+    }
+
+    @Test
+    @DisplayName("Should reject appointments spanning two days")
+    void testCheckBookableRejectsOvernight() {
+        // Arrange
+        Doctor anytimeDoctor = Doctor.builder().id(3L).build();
+        doctorAvailabilityService.load();
+
+        // Act & Assert
+        assertDoesNotThrow(() -> doctorAvailabilityService.checkBookable(anytimeDoctor, at(MONDAY, 23), at(MONDAY.plusDays(1), 0)));
+        assertThrows(BusinessException.class,
+                () -> doctorAvailabilityService.checkBookable(anytimeDoctor, at(MONDAY, 23), at(MONDAY.plusDays(1), 1)));
+    }
+
+    @Test
+    @DisplayName("Should recompile only the edited doctor")
+    void testReloadSingleDoctor() {
+        // Arrange
+        doctorAvailabilityService.load();
+        when(templateRepository.findByDoctorId(1L)).thenReturn(List.of(template(DayOfWeek.MONDAY, 14, 18)));
+        when(exceptionRepository.findByDoctorIdAndEndDateGreaterThanEqual(eq(1L), any())).thenReturn(List.of());
+
+        // Act
+        doctorAvailabilityService.reload(1L);
+
+        // Assert
+        assertEquals(List.of(window(14, 18)), doctorAvailabilityService.getAvailableWindows(scheduledDoctor, MONDAY));
+        verify(templateRepository, times(1)).findAll();
+    }
+
+    private DoctorScheduleTemplate template(DayOfWeek day, int fromHour, int toHour) {
+        return DoctorScheduleTemplate.builder()
+                .doctor(scheduledDoctor)
+                .dayOfWeek(day)
+                .startTime(LocalTime.of(fromHour, 0))
+                .endTime(LocalTime.of(toHour, 0))
+                .build();
+    }
+
+    private static TimeWindow window(int fromHour, int toHour) {
+        return new TimeWindow(LocalTime.of(fromHour, 0), LocalTime.of(toHour, 0));
+    }
+
+    private static LocalDateTime at(LocalDate date, int hour) {
+        return date.atTime(hour, 0);
+    }
+}
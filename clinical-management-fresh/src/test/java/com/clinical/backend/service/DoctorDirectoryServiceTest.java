@@ -0,0 +1,104 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.doctor.DoctorResponse;
+import com.clinical.backend.entity.Doctor;
+import com.clinical.backend.entity.User;
+import com.clinical.backend.event.DoctorChangedEvent;
+import com.clinical.backend.mapper.DoctorMapper;
+import com.clinical.backend.repository.DoctorRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Doctor Directory Service Tests")
+class DoctorDirectoryServiceTest {
+
+    @Mock
+    private DoctorRepository doctorRepository;
+
+    @Spy
+    private DoctorMapper doctorMapper = new DoctorMapper();
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private DoctorDirectoryService doctorDirectoryService;
+
+    @BeforeEach
+    void setUp() {
+        when(doctorRepository.findAllWithUser()).thenReturn(List.of(
+                doctor(1L, "Dr. John Smith", "Cardiology"),
+                doctor(2L, "Dr. Alice Martin", "Pediatric Cardiology"),
+                doctor(3L, "Dr. Bob Smithers", "Dermatology")));
+        doctorDirectoryService.load();
+    }
+
+    @Test
+    @DisplayName("Should list every doctor sorted by name")
+    void testGetAllDoctors() {
+        // Act
+        List<DoctorResponse> doctors = doctorDirectoryService.getAllDoctors();
+
+        // Assert
+        assertEquals(List.of("Dr. Alice Martin", "Dr. Bob Smithers", "Dr. John Smith"),
+                doctors.stream().map(DoctorResponse::getFullName).toList());
+    }
+
+    @Test
+    @DisplayName("Should match a name prefix from any word")
+    void testSearchDoctorsByName() {
+        // Act & Assert
+        assertEquals(List.of(3L, 1L), ids(doctorDirectoryService.searchDoctors("smi")));
+        assertEquals(List.of(1L), ids(doctorDirectoryService.searchDoctors("  John  SM ")));
+        assertTrue(doctorDirectoryService.searchDoctors("mith").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should match a specialty substring and filter by exact specialty")
+    void testSearchDoctorsBySpecialty() {
+        // Act & Assert
+        assertEquals(List.of(2L, 1L), ids(doctorDirectoryService.searchDoctors("cardio")));
+        assertEquals(List.of(1L), ids(doctorDirectoryService.findBySpecialty("cardiology")));
+    }
+
+    @Test
+    @DisplayName("Should serve reads from memory and reload after a doctor change")
+    void testRefreshOnDoctorChanged() {
+        // Arrange
+        doctorDirectoryService.getAllDoctors();
+        doctorDirectoryService.findById(1L);
+        when(doctorRepository.findAllWithUser()).thenReturn(List.of(doctor(4L, "Dr. Eve Adams", "Neurology")));
+
+        // Act
+        doctorDirectoryService.onDoctorChanged(new DoctorChangedEvent(4L));
+
+        // Assert
+        verify(doctorRepository, times(2)).findAllWithUser();
+        assertEquals(List.of(4L), ids(doctorDirectoryService.getAllDoctors()));
+        assertTrue(doctorDirectoryService.findById(1L).isEmpty());
+    }
+
+    private List<Long> ids(List<DoctorResponse> doctors) {
+        return doctors.stream().map(DoctorResponse::getId).toList();
+    }
+
+    private Doctor doctor(Long id, String fullName, String specialty) {
+        User user = new User();
+        user.setId(id + 100);
+        user.setFullName(fullName);
+        return Doctor.builder().id(id).user(user).specialty(specialty).licenseNumber("MD-" + id).build();
+    }
+}
@@ -0,0 +1,145 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.exception.IdempotencyException;
+import com.clinical.backend.service.IdempotencyService.StoredResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Idempotency Service Tests")
+class IdempotencyServiceTest {
+
+    private static final StoredResponse CREATED = new StoredResponse("hash-1", 201, "application/json", "{\"id\":7}".getBytes());
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    private IdempotencyService idempotencyService;
+
+    @BeforeEach
+    void setUp() {
+        idempotencyService = new IdempotencyService(jdbcTemplate, Duration.ofHours(24), Duration.ofSeconds(5), 100);
+    }
+
+    @Test
+    @DisplayName("Should let the first request run and replay its response to the retry")
+    void testReplayAfterCompletion() {
+        // Arrange
+        when(jdbcTemplate.update(startsWith("INSERT"), any(SqlParameterSource.class))).thenReturn(1);
+
+        // Act
+        Optional<StoredResponse> first = idempotencyService.claim(1L, "key-1", "hash-1");
+        idempotencyService.complete(1L, "key-1", CREATED);
+        Optional<StoredResponse> retry = idempotencyService.claim(1L, "key-1", "hash-1");
+
+        // Assert
+        assertTrue(first.isEmpty());
+        assertEquals(201, retry.orElseThrow().status());
+        verify(jdbcTemplate, times(1)).update(startsWith("INSERT"), any(SqlParameterSource.class));
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different request")
+    void testRejectsDifferentRequest() {
+        // Arrange
+        when(jdbcTemplate.update(startsWith("INSERT"), any(SqlParameterSource.class))).thenReturn(1);
+        idempotencyService.claim(1L, "key-1", "hash-1");
+        idempotencyService.complete(1L, "key-1", CREATED);
+
+        // Act & Assert
+        IdempotencyException e = assertThrows(IdempotencyException.class,
+                () -> idempotencyService.claim(1L, "key-1", "hash-2"));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, e.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the first request")
+    void testConcurrentDuplicateWaits() throws Exception {
+        // Arrange
+        when(jdbcTemplate.update(startsWith("INSERT"), any(SqlParameterSource.class))).thenReturn(1);
+        idempotencyService.claim(1L, "key-1", "hash-1");
+
+        // Act
+        CompletableFuture<Optional<StoredResponse>> duplicate = CompletableFuture.supplyAsync(
+                () -> idempotencyService.claim(1L, "key-1", "hash-1"));
+        Thread.sleep(100);
+        assertFalse(duplicate.isDone());
+        idempotencyService.complete(1L, "key-1", CREATED);
+
+        // Assert
+        assertEquals(CREATED, duplicate.get(5, TimeUnit.SECONDS).orElseThrow());
+        verify(jdbcTemplate, times(1)).update(startsWith("INSERT"), any(SqlParameterSource.class));
+    }
+
+    @Test
+    @DisplayName("Should let a retry run again after the first request failed")
+    void testRetryAfterRelease() {
+        // Arrange
+        when(jdbcTemplate.update(startsWith("INSERT"), any(SqlParameterSource.class))).thenReturn(1);
+        idempotencyService.claim(1L, "key-1", "hash-1");
+
+        // Act
+        idempotencyService.release(1L, "key-1");
+        Optional<StoredResponse> retry = idempotencyService.claim(1L, "key-1", "hash-1");
+
+        // Assert
+        assertTrue(retry.isEmpty());
+        verify(jdbcTemplate).update(startsWith("DELETE"), any(SqlParameterSource.class));
+    }
+
+    @Test
+    @DisplayName("Should replay a response completed on another replica")
+    @SuppressWarnings("unchecked")
+    void testReplayFromDatabase() {
+        // Arrange
+        when(jdbcTemplate.update(startsWith("INSERT"), any(SqlParameterSource.class))).thenReturn(0);
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(CREATED));
+
+        // Act
+        Optional<StoredResponse> replayed = idempotencyService.claim(1L, "key-1", "hash-1");
+        Optional<StoredResponse> again = idempotencyService.claim(1L, "key-1", "hash-1");
+
+        // Assert
+        assertEquals(CREATED, replayed.orElseThrow());
+        assertEquals(CREATED, again.orElseThrow());
+        verify(jdbcTemplate, times(1)).query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class));
+    }
+
+    @Test
+    @DisplayName("Should give up with 409 while another replica is still running the request")
+    @SuppressWarnings("unchecked")
+    void testConflictWhileRunningElsewhere() {
+        // Arrange
+        idempotencyService = new IdempotencyService(jdbcTemplate, Duration.ofHours(24), Duration.ofMillis(150), 100);
+        when(jdbcTemplate.update(startsWith("INSERT"), any(SqlParameterSource.class))).thenReturn(0);
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(new StoredResponse("hash-1", 0, null, null)));
+
+        // Act & Assert
+        IdempotencyException e = assertThrows(IdempotencyException.class,
+                () -> idempotencyService.claim(1L, "key-1", "hash-1"));
+        assertEquals(HttpStatus.CONFLICT, e.getStatus());
+    }
+}
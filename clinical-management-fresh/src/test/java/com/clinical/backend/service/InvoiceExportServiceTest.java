@@ -0,0 +1,151 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.invoice.InvoiceExportResponse;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.exception.ResourceNotFoundException;
+import com.clinical.backend.repository.InvoiceLineItemRepository;
+import com.clinical.backend.repository.InvoiceRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Invoice Export Service Tests")
+class InvoiceExportServiceTest {
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private InvoiceLineItemRepository invoiceLineItemRepository;
+
+    @Mock
+    private PdfService pdfService;
+
+    @Mock
+    private PdfStorageService pdfStorageService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private InvoiceExportService invoiceExportService;
+
+    @AfterEach
+    void tearDown() {
+        invoiceExportService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should report the progress of a job started on another replica")
+    void testGetExportStatusFromDatabase() throws Exception {
+        // Arrange
+        storedJob("RUNNING", 400, 100);
+
+        // Act
+        InvoiceExportResponse response = invoiceExportService.getExportStatus("job-1");
+
+        // Assert
+        assertEquals("job-1", response.getJobId());
+        assertEquals("RUNNING", response.getStatus());
+        assertEquals(LocalDate.of(2025, 1, 1), response.getFrom());
+        assertEquals(25, response.getProgressPercent());
+    }
+
+    @Test
+    @DisplayName("Should refuse to download a job that is still running")
+    void testGetExportArchiveNotFinished() throws Exception {
+        // Arrange
+        storedJob("RUNNING", 400, 100);
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> invoiceExportService.getExportArchive("job-1"));
+        verifyNoInteractions(pdfStorageService);
+    }
+
+    @Test
+    @DisplayName("Should serve the archive of a completed job from shared storage")
+    void testGetExportArchiveCompleted() throws Exception {
+        // Arrange
+        storedJob("COMPLETED", 400, 400);
+
+        // Act
+        invoiceExportService.getExportArchive("job-1");
+
+        // Assert
+        verify(pdfStorageService, times(1)).load("exports/invoices_2025-01-01_2025-01-31_job-1.zip");
+    }
+
+    @Test
+    @DisplayName("Should throw when the job is unknown")
+    void testGetExportStatusNotFound() {
+        // Arrange
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> invoiceExportService.getExportStatus("missing"));
+    }
+
+    @Test
+    @DisplayName("Should delete the archives of purged jobs")
+    void testPurgeExpiredJobs() {
+        // Arrange
+        when(jdbcTemplate.queryForList(anyString(), any(MapSqlParameterSource.class), eq(String.class)))
+                .thenReturn(List.of("exports/a.zip", "exports/b.zip"));
+
+        // Act
+        invoiceExportService.purgeExpiredJobs();
+
+        // Assert
+        verify(pdfStorageService, times(1)).delete("exports/a.zip");
+        verify(pdfStorageService, times(1)).delete("exports/b.zip");
+    }
+
+    private void storedJob(String status, long total, long processed) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("id")).thenReturn("job-1");
+        when(rs.getObject("date_from", LocalDate.class)).thenReturn(LocalDate.of(2025, 1, 1));
+        when(rs.getObject("date_to", LocalDate.class)).thenReturn(LocalDate.of(2025, 1, 31));
+        when(rs.getString("status")).thenReturn(status);
+        when(rs.getLong("total_invoices")).thenReturn(total);
+        when(rs.getLong("processed_invoices")).thenReturn(processed);
+        when(rs.getString("error")).thenReturn(null);
+        when(rs.getString("archive_path")).thenReturn("exports/invoices_2025-01-01_2025-01-31_job-1.zip");
+        when(rs.getObject("created_at", LocalDateTime.class)).thenReturn(LocalDateTime.of(2025, 2, 1, 8, 0));
+        when(rs.getObject("completed_at", LocalDateTime.class)).thenReturn(null);
+
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenAnswer(invocation -> {
+                    RowMapper<?> mapper = invocation.getArgument(2);
+                    return List.of(mapper.mapRow(rs, 0));
+                });
+    }
+}
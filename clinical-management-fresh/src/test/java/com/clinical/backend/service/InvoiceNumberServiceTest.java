@@ -0,0 +1,113 @@
+package com.clinical.backend.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Invoice Number Service Tests")
+class InvoiceNumberServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private InvoiceNumberService invoiceNumberService;
+
+    @Test
+    @DisplayName("Should number a year's invoices after the last number of its counter")
+    void testNumbersAfterCounter() {
+        // Arrange
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT"), any(MapSqlParameterSource.class), eq(Integer.class)))
+                .thenReturn(List.of(2025));
+        when(jdbcTemplate.queryForObject(startsWith("INSERT"), any(MapSqlParameterSource.class), eq(Integer.class)))
+                .thenReturn(41);
+        when(jdbcTemplate.queryForObject(startsWith("WITH"), any(MapSqlParameterSource.class), eq(Integer.class)))
+                .thenReturn(43);
+
+        // Act
+        invoiceNumberService.assignPendingNumbers();
+
+        // Assert
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).queryForObject(startsWith("WITH"), params.capture(), eq(Integer.class));
+        assertEquals(41, params.getValue().getValue("lastNumber"));
+        assertEquals("2025-", params.getValue().getValue("prefix"));
+        assertEquals(LocalDateTime.of(2025, 1, 1, 0, 0), params.getValue().getValue("from"));
+        assertEquals(LocalDateTime.of(2026, 1, 1, 0, 0), params.getValue().getValue("to"));
+        // Committed in its own transaction
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should not touch any counter when every invoice is numbered")
+    void testNothingPending() {
+        // Arrange
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT"), any(MapSqlParameterSource.class), eq(Integer.class)))
+                .thenReturn(List.of());
+
+        // Act
+        invoiceNumberService.assignPendingNumbers();
+
+        // Assert
+        verify(jdbcTemplate, never()).queryForObject(any(String.class), any(MapSqlParameterSource.class), eq(Integer.class));
+        verifyNoInteractions(transactionManager);
+    }
+
+    @Test
+    @DisplayName("Should serve callers that arrive during a numbering pass with one more pass")
+    void testCoalescesConcurrentCallers() throws Exception {
+        // Arrange
+        CountDownLatch firstPassStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirstPass = new CountDownLatch(1);
+        when(jdbcTemplate.queryForList(startsWith("SELECT DISTINCT"), any(MapSqlParameterSource.class), eq(Integer.class)))
+                .thenAnswer(invocation -> {
+                    firstPassStarted.countDown();
+                    releaseFirstPass.await(5, TimeUnit.SECONDS);
+                    return List.of();
+                });
+
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+
+        // Act
+        CompletableFuture<Void> first = CompletableFuture.runAsync(invoiceNumberService::assignPendingNumbers, callers);
+        assertTrue(firstPassStarted.await(5, TimeUnit.SECONDS));
+        List<CompletableFuture<Void>> waiting = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            waiting.add(CompletableFuture.runAsync(invoiceNumberService::assignPendingNumbers, callers));
+        }
+        Thread.sleep(200);
+        releaseFirstPass.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        CompletableFuture.allOf(waiting.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+        callers.shutdown();
+
+        // Assert
+        verify(jdbcTemplate, times(2)).queryForList(startsWith("SELECT DISTINCT"), any(MapSqlParameterSource.class), eq(Integer.class));
+    }
+}
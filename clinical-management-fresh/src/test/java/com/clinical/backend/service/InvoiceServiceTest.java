@@ -1,26 +1,36 @@
 package com.clinical.backend.service;
 
+import com.clinical.backend.dto.invoice.InvoiceLineItemRequest;
 import com.clinical.backend.dto.invoice.InvoiceRequest;
 import com.clinical.backend.dto.invoice.InvoiceResponse;
 import com.clinical.backend.entity.Appointment;
 import com.clinical.backend.entity.Doctor;
 import com.clinical.backend.entity.Invoice;
+import com.clinical.backend.entity.InvoiceLineItem;
 import com.clinical.backend.entity.Patient;
 import com.clinical.backend.entity.User;
 import com.clinical.backend.enums.AppointmentStatus;
 import com.clinical.backend.enums.InvoiceStatus;
 import com.clinical.backend.enums.UserRole;
+import com.clinical.backend.event.InvoiceCreatedEvent;
+import com.clinical.backend.exception.BusinessException;
 import com.clinical.backend.exception.ResourceNotFoundException;
 import com.clinical.backend.mapper.InvoiceMapper;
 import com.clinical.backend.repository.AppointmentRepository;
+import com.clinical.backend.repository.InvoiceLineItemRepository;
 import com.clinical.backend.repository.InvoiceRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -31,6 +41,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,6 +52,9 @@ class InvoiceServiceTest {
     @Mock
     private InvoiceRepository invoiceRepository;
 
+    @Mock
+    private InvoiceLineItemRepository invoiceLineItemRepository;
+
     @Mock
     private AppointmentRepository appointmentRepository;
 
@@ -49,9 +64,18 @@ class InvoiceServiceTest {
     @Mock
     private PdfService pdfService;
 
+    @Mock
+    private PdfStorageService pdfStorageService;
+
     @Mock
     private AuditService auditService;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private InvoiceService invoiceService;
 
@@ -118,7 +142,6 @@ class InvoiceServiceTest {
         invoiceRequest.setAmountCents(10000);
         invoiceRequest.setTaxCents(1000);
         invoiceRequest.setDueDate(LocalDate.now().plusDays(30));
-        invoiceRequest.setLineItems("{\"consultation\": 100}");
     }
 
     @Test
@@ -136,6 +159,77 @@ class InvoiceServiceTest {
         assertNotNull(response);
         verify(invoiceRepository, times(1)).save(any(Invoice.class));
         verify(auditService, times(1)).logCreate("Invoice", 1L);
+        verify(eventPublisher).publishEvent(new InvoiceCreatedEvent(1L));
+    }
+
+    @Test
+    @DisplayName("Should store a plain amount as a single consultation line")
+    @SuppressWarnings("unchecked")
+    void testCreateInvoiceWithoutLineItems() {
+        // Arrange
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+        when(invoiceRepository.save(any(Invoice.class))).thenReturn(testInvoice);
+        when(invoiceMapper.toResponse(any(Invoice.class))).thenReturn(new InvoiceResponse());
+
+        // Act
+        invoiceService.createInvoice(invoiceRequest);
+
+        // Assert
+        ArgumentCaptor<List<InvoiceLineItem>> lines = ArgumentCaptor.forClass(List.class);
+        verify(invoiceLineItemRepository).insertAll(eq(1L), lines.capture());
+        assertEquals(1, lines.getValue().size());
+        assertEquals("CONSULTATION", lines.getValue().get(0).getServiceCode());
+        assertEquals(10000, lines.getValue().get(0).getUnitPriceCents());
+        assertEquals(1000, lines.getValue().get(0).getTaxCents());
+    }
+
+    @Test
+    @DisplayName("Should derive invoice totals from the line items")
+    @SuppressWarnings("unchecked")
+    void testCreateInvoiceWithLineItems() {
+        // Arrange
+        invoiceRequest.setAmountCents(null);
+        invoiceRequest.setTaxCents(0);
+        invoiceRequest.setLineItems(List.of(
+                InvoiceLineItemRequest.builder().serviceCode("consultation").description("Consultation")
+                        .unitPriceCents(8000).taxCents(800).build(),
+                InvoiceLineItemRequest.builder().serviceCode("ECG").description("Electrocardiogram")
+                        .quantity(2).unitPriceCents(2500).build()));
+
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+        when(invoiceRepository.save(any(Invoice.class))).thenAnswer(invocation -> {
+            Invoice saved = invocation.getArgument(0);
+            assertEquals(13000, saved.getAmountCents());
+            assertEquals(800, saved.getTaxCents());
+            assertEquals(13800, saved.getTotalCents());
+            return testInvoice;
+        });
+        when(invoiceMapper.toResponse(any(Invoice.class))).thenReturn(new InvoiceResponse());
+
+        // Act
+        InvoiceResponse response = invoiceService.createInvoice(invoiceRequest);
+
+        // Assert
+        ArgumentCaptor<List<InvoiceLineItem>> lines = ArgumentCaptor.forClass(List.class);
+        verify(invoiceLineItemRepository).insertAll(eq(1L), lines.capture());
+        assertEquals(List.of(1, 2), lines.getValue().stream().map(InvoiceLineItem::getPosition).toList());
+        assertEquals("CONSULTATION", lines.getValue().get(0).getServiceCode());
+        assertEquals(5000, lines.getValue().get(1).getLineTotalCents());
+        assertEquals(2, response.getLineItems().size());
+    }
+
+    @Test
+    @DisplayName("Should reject an amount that disagrees with the line items")
+    void testCreateInvoiceRejectsMismatchedAmount() {
+        // Arrange
+        invoiceRequest.setLineItems(List.of(InvoiceLineItemRequest.builder()
+                .serviceCode("ECG").description("Electrocardiogram").unitPriceCents(2500).build()));
+        when(appointmentRepository.findById(1L)).thenReturn(Optional.of(testAppointment));
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> invoiceService.createInvoice(invoiceRequest));
+        verify(invoiceRepository, never()).save(any(Invoice.class));
+        verifyNoInteractions(invoiceLineItemRepository);
     }
 
     @Test
@@ -190,6 +284,20 @@ class InvoiceServiceTest {
         assertEquals(10000, response.getAmountCents());
     }
 
+    @Test
+    @DisplayName("Should expose the invoice number once assigned")
+    void testGetInvoiceByIdWithNumber() {
+        // Arrange
+        testInvoice.setInvoiceNumber("2025-000042");
+        when(invoiceRepository.findById(1L)).thenReturn(Optional.of(testInvoice));
+
+        // Act
+        InvoiceResponse response = invoiceService.getInvoiceById(1L);
+
+        // Assert
+        assertEquals("2025-000042", response.getInvoiceNumber());
+    }
+
     @Test
     @DisplayName("Should throw exception when invoice not found by ID")
     void testGetInvoiceByIdNotFound() {
@@ -242,29 +350,6 @@ class InvoiceServiceTest {
         assertTrue(responses.isEmpty());
     }
 
-    @Test
-    @DisplayName("Should get all unpaid invoices")
-    void testGetUnpaidInvoices() {
-        // Arrange
-        Invoice unpaidInvoice2 = Invoice.builder()
-                .id(2L)
-                .appointment(testAppointment)
-                .patient(testPatient)
-                .amountCents(20000)
-                .status(InvoiceStatus.PENDING)
-                .build();
-
-        when(invoiceRepository.findByStatus(InvoiceStatus.PENDING))
-                .thenReturn(Arrays.asList(testInvoice, unpaidInvoice2));
-
-        // Act
-        List<InvoiceResponse> responses = invoiceService.getUnpaidInvoices();
-
-        // Assert
-        assertNotNull(responses);
-        assertEquals(2, responses.size());
-    }
-
     @Test
     @DisplayName("Should mark invoice as paid successfully")
     void testMarkAsPaidSuccess() {
@@ -300,14 +385,43 @@ class InvoiceServiceTest {
     }
 
     @Test
-    @DisplayName("Should throw exception for PDF generation (not implemented)")
-    void testGenerateInvoicePdfNotImplemented() {
-        // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            invoiceService.generateInvoicePdf(1L);
-        });
+    @DisplayName("Should render invoice PDF to storage when not yet stored")
+    void testGetInvoicePdfRendersWhenMissing() throws Exception {
+        // Arrange
+        Resource stored = new ByteArrayResource(new byte[0]);
+        when(invoiceRepository.findWithPatientById(1L)).thenReturn(Optional.of(testInvoice));
+        when(pdfStorageService.exists(null)).thenReturn(false);
+        when(pdfStorageService.store(eq("invoices/invoice_1.pdf"), any())).thenReturn("invoices/invoice_1.pdf");
+        when(pdfStorageService.load("invoices/invoice_1.pdf")).thenReturn(stored);
 
-        assertTrue(exception.getMessage().contains("not implemented"));
+        // Act
+        Resource pdf = invoiceService.getInvoicePdf(1L);
+
+        // Assert
+        assertSame(stored, pdf);
+        verify(invoiceRepository).updatePdfPath(1L, "invoices/invoice_1.pdf",
+                testInvoice.getStatus(), testInvoice.getInvoiceNumber());
+        // One read-only transaction for the load and one for the update, none around the render
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Should serve stored invoice PDF without rendering")
+    void testGetInvoicePdfServesStoredFile() throws Exception {
+        // Arrange
+        testInvoice.setPdfPath("invoices/invoice_1.pdf");
+        when(invoiceRepository.findWithPatientById(1L)).thenReturn(Optional.of(testInvoice));
+        when(pdfStorageService.exists("invoices/invoice_1.pdf")).thenReturn(true);
+        when(pdfStorageService.load("invoices/invoice_1.pdf")).thenReturn(new ByteArrayResource(new byte[0]));
+
+        // Act
+        invoiceService.getInvoicePdf(1L);
+
+        // Assert
+        verify(pdfStorageService, never()).store(anyString(), any());
+        verify(invoiceRepository, never()).updatePdfPath(anyLong(), anyString(), any(), any());
+        verifyNoInteractions(pdfService);
     }
 
     @Test
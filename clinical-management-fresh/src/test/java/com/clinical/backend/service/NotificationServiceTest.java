@@ -7,6 +7,7 @@ import com.clinical.backend.entity.Patient;
 import com.clinical.backend.entity.User;
 import com.clinical.backend.enums.AppointmentStatus;
 import com.clinical.backend.enums.UserRole;
+import com.clinical.backend.event.InvoicesOverdueEvent.OverdueInvoice;
 import com.clinical.backend.repository.NotificationRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,12 +18,16 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +37,9 @@ class NotificationServiceTest {
     @Mock
     private NotificationRepository notificationRepository;
 
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
     @InjectMocks
     private NotificationService notificationService;
 
@@ -89,7 +97,8 @@ class NotificationServiceTest {
                 .reason("Regular checkup")
                 .build();
 
-        when(notificationRepository.save(any(Notification.class)))
+        // Batch paths such as dunning notices write through JDBC and never call save
+        lenient().when(notificationRepository.save(any(Notification.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
     }
 
@@ -280,4 +289,27 @@ class NotificationServiceTest {
             assertEquals("APPOINTMENT_CANCELLED", notification.getType());
         });
     }
+
+    @Test
+    @DisplayName("Should batch overdue notices for patients with an account")
+    void testNotifyInvoicesOverdue() {
+        // Arrange
+        List<OverdueInvoice> invoices = List.of(
+                new OverdueInvoice(1L, "2025-000001", 15_000, LocalDate.of(2025, 5, 1), 7L, "a@test.com", "Ann Lee"),
+                new OverdueInvoice(2L, null, 8_000, LocalDate.of(2025, 5, 2), null, "b@test.com", "Bob Ray"));
+
+        // Act
+        int notified = notificationService.notifyInvoicesOverdue(invoices);
+
+        // Assert
+        assertEquals(1, notified);
+        ArgumentCaptor<SqlParameterSource[]> rows = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        assertEquals(1, rows.getValue().length);
+        assertEquals(7L, rows.getValue()[0].getValue("userId"));
+        assertEquals("/invoices/1", rows.getValue()[0].getValue("link"));
+        assertEquals("Invoice 2025-000001 for $150.00 was due on 2025-05-01 and is now overdue",
+                rows.getValue()[0].getValue("message"));
+        verifyNoInteractions(notificationRepository);
+    }
 }
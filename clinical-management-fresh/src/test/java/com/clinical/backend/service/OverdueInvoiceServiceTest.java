@@ -0,0 +1,110 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.event.InvoicesOverdueEvent;
+import com.clinical.backend.event.InvoicesOverdueEvent.OverdueInvoice;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Overdue Invoice Service Tests")
+class OverdueInvoiceServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 1);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private OverdueInvoiceService overdueInvoiceService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        overdueInvoiceService = new OverdueInvoiceService(jdbcTemplate, transactionManager, eventPublisher, meterRegistry);
+        ReflectionTestUtils.setField(overdueInvoiceService, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("Should sweep in chunks until a short chunk and publish one event per chunk")
+    @SuppressWarnings("unchecked")
+    void testMarkOverdueInvoicesInChunks() {
+        // Arrange
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(invoice(1L), invoice(2L)))
+                .thenReturn(List.of(invoice(3L)));
+
+        // Act
+        long marked = overdueInvoiceService.markOverdueInvoices(TODAY);
+
+        // Assert
+        assertEquals(3, marked);
+        ArgumentCaptor<InvoicesOverdueEvent> events = ArgumentCaptor.forClass(InvoicesOverdueEvent.class);
+        verify(eventPublisher, times(2)).publishEvent(events.capture());
+        assertEquals(List.of(2, 1), events.getAllValues().stream().map(event -> event.invoices().size()).toList());
+        assertEquals(3.0, meterRegistry.counter("invoices.overdue.marked").count());
+        assertEquals(1, meterRegistry.timer("invoices.overdue.sweep").count());
+    }
+
+    @Test
+    @DisplayName("Should drop the cached PDF of every invoice it marks overdue")
+    @SuppressWarnings("unchecked")
+    void testMarkOverdueInvoicesClearsPdf() {
+        // Arrange
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(invoice(1L)));
+
+        // Act
+        overdueInvoiceService.markOverdueInvoices(TODAY);
+
+        // Assert
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(SqlParameterSource.class), any(RowMapper.class));
+        assertTrue(sql.getValue().contains("SET status = 'OVERDUE', pdf_path = NULL"));
+    }
+
+    @Test
+    @DisplayName("Should not publish anything when no invoice is overdue")
+    @SuppressWarnings("unchecked")
+    void testMarkOverdueInvoicesNothingDue() {
+        // Arrange
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of());
+
+        // Act
+        long marked = overdueInvoiceService.markOverdueInvoices(TODAY);
+
+        // Assert
+        assertEquals(0, marked);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    private static OverdueInvoice invoice(Long id) {
+        return new OverdueInvoice(id, null, 15_000, TODAY.minusDays(10), 7L, "patient@test.com", "John Doe");
+    }
+}
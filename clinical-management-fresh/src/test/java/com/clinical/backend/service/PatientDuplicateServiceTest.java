@@ -0,0 +1,135 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.patient.DuplicateCandidateResponse;
+import com.clinical.backend.dto.patient.PatientRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Patient Duplicate Service Tests")
+class PatientDuplicateServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PatientDuplicateService patientDuplicateService;
+
+    private PatientRequest request;
+
+    @BeforeEach
+    void setUp() {
+        request = new PatientRequest();
+        request.setFirstName("Jon");
+        request.setLastName("Smyth");
+        request.setDateOfBirth(LocalDate.of(1990, 1, 15));
+        request.setEmail("Jon.Smith+clinic@Test.com");
+        request.setPhone("+33 6 12 34 56 78");
+    }
+
+    @Test
+    @DisplayName("Should compute phonetic, email and phone blocking keys")
+    void testBlockingKeys() {
+        // Act
+        List<PatientDuplicateService.BlockingKey> smyth = PatientDuplicateService.blockingKeys(identity(
+                null, "Jon", "Smyth", LocalDate.of(1990, 1, 15), "Jon.Smith+clinic@Test.com", "+33 6 12 34 56 78"));
+        List<PatientDuplicateService.BlockingKey> smith = PatientDuplicateService.blockingKeys(identity(
+                null, "John", "Smith", LocalDate.of(1990, 1, 15), "jon.smith@test.com", "06 12 34 56 78"));
+
+        // Assert
+        assertEquals(3, smyth.size());
+        assertEquals(smith, smyth);
+        assertEquals("jon.smith@test.com", smyth.get(1).value());
+        assertEquals("612345678", smyth.get(2).value());
+    }
+
+    @Test
+    @DisplayName("Should score only the patients in the block and rank them")
+    @SuppressWarnings("unchecked")
+    void testFindCandidatesScoresBlock() {
+        // Arrange
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(
+                        identity(2L, "Maria", "Smith", LocalDate.of(1962, 4, 2), "jon.smith@test.com", null),
+                        identity(1L, "John", "Smith", LocalDate.of(1990, 1, 15), null, "0612345678")));
+
+        // Act
+        List<DuplicateCandidateResponse> candidates = patientDuplicateService.findCandidates(request);
+
+        // Assert
+        assertEquals(1, candidates.size());
+        DuplicateCandidateResponse best = candidates.get(0);
+        assertEquals(1L, best.getPatientId());
+        assertTrue(best.getScore() >= PatientDuplicateService.STRONG_MATCH_THRESHOLD);
+        assertEquals(List.of("NAME", "DATE_OF_BIRTH", "PHONE"), best.getMatchedOn());
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).query(sql.capture(), any(SqlParameterSource.class), any(RowMapper.class));
+        assertTrue(sql.getValue().contains("patient_blocking_keys"));
+    }
+
+    @Test
+    @DisplayName("Should give partial credit for a date of birth typo")
+    @SuppressWarnings("unchecked")
+    void testFindCandidatesDateOfBirthTypo() {
+        // Arrange
+        when(jdbcTemplate.query(anyString(), any(SqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(List.of(identity(1L, "Jon", "Smyth", LocalDate.of(1990, 1, 16), null, "0612345678")));
+
+        // Act
+        List<DuplicateCandidateResponse> candidates = patientDuplicateService.findCandidates(request);
+
+        // Assert
+        assertEquals(1, candidates.size());
+        assertTrue(candidates.get(0).getScore() >= PatientDuplicateService.CANDIDATE_THRESHOLD);
+        assertTrue(candidates.get(0).getScore() < PatientDuplicateService.STRONG_MATCH_THRESHOLD);
+    }
+
+    @Test
+    @DisplayName("Should replace the keys of a saved patient")
+    void testIndexPatient() {
+        // Arrange
+        com.clinical.backend.entity.Patient patient = com.clinical.backend.entity.Patient.builder()
+                .id(5L)
+                .firstName("Jon")
+                .lastName("Smyth")
+                .dateOfBirth(LocalDate.of(1990, 1, 15))
+                .build();
+
+        // Act
+        patientDuplicateService.indexPatient(patient);
+
+        // Assert
+        verify(jdbcTemplate).update(contains("DELETE"), any(MapSqlParameterSource.class));
+        ArgumentCaptor<SqlParameterSource[]> rows = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(jdbcTemplate).batchUpdate(contains("INSERT"), rows.capture());
+        assertEquals(1, rows.getValue().length);
+    }
+
+    private PatientDuplicateService.Identity identity(Long id, String firstName, String lastName,
+                                                      LocalDate dateOfBirth, String email, String phone) {
+        return new PatientDuplicateService.Identity(id, firstName, lastName, dateOfBirth, email, phone);
+    }
+}
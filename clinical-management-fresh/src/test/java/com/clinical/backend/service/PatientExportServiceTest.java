@@ -0,0 +1,103 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.enums.ExportFormat;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Patient Export Service Tests")
+class PatientExportServiceTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ResultSet resultSet;
+
+    private PatientExportService patientExportService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        patientExportService = new PatientExportService(jdbcTemplate, transactionManager, new ObjectMapper());
+
+        Object[] row = {
+                1L, "John", "Doe", LocalDate.of(1990, 1, 15), "Male", "+1234567890", "john.doe@test.com",
+                "12 Main St, \"Apt 4\"", null, null, "O+", null, null,
+                LocalDateTime.of(2024, 1, 1, 9, 0), LocalDateTime.of(2024, 1, 1, 9, 0)
+        };
+        lenient().when(resultSet.getObject(anyInt(), any(Class.class)))
+                .thenAnswer(invocation -> row[(int) invocation.getArgument(0) - 1]);
+
+        doAnswer(invocation -> {
+            RowCallbackHandler handler = invocation.getArgument(1);
+            handler.processRow(resultSet);
+            return null;
+        }).when(jdbcTemplate).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    @Test
+    @DisplayName("Should write a CSV header and quote fields that need it")
+    void testExportCsv() throws Exception {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        patientExportService.export(ExportFormat.CSV, false, output);
+
+        // Assert
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("id,firstName,lastName,dateOfBirth"));
+        assertTrue(lines[1].startsWith("1,John,Doe,1990-01-15,Male,+1234567890,john.doe@test.com,"));
+        assertTrue(lines[1].contains(",\"12 Main St, \"\"Apt 4\"\"\","));
+    }
+
+    @Test
+    @DisplayName("Should write one gzip-compressed JSON object per line")
+    void testExportGzippedNdjson() throws Exception {
+        // Arrange
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        // Act
+        patientExportService.export(ExportFormat.NDJSON, true, output);
+
+        // Assert
+        String content;
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(output.toByteArray()))) {
+            content = new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        String[] lines = content.split("\n");
+        assertEquals(1, lines.length);
+
+        JsonNode patient = new ObjectMapper().readTree(lines[0]);
+        assertEquals(1L, patient.get("id").asLong());
+        assertEquals("1990-01-15", patient.get("dateOfBirth").asText());
+        assertTrue(patient.get("medicalHistory").isNull());
+    }
+}
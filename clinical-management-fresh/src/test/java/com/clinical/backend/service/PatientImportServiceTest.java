@@ -0,0 +1,186 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.patient.PatientImportResponse;
+import com.clinical.backend.entity.Patient;
+import com.clinical.backend.exception.BusinessException;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Patient Import Service Tests")
+class PatientImportServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private SearchService searchService;
+
+    @Mock
+    private PatientDuplicateService patientDuplicateService;
+
+    private PatientImportService patientImportService;
+
+    @BeforeEach
+    void setUp() {
+        patientImportService = new PatientImportService(namedJdbcTemplate, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), searchService, patientDuplicateService);
+        // The database hands out ids 1, 2, ... to the inserted rows
+        lenient().doAnswer(invocation -> {
+            SqlParameterSource[] rows = invocation.getArgument(1);
+            GeneratedKeyHolder keys = invocation.getArgument(2);
+            for (long id = 1; id <= rows.length; id++) {
+                keys.getKeyList().add(Map.of("id", id));
+            }
+            return new int[rows.length];
+        }).when(namedJdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class),
+                any(GeneratedKeyHolder.class), eq(new String[] {"id"}));
+    }
+
+    @Test
+    @DisplayName("Should import valid rows in a single batch")
+    void testImportValidRows() throws Exception {
+        // Arrange
+        InputStream csv = csv("""
+                first_name,last_name,date_of_birth,email,address
+                John,Doe,1990-01-15,john.doe@test.com,"12 Main St, Springfield"
+                Jane,Smith,1985-05-20,,
+                """);
+        when(namedJdbcTemplate.queryForList(anyString(), anyMap(), eq(String.class))).thenReturn(List.of());
+
+        // Act
+        PatientImportResponse response = patientImportService.importCsv(csv);
+
+        // Assert
+        assertEquals(2, response.getTotalRows());
+        assertEquals(2, response.getImported());
+        assertEquals(0, response.getFailed());
+
+        ArgumentCaptor<SqlParameterSource[]> rows = ArgumentCaptor.forClass(SqlParameterSource[].class);
+        verify(namedJdbcTemplate, times(1)).batchUpdate(anyString(), rows.capture(),
+                any(GeneratedKeyHolder.class), eq(new String[] {"id"}));
+        assertEquals(2, rows.getValue().length);
+        assertEquals("12 Main St, Springfield", rows.getValue()[0].getValue("address"));
+        assertEquals(LocalDate.of(1990, 1, 15), rows.getValue()[0].getValue("dateOfBirth"));
+        assertNull(rows.getValue()[1].getValue("email"));
+        // Only the inserted rows are indexed, not the whole patient index
+        verify(searchService, times(1)).index(Patient.class, List.of(1L, 2L));
+        verify(searchService, never()).startReindex(anyList());
+        verify(patientDuplicateService, times(1)).indexMissingPatients();
+    }
+
+    @Test
+    @DisplayName("Should report invalid rows by line and keep importing")
+    void testImportReportsInvalidRows() throws Exception {
+        // Arrange
+        InputStream csv = csv("""
+                firstName,lastName,dateOfBirth,email
+                ,Doe,1990-01-15,
+                John,Doe,15/01/1990,
+                Jane,Smith,1985-05-20,not-an-email
+                Mary,Major,1970-03-03,
+                """);
+
+        // Act
+        PatientImportResponse response = patientImportService.importCsv(csv);
+
+        // Assert
+        assertEquals(4, response.getTotalRows());
+        assertEquals(1, response.getImported());
+        assertEquals(3, response.getFailed());
+        assertEquals(List.of(2L, 3L, 4L), response.getErrors().stream()
+                .map(PatientImportResponse.RowError::getLine)
+                .toList());
+        assertTrue(response.getErrors().get(1).getMessage().contains("15/01/1990"));
+    }
+
+    @Test
+    @DisplayName("Should skip rows whose email already exists or repeats in the file")
+    void testImportSkipsDuplicateEmails() throws Exception {
+        // Arrange
+        InputStream csv = csv("""
+                firstName,lastName,dateOfBirth,email
+                John,Doe,1990-01-15,John.Doe@test.com
+                Johnny,Doe,1990-01-15,john.doe@test.com
+                Jane,Smith,1985-05-20,jane.smith@test.com
+                """);
+        when(namedJdbcTemplate.queryForList(anyString(), anyMap(), eq(String.class)))
+                .thenReturn(List.of("jane.smith@test.com"));
+
+        // Act
+        PatientImportResponse response = patientImportService.importCsv(csv);
+
+        // Assert
+        assertEquals(1, response.getImported());
+        assertEquals(2, response.getDuplicates());
+        verify(namedJdbcTemplate).queryForList(anyString(),
+                eq(Map.of("emails", List.of("john.doe@test.com", "jane.smith@test.com"))), eq(String.class));
+    }
+
+    @Test
+    @DisplayName("Should count each row of a rejected batch once")
+    void testImportRejectedBatch() throws Exception {
+        // Arrange
+        InputStream csv = csv("""
+                firstName,lastName,dateOfBirth,email
+                John,Doe,1990-01-15,john.doe@test.com
+                Jane,Smith,1985-05-20,jane.smith@test.com
+                """);
+        when(namedJdbcTemplate.queryForList(anyString(), anyMap(), eq(String.class)))
+                .thenReturn(List.of("jane.smith@test.com"));
+        doThrow(new DataIntegrityViolationException("value too long"))
+                .when(namedJdbcTemplate).batchUpdate(anyString(), any(SqlParameterSource[].class),
+                        any(GeneratedKeyHolder.class), eq(new String[] {"id"}));
+
+        // Act
+        PatientImportResponse response = patientImportService.importCsv(csv);
+
+        // Assert
+        assertEquals(2, response.getTotalRows());
+        assertEquals(0, response.getImported());
+        assertEquals(1, response.getDuplicates());
+        assertEquals(1, response.getFailed());
+        assertEquals(2, response.getErrors().size());
+        verifyNoInteractions(searchService);
+    }
+
+    @Test
+    @DisplayName("Should reject a file without the required columns")
+    void testImportMissingColumns() {
+        // Arrange
+        InputStream csv = csv("firstName,email\nJohn,john@test.com\n");
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> patientImportService.importCsv(csv));
+        verifyNoInteractions(namedJdbcTemplate);
+    }
+
+    private InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
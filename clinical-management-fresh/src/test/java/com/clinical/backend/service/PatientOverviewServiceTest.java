@@ -0,0 +1,91 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.appointment.AppointmentResponse;
+import com.clinical.backend.dto.invoice.InvoiceResponse;
+import com.clinical.backend.dto.patient.PatientOverviewResponse;
+import com.clinical.backend.dto.patient.PatientResponse;
+import com.clinical.backend.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Patient Overview Service Tests")
+class PatientOverviewServiceTest {
+
+    @Mock
+    private PatientService patientService;
+
+    @Mock
+    private AppointmentService appointmentService;
+
+    @Mock
+    private PrescriptionService prescriptionService;
+
+    @Mock
+    private InvoiceService invoiceService;
+
+    @InjectMocks
+    private PatientOverviewService patientOverviewService;
+
+    @AfterEach
+    void tearDown() {
+        patientOverviewService.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should assemble every section of the overview")
+    void testGetOverview() {
+        // Arrange
+        PatientResponse patient = PatientResponse.builder().id(1L).firstName("John").build();
+        when(patientService.getPatientById(1L)).thenReturn(patient);
+        when(appointmentService.getRecentPatientAppointments(1L, 5))
+                .thenReturn(List.of(AppointmentResponse.builder().id(10L).build()));
+        when(prescriptionService.getRecentPatientPrescriptions(1L, 5)).thenReturn(List.of());
+        when(invoiceService.getRecentPatientInvoices(1L, 5))
+                .thenReturn(List.of(InvoiceResponse.builder().id(20L).build()));
+
+        // Act
+        PatientOverviewResponse overview = patientOverviewService.getOverview(1L, 5);
+
+        // Assert
+        assertEquals("John", overview.getPatient().getFirstName());
+        assertEquals(1, overview.getRecentAppointments().size());
+        assertTrue(overview.getRecentPrescriptions().isEmpty());
+        assertEquals(20L, overview.getRecentInvoices().get(0).getId());
+    }
+
+    @Test
+    @DisplayName("Should cap the section size")
+    void testGetOverviewCapsSectionSize() {
+        // Act
+        patientOverviewService.getOverview(1L, 10_000);
+
+        // Assert
+        verify(appointmentService).getRecentPatientAppointments(1L, PatientOverviewService.MAX_SECTION_SIZE);
+        verify(prescriptionService).getRecentPatientPrescriptions(1L, PatientOverviewService.MAX_SECTION_SIZE);
+        verify(invoiceService).getRecentPatientInvoices(1L, PatientOverviewService.MAX_SECTION_SIZE);
+    }
+
+    @Test
+    @DisplayName("Should propagate the section exception unwrapped")
+    void testGetOverviewPatientNotFound() {
+        // Arrange
+        when(patientService.getPatientById(anyLong())).thenThrow(new ResourceNotFoundException("Patient not found"));
+        lenient().when(appointmentService.getRecentPatientAppointments(anyLong(), anyInt())).thenReturn(List.of());
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> patientOverviewService.getOverview(99L, 5));
+    }
+}
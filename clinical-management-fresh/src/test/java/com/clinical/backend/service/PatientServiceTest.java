@@ -1,9 +1,13 @@
 package com.clinical.backend.service;
 
+import com.clinical.backend.dto.patient.DuplicateCandidateResponse;
 import com.clinical.backend.dto.patient.PatientRequest;
 import com.clinical.backend.dto.patient.PatientResponse;
+import com.clinical.backend.dto.patient.PatientSummaryResponse;
 import com.clinical.backend.entity.Patient;
+import com.clinical.backend.exception.BusinessException;
 import com.clinical.backend.repository.PatientRepository;
+import com.clinical.backend.repository.projection.PatientSummary;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -11,9 +15,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.projection.SpelAwareProxyProjectionFactory;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +38,9 @@ class PatientServiceTest {
     @Mock
     private PatientRepository patientRepository;
 
+    @Mock
+    private PatientDuplicateService patientDuplicateService;
+
     @InjectMocks
     private PatientService patientService;
 
@@ -80,11 +93,32 @@ class PatientServiceTest {
         verify(patientRepository, times(1)).save(any(Patient.class));
     }
 
+    @Test
+    @DisplayName("Should refuse to create a strong duplicate unless allowed")
+    void testCreatePatientRejectsStrongDuplicate() {
+        // Arrange
+        DuplicateCandidateResponse candidate = DuplicateCandidateResponse.builder()
+                .patientId(7L)
+                .score(0.95)
+                .build();
+        when(patientDuplicateService.findCandidates(patientRequest)).thenReturn(List.of(candidate));
+
+        // Act & Assert
+        BusinessException exception = assertThrows(BusinessException.class,
+                () -> patientService.createPatient(patientRequest));
+        assertTrue(exception.getMessage().contains("7"));
+        verify(patientRepository, never()).save(any(Patient.class));
+
+        when(patientRepository.save(any(Patient.class))).thenReturn(testPatient);
+        assertNotNull(patientService.createPatient(patientRequest, true));
+        verify(patientDuplicateService, times(1)).indexPatient(testPatient);
+    }
+
     @Test
     @DisplayName("Should get patient by ID successfully")
     void testGetPatientByIdSuccess() {
         // Arrange
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
+        when(patientRepository.findWithClinicalDetailsById(1L)).thenReturn(Optional.of(testPatient));
 
         // Act
         PatientResponse response = patientService.getPatientById(1L);
@@ -93,14 +127,15 @@ class PatientServiceTest {
         assertNotNull(response);
         assertEquals(1L, response.getId());
         assertEquals("John Doe", response.getFirstName() + " " + response.getLastName());
-        verify(patientRepository, times(1)).findById(1L);
+        verify(patientRepository, times(1)).findWithClinicalDetailsById(1L);
+        verify(patientRepository, never()).findById(any());
     }
 
     @Test
     @DisplayName("Should throw exception when patient not found")
     void testGetPatientByIdNotFound() {
         // Arrange
-        when(patientRepository.findById(999L)).thenReturn(Optional.empty());
+        when(patientRepository.findWithClinicalDetailsById(999L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(RuntimeException.class, () -> {
@@ -120,16 +155,18 @@ class PatientServiceTest {
                 .email("jane.smith@test.com")
                 .build();
 
-        when(patientRepository.findAll()).thenReturn(List.of(testPatient, patient2));
+        Pageable pageable = PageRequest.of(0, 20);
+        when(patientRepository.findAllWithClinicalDetailsBy(pageable))
+                .thenReturn(new PageImpl<>(List.of(testPatient, patient2), pageable, 2));
 
         // Act
-        List<PatientResponse> responses = patientService.getAllPatients();
+        Page<PatientResponse> responses = patientService.getAllPatients(pageable);
 
         // Assert
         assertNotNull(responses);
-        assertEquals(2, responses.size());
-        assertEquals("John", responses.get(0).getFirstName());
-        assertEquals("Jane", responses.get(1).getFirstName());
+        assertEquals(2, responses.getContent().size());
+        assertEquals("John", responses.getContent().get(0).getFirstName());
+        assertEquals("Jane", responses.getContent().get(1).getFirstName());
     }
 
     @Test
@@ -167,26 +204,51 @@ class PatientServiceTest {
     }
 
     @Test
-    @DisplayName("Should search patients by name")
+    @DisplayName("Should search patients by name with database paging")
     void testSearchPatientsByName() {
         // Arrange
-        when(patientRepository.findByFirstNameContainingOrLastNameContaining(anyString(), anyString()))
-                .thenReturn(List.of(testPatient));
+        Pageable pageable = PageRequest.of(0, 20);
+        when(patientRepository.searchPatients("John", pageable))
+                .thenReturn(new PageImpl<>(List.of(testPatient), pageable, 1));
 
         // Act
-        List<PatientResponse> responses = patientService.searchPatients("John");
+        Page<PatientResponse> responses = patientService.searchPatients("John", pageable);
 
         // Assert
         assertNotNull(responses);
-        assertEquals(1, responses.size());
-        assertEquals("John", responses.get(0).getFirstName());
+        assertEquals(1, responses.getTotalElements());
+        assertEquals("John", responses.getContent().get(0).getFirstName());
+        verify(patientRepository, times(1)).searchPatients("John", pageable);
+    }
+
+    @Test
+    @DisplayName("Should map summary projections without loading full patients")
+    void testGetPatientSummaries() {
+        // Arrange
+        Pageable pageable = PageRequest.of(0, 20);
+        PatientSummary summary = new SpelAwareProxyProjectionFactory().createProjection(PatientSummary.class, Map.of(
+                "id", 1L,
+                "firstName", "John",
+                "lastName", "Doe",
+                "phone", "+1234567890"));
+        when(patientRepository.findAllProjectedBy(pageable))
+                .thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+
+        // Act
+        Page<PatientSummaryResponse> responses = patientService.getPatientSummaries(pageable);
+
+        // Assert
+        assertEquals(1, responses.getTotalElements());
+        assertEquals("John Doe", responses.getContent().get(0).getFullName());
+        assertEquals("+1234567890", responses.getContent().get(0).getPhone());
+        verify(patientRepository, never()).findAllWithClinicalDetailsBy(any(Pageable.class));
     }
 
     @Test
     @DisplayName("Should calculate patient age correctly")
     void testPatientAgeCalculation() {
         // Arrange
-        when(patientRepository.findById(1L)).thenReturn(Optional.of(testPatient));
+        when(patientRepository.findWithClinicalDetailsById(1L)).thenReturn(Optional.of(testPatient));
 
         // Act
         PatientResponse response = patientService.getPatientById(1L);
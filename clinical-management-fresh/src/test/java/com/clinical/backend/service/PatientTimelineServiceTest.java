@@ -0,0 +1,168 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.patient.PatientTimelineResponse;
+import com.clinical.backend.dto.patient.TimelineEntryResponse;
+import com.clinical.backend.entity.Appointment;
+import com.clinical.backend.entity.Doctor;
+import com.clinical.backend.entity.Invoice;
+import com.clinical.backend.entity.Message;
+import com.clinical.backend.entity.Patient;
+import com.clinical.backend.entity.Prescription;
+import com.clinical.backend.entity.User;
+import com.clinical.backend.enums.AppointmentStatus;
+import com.clinical.backend.enums.InvoiceStatus;
+import com.clinical.backend.enums.TimelineEntryType;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.repository.AppointmentRepository;
+import com.clinical.backend.repository.InvoiceRepository;
+import com.clinical.backend.repository.MessageRepository;
+import com.clinical.backend.repository.PatientRepository;
+import com.clinical.backend.repository.PrescriptionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Patient Timeline Service Tests")
+class PatientTimelineServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private PrescriptionRepository prescriptionRepository;
+
+    @Mock
+    private InvoiceRepository invoiceRepository;
+
+    @Mock
+    private MessageRepository messageRepository;
+
+    @InjectMocks
+    private PatientTimelineService patientTimelineService;
+
+    private User patientUser;
+    private Doctor doctor;
+
+    @BeforeEach
+    void setUp() {
+        patientUser = new User();
+        patientUser.setId(7L);
+        patientUser.setFullName("John Doe");
+
+        User doctorUser = new User();
+        doctorUser.setId(8L);
+        doctorUser.setFullName("Dr. Smith");
+        doctor = Doctor.builder().id(2L).user(doctorUser).build();
+
+        Patient patient = Patient.builder().id(1L).firstName("John").lastName("Doe").user(patientUser).build();
+        lenient().when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
+    }
+
+    @Test
+    @DisplayName("Should merge every source newest first")
+    void testGetTimelineMergesSources() {
+        // Arrange
+        when(appointmentRepository.findTimelinePage(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(appointment(10L, BASE.plusDays(5)), appointment(11L, BASE.plusDays(1))));
+        when(prescriptionRepository.findTimelinePage(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(prescription(20L, BASE.plusDays(4))));
+        when(invoiceRepository.findTimelinePage(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(invoice(30L, BASE.plusDays(3))));
+        when(messageRepository.findTimelinePage(eq(7L), any(), any(), any()))
+                .thenReturn(List.of(message(40L, BASE.plusDays(2))));
+
+        // Act
+        PatientTimelineResponse timeline = patientTimelineService.getTimeline(1L, null, 20);
+
+        // Assert
+        assertEquals(List.of(TimelineEntryType.APPOINTMENT, TimelineEntryType.PRESCRIPTION,
+                        TimelineEntryType.INVOICE, TimelineEntryType.MESSAGE, TimelineEntryType.APPOINTMENT),
+                timeline.getEntries().stream().map(TimelineEntryResponse::getType).toList());
+        assertEquals("Message from Dr. Smith", timeline.getEntries().get(3).getTitle());
+        assertNull(timeline.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should resume each source from the position stored in the cursor")
+    void testGetTimelineResumesFromCursor() {
+        // Arrange
+        when(appointmentRepository.findTimelinePage(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(appointment(10L, BASE.plusDays(5)), appointment(11L, BASE.plusDays(1))));
+        when(prescriptionRepository.findTimelinePage(eq(1L), any(), any(), any()))
+                .thenReturn(List.of(prescription(20L, BASE.plusDays(4)), prescription(21L, BASE.plusDays(3))));
+        when(invoiceRepository.findTimelinePage(eq(1L), any(), any(), any())).thenReturn(List.of());
+        when(messageRepository.findTimelinePage(eq(7L), any(), any(), any())).thenReturn(List.of());
+
+        // Act
+        PatientTimelineResponse firstPage = patientTimelineService.getTimeline(1L, null, 2);
+        patientTimelineService.getTimeline(1L, firstPage.getNextCursor(), 2);
+
+        // Assert
+        assertEquals(List.of(10L, 20L), firstPage.getEntries().stream().map(TimelineEntryResponse::getId).toList());
+        assertNotNull(firstPage.getNextCursor());
+        verify(appointmentRepository).findTimelinePage(eq(1L), eq(BASE.plusDays(5)), eq(10L), any());
+        verify(prescriptionRepository).findTimelinePage(eq(1L), eq(BASE.plusDays(4)), eq(20L), any());
+        // Sources that ran dry on the first page are not queried again
+        verify(invoiceRepository, times(1)).findTimelinePage(any(), any(), any(), any());
+        verify(messageRepository, times(1)).findTimelinePage(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should round-trip cursor positions")
+    void testCursorRoundTrip() {
+        // Arrange
+        Map<TimelineEntryType, PatientTimelineService.Position> positions = Map.of(
+                TimelineEntryType.APPOINTMENT, new PatientTimelineService.Position(BASE, 10L));
+
+        // Act
+        String cursor = PatientTimelineService.encodeCursor(positions);
+
+        // Assert
+        assertEquals(positions, PatientTimelineService.decodeCursor(cursor));
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void testGetTimelineRejectsInvalidCursor() {
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> patientTimelineService.getTimeline(1L, "not-a-cursor", 20));
+    }
+
+    private Appointment appointment(Long id, LocalDateTime startTime) {
+        return Appointment.builder().id(id).doctor(doctor).startTime(startTime)
+                .status(AppointmentStatus.COMPLETED).build();
+    }
+
+    private Prescription prescription(Long id, LocalDateTime createdAt) {
+        return Prescription.builder().id(id).doctor(doctor).medications("Amoxicillin").createdAt(createdAt).build();
+    }
+
+    private Invoice invoice(Long id, LocalDateTime createdAt) {
+        return Invoice.builder().id(id).totalCents(6000).status(InvoiceStatus.PENDING).createdAt(createdAt).build();
+    }
+
+    private Message message(Long id, LocalDateTime createdAt) {
+        return Message.builder().id(id).fromUser(doctor.getUser()).toUser(patientUser)
+                .subject("Results").createdAt(createdAt).build();
+    }
+}
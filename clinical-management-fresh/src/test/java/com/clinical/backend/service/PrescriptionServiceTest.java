@@ -9,6 +9,7 @@ import com.clinical.backend.entity.Prescription;
 import com.clinical.backend.entity.User;
 import com.clinical.backend.enums.AppointmentStatus;
 import com.clinical.backend.enums.UserRole;
+import com.clinical.backend.event.PrescriptionCreatedEvent;
 import com.clinical.backend.repository.AppointmentRepository;
 import com.clinical.backend.repository.PrescriptionRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,6 +19,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -27,6 +31,7 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -39,6 +44,15 @@ class PrescriptionServiceTest {
     @Mock
     private AppointmentRepository appointmentRepository;
 
+    @Mock
+    private PdfService pdfService;
+
+    @Mock
+    private PdfStorageService pdfStorageService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private PrescriptionService prescriptionService;
 
@@ -125,6 +139,7 @@ class PrescriptionServiceTest {
         assertEquals("Hypertension", response.getDiagnosis());
         assertEquals("Lisinopril 10mg - Once daily", response.getMedications());
         verify(prescriptionRepository, times(1)).save(any(Prescription.class));
+        verify(eventPublisher).publishEvent(new PrescriptionCreatedEvent(1L));
     }
 
     @Test
@@ -272,14 +287,22 @@ class PrescriptionServiceTest {
     }
 
     @Test
-    @DisplayName("Should throw exception for PDF generation (not implemented)")
-    void testGeneratePrescriptionPdfNotImplemented() {
-        // Act & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> {
-            prescriptionService.generatePrescriptionPdf(1L);
-        });
+    @DisplayName("Should render prescription PDF to storage when not yet stored")
+    void testGetPrescriptionPdfRendersWhenMissing() throws Exception {
+        // Arrange
+        when(prescriptionRepository.findById(1L)).thenReturn(Optional.of(testPrescription));
+        when(pdfStorageService.exists(null)).thenReturn(false);
+        when(pdfStorageService.store(eq("prescriptions/prescription_1.pdf"), any()))
+                .thenReturn("prescriptions/prescription_1.pdf");
+        when(pdfStorageService.load("prescriptions/prescription_1.pdf"))
+                .thenReturn(new ByteArrayResource(new byte[0]));
 
-        assertTrue(exception.getMessage().contains("not implemented"));
+        // Act
+        Resource pdf = prescriptionService.getPrescriptionPdf(1L);
+
+        // Assert
+        assertNotNull(pdf);
+        assertEquals("prescriptions/prescription_1.pdf", testPrescription.getPdfPath());
     }
 
     @Test
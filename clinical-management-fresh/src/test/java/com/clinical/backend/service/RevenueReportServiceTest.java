@@ -0,0 +1,138 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.report.AgingBucketResponse;
+import com.clinical.backend.enums.AgingBucket;
+import com.clinical.backend.enums.ReportGranularity;
+import com.clinical.backend.exception.BusinessException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Revenue Report Service Tests")
+class RevenueReportServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private JdbcTemplate plainJdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RevenueReportService revenueReportService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(jdbcTemplate.getJdbcTemplate()).thenReturn(plainJdbcTemplate);
+    }
+
+    @Test
+    @DisplayName("Should rebuild only the days marked dirty")
+    @SuppressWarnings("unchecked")
+    void testRefreshRollupRebuildsDirtyDays() {
+        // Arrange
+        LocalDate first = LocalDate.of(2025, 3, 1);
+        LocalDate last = LocalDate.of(2025, 3, 4);
+        when(plainJdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of(last, first));
+
+        // Act
+        revenueReportService.refreshRollup();
+
+        // Assert
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate, times(2)).update(anyString(), params.capture());
+        MapSqlParameterSource insert = params.getAllValues().get(1);
+        assertEquals(List.of(last, first), insert.getValue("days"));
+        assertEquals(first.atStartOfDay(), insert.getValue("from"));
+        assertEquals(last.plusDays(1).atStartOfDay(), insert.getValue("to"));
+    }
+
+    @Test
+    @DisplayName("Should skip the rebuild when nothing changed")
+    @SuppressWarnings("unchecked")
+    void testRefreshRollupWithoutDirtyDays() {
+        // Arrange
+        when(plainJdbcTemplate.query(anyString(), any(RowMapper.class))).thenReturn(List.of());
+
+        // Act
+        revenueReportService.refreshRollup();
+
+        // Assert
+        verify(jdbcTemplate, never()).update(anyString(), any(SqlParameterSource.class));
+    }
+
+    @Test
+    @DisplayName("Should return every aging bucket, empty ones as zero")
+    void testReceivablesAgingFillsEmptyBuckets() throws Exception {
+        // Arrange
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("bucket")).thenReturn("DAYS_31_60");
+        when(row.getLong("invoice_count")).thenReturn(3L);
+        when(row.getLong("total_cents")).thenReturn(45_000L);
+        doAnswer(invocation -> {
+            invocation.getArgument(2, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbcTemplate).query(anyString(), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+        // Act
+        List<AgingBucketResponse> buckets = revenueReportService.getReceivablesAging();
+
+        // Assert
+        assertEquals(AgingBucket.values().length, buckets.size());
+        assertEquals(AgingBucket.CURRENT, buckets.get(0).getBucket());
+        assertEquals(0, buckets.get(0).getTotalCents());
+        assertEquals(3, buckets.get(2).getInvoiceCount());
+        assertEquals(45_000L, buckets.get(2).getTotalCents());
+    }
+
+    @Test
+    @DisplayName("Should read revenue per service over a half-open paid_at range")
+    @SuppressWarnings("unchecked")
+    void testRevenueByServiceRange() {
+        // Arrange
+        LocalDate from = LocalDate.of(2025, 3, 1);
+        LocalDate to = LocalDate.of(2025, 3, 31);
+
+        // Act
+        revenueReportService.getRevenueByService(from, to);
+
+        // Assert
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(anyString(), params.capture(), any(RowMapper.class));
+        assertEquals(from.atStartOfDay(), params.getValue().getValue("from"));
+        assertEquals(LocalDate.of(2025, 4, 1).atStartOfDay(), params.getValue().getValue("to"));
+    }
+
+    @Test
+    @DisplayName("Should reject a report range that ends before it starts")
+    void testRejectsInvertedRange() {
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> revenueReportService.getRevenueByPeriod(
+                LocalDate.of(2025, 2, 1), LocalDate.of(2025, 1, 1), ReportGranularity.MONTH));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
@@ -0,0 +1,105 @@
+package com.clinical.backend.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the rollup refresh against the real trigger, which mocks cannot reproduce.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+@DisplayName("Revenue Rollup Concurrency Tests")
+class RevenueRollupConcurrencyTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 3, 14);
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static HikariDataSource dataSource;
+    private static NamedParameterJdbcTemplate jdbcTemplate;
+    private static RevenueReportService revenueReportService;
+
+    @BeforeAll
+    static void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(POSTGRES.getJdbcUrl());
+        dataSource.setUsername(POSTGRES.getUsername());
+        dataSource.setPassword(POSTGRES.getPassword());
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration").load().migrate();
+
+        jdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        revenueReportService = new RevenueReportService(jdbcTemplate, new DataSourceTransactionManager(dataSource));
+    }
+
+    @AfterAll
+    static void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should count a payment that commits while the refresh drains its day")
+    void testPaymentCommittingDuringRefresh() throws Exception {
+        // Arrange: the day is already dirty from an earlier payment
+        long first = createInvoice();
+        long second = createInvoice();
+        markPaid(first);
+
+        CompletableFuture<Void> refresh;
+        try (Connection payment = dataSource.getConnection()) {
+            payment.setAutoCommit(false);
+            try (PreparedStatement update = payment.prepareStatement(
+                    "UPDATE invoices SET status = 'PAID', payment_method = 'CARD', paid_at = ? WHERE id = ?")) {
+                update.setObject(1, DAY.atTime(15, 0));
+                update.setLong(2, second);
+                update.executeUpdate();
+            }
+
+            // Act: refresh while the second payment is still open, then commit it
+            refresh = CompletableFuture.runAsync(revenueReportService::refreshRollup);
+            Thread.sleep(500);
+            assertFalse(refresh.isDone(), "The refresh should wait for the open payment");
+            payment.commit();
+        }
+        refresh.get(10, TimeUnit.SECONDS);
+        revenueReportService.refreshRollup();
+
+        // Assert
+        Long counted = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(invoice_count), 0) FROM invoice_revenue_daily WHERE day = :day",
+                new MapSqlParameterSource("day", DAY), Long.class);
+        assertEquals(2L, counted);
+    }
+
+    private static long createInvoice() {
+        return jdbcTemplate.queryForObject(
+                "INSERT INTO invoices (appointment_id, patient_id, amount_cents, tax_cents, total_cents, status) " +
+                "SELECT id, patient_id, 5000, 0, 5000, 'PENDING' FROM appointments ORDER BY id LIMIT 1 RETURNING id",
+                new MapSqlParameterSource(), Long.class);
+    }
+
+    private static void markPaid(long invoiceId) {
+        LocalDateTime paidAt = DAY.atTime(10, 0);
+        jdbcTemplate.update(
+                "UPDATE invoices SET status = 'PAID', payment_method = 'CARD', paid_at = :paidAt WHERE id = :id",
+                new MapSqlParameterSource("paidAt", paidAt).addValue("id", invoiceId));
+    }
+}
@@ -0,0 +1,141 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.room.RoomResponse;
+import com.clinical.backend.entity.Room;
+import com.clinical.backend.enums.AppointmentStatus;
+import com.clinical.backend.event.AppointmentChangedEvent;
+import com.clinical.backend.repository.AppointmentRepository;
+import com.clinical.backend.repository.RoomRepository;
+import com.clinical.backend.repository.projection.RoomBooking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Room Occupancy Service Tests")
+class RoomOccupancyServiceTest {
+
+    private static final LocalDateTime NINE = LocalDateTime.now().plusDays(1).withHour(9).withMinute(0).withSecond(0).withNano(0);
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private AppointmentRepository appointmentRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private RoomOccupancyService roomOccupancyService;
+
+    @BeforeEach
+    void setUp() {
+        when(roomRepository.findAll()).thenReturn(List.of(
+                Room.builder().id(1L).name("A1").active(true).build(),
+                Room.builder().id(2L).name("B12").active(true).build(),
+                Room.builder().id(3L).name("Old lab").active(false).build()));
+        // Built before stubbing, since each booking is a mock of its own
+        List<RoomBooking> bookings = List.of(
+                booking(10L, 1L, NINE, NINE.plusHours(1)),
+                booking(11L, 1L, NINE.plusHours(2), NINE.plusHours(3)),
+                booking(12L, 2L, NINE.plusMinutes(30), NINE.plusHours(1)));
+        when(appointmentRepository.findRoomBookingsEndingAfter(any())).thenReturn(bookings);
+        roomOccupancyService.load();
+    }
+
+    @Test
+    @DisplayName("Should detect overlaps and allow back-to-back bookings")
+    void testIsFree() {
+        // Act & Assert
+        assertFalse(roomOccupancyService.isFree(1L, NINE.plusMinutes(30), NINE.plusMinutes(45)));
+        assertFalse(roomOccupancyService.isFree(1L, NINE.minusMinutes(30), NINE.plusMinutes(1)));
+        assertFalse(roomOccupancyService.isFree(1L, NINE.plusMinutes(90), NINE.plusMinutes(150)));
+        assertTrue(roomOccupancyService.isFree(1L, NINE.plusHours(1), NINE.plusHours(2)));
+        assertTrue(roomOccupancyService.isFree(1L, NINE.minusHours(1), NINE));
+        assertTrue(roomOccupancyService.isFree(3L, NINE, NINE.plusHours(1)));
+    }
+
+    @Test
+    @DisplayName("Should prefer the doctor's usual room and skip busy or inactive rooms")
+    void testFindFreeRoom() {
+        // Act
+        Optional<RoomResponse> preferred = roomOccupancyService.findFreeRoom(NINE.plusHours(1), NINE.plusHours(2), "b12 ");
+        Optional<RoomResponse> fallback = roomOccupancyService.findFreeRoom(NINE.plusHours(1), NINE.plusMinutes(90), "Old lab");
+        Optional<RoomResponse> none = roomOccupancyService.findFreeRoom(NINE.plusMinutes(30), NINE.plusMinutes(45), null);
+
+        // Assert
+        assertEquals("B12", preferred.map(RoomResponse::getName).orElse(null));
+        assertEquals("A1", fallback.map(RoomResponse::getName).orElse(null));
+        assertTrue(none.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should free the room when an appointment is cancelled")
+    void testRefreshBookingAfterCancellation() {
+        // Arrange
+        RoomBooking cancelled = booking(10L, 1L, NINE, NINE.plusHours(1));
+        when(cancelled.getStatus()).thenReturn(AppointmentStatus.CANCELLED);
+        when(appointmentRepository.findRoomBookingById(10L)).thenReturn(Optional.of(cancelled));
+
+        // Act
+        roomOccupancyService.refreshBooking(10L);
+
+        // Assert
+        assertTrue(roomOccupancyService.isFree(1L, NINE, NINE.plusHours(1)));
+        assertFalse(roomOccupancyService.isFree(1L, NINE.plusHours(2), NINE.plusHours(3)));
+    }
+
+    @Test
+    @DisplayName("Should index a new booking")
+    void testRefreshBookingAfterBooking() {
+        // Arrange
+        RoomBooking booked = booking(13L, 3L, NINE, NINE.plusHours(1));
+        when(appointmentRepository.findRoomBookingById(13L)).thenReturn(Optional.of(booked));
+
+        // Act
+        roomOccupancyService.refreshBooking(13L);
+
+        // Assert
+        assertFalse(roomOccupancyService.isFree(3L, NINE.plusMinutes(15), NINE.plusMinutes(30)));
+    }
+
+    @Test
+    @DisplayName("Should reload every booking when the changed appointment is unknown")
+    void testAppointmentChangedWithoutId() {
+        // Arrange
+        List<RoomBooking> bookings = List.of(booking(14L, 2L, NINE.plusHours(4), NINE.plusHours(5)));
+        when(appointmentRepository.findRoomBookingsEndingAfter(any())).thenReturn(bookings);
+
+        // Act
+        roomOccupancyService.onAppointmentChanged(new AppointmentChangedEvent(null));
+
+        // Assert
+        assertTrue(roomOccupancyService.isFree(1L, NINE, NINE.plusHours(3)));
+        assertFalse(roomOccupancyService.isFree(2L, NINE.plusHours(4), NINE.plusHours(5)));
+        verify(appointmentRepository, never()).findRoomBookingById(any());
+    }
+
+    private static RoomBooking booking(Long id, Long roomId, LocalDateTime start, LocalDateTime end) {
+        RoomBooking booking = mock(RoomBooking.class);
+        lenient().when(booking.getId()).thenReturn(id);
+        lenient().when(booking.getRoomId()).thenReturn(roomId);
+        lenient().when(booking.getStartTime()).thenReturn(start);
+        lenient().when(booking.getEndTime()).thenReturn(end);
+        lenient().when(booking.getStatus()).thenReturn(AppointmentStatus.SCHEDULED);
+        return booking;
+    }
+}
@@ -0,0 +1,139 @@
+package com.clinical.backend.service;
+
+import com.clinical.backend.dto.invoice.UnpaidInvoicePageResponse;
+import com.clinical.backend.dto.invoice.UnpaidInvoiceResponse;
+import com.clinical.backend.exception.BusinessException;
+import com.clinical.backend.service.UnpaidInvoiceService.Position;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Unpaid Invoice Service Tests")
+class UnpaidInvoiceServiceTest {
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private UnpaidInvoiceService unpaidInvoiceService;
+
+    @Test
+    @DisplayName("Should return a page and a cursor after its last invoice")
+    @SuppressWarnings("unchecked")
+    void testFirstPage() {
+        // Arrange
+        List<UnpaidInvoiceResponse> rows = new ArrayList<>(List.of(
+                invoice(5L, LocalDate.of(2025, 1, 10)),
+                invoice(3L, LocalDate.of(2025, 1, 20)),
+                invoice(9L, null)));
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(rows);
+
+        // Act
+        UnpaidInvoicePageResponse page = unpaidInvoiceService.getUnpaidInvoices(null, 2);
+
+        // Assert
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(anyString(), params.capture(), any(RowMapper.class));
+        assertEquals(3, params.getValue().getValue("limit"));
+        assertEquals(Position.START.dueDate(), params.getValue().getValue("afterDueDate"));
+
+        assertEquals(2, page.getInvoices().size());
+        assertEquals(new Position(LocalDate.of(2025, 1, 20), 3L), UnpaidInvoiceService.decodeCursor(page.getNextCursor()));
+    }
+
+    @Test
+    @DisplayName("Should end without a cursor once the last page is short")
+    @SuppressWarnings("unchecked")
+    void testLastPage() {
+        // Arrange
+        List<UnpaidInvoiceResponse> rows = List.of(invoice(9L, null));
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(rows);
+        String cursor = UnpaidInvoiceService.encodeCursor(new Position(LocalDate.of(2025, 1, 20), 3L));
+
+        // Act
+        UnpaidInvoicePageResponse page = unpaidInvoiceService.getUnpaidInvoices(cursor, 2);
+
+        // Assert
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbcTemplate).query(anyString(), params.capture(), any(RowMapper.class));
+        assertEquals(LocalDate.of(2025, 1, 20), params.getValue().getValue("afterDueDate"));
+        assertEquals(3L, params.getValue().getValue("afterId"));
+        assertEquals(1, page.getInvoices().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    @DisplayName("Should continue among undated invoices, which sort last")
+    @SuppressWarnings("unchecked")
+    void testCursorForUndatedInvoice() {
+        // Arrange
+        List<UnpaidInvoiceResponse> rows = new ArrayList<>(List.of(invoice(9L, null), invoice(10L, null)));
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(rows);
+
+        // Act
+        UnpaidInvoicePageResponse page = unpaidInvoiceService.getUnpaidInvoices(null, 1);
+
+        // Assert
+        assertEquals(new Position(LocalDate.of(9999, 12, 31), 9L), UnpaidInvoiceService.decodeCursor(page.getNextCursor()));
+    }
+
+    @Test
+    @DisplayName("Should carry the invoice number for collections")
+    @SuppressWarnings("unchecked")
+    void testMapsInvoiceNumber() throws SQLException {
+        // Arrange
+        when(jdbcTemplate.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of());
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getLong("id")).thenReturn(5L);
+        when(rs.getString("invoice_number")).thenReturn("2025-000042");
+
+        // Act
+        unpaidInvoiceService.getUnpaidInvoices(null, 10);
+
+        // Assert
+        ArgumentCaptor<RowMapper<UnpaidInvoiceResponse>> mapper = ArgumentCaptor.forClass(RowMapper.class);
+        verify(jdbcTemplate).query(anyString(), any(MapSqlParameterSource.class), mapper.capture());
+        assertEquals("2025-000042", mapper.getValue().mapRow(rs, 0).getInvoiceNumber());
+    }
+
+    @Test
+    @DisplayName("Should reject a malformed cursor")
+    void testRejectsInvalidCursor() {
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> unpaidInvoiceService.getUnpaidInvoices("not-a-cursor", 10));
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    private static UnpaidInvoiceResponse invoice(Long id, LocalDate dueDate) {
+        return UnpaidInvoiceResponse.builder()
+                .id(id)
+                .patientName("John Doe")
+                .totalCents(11000)
+                .status("PENDING")
+                .dueDate(dueDate)
+                .build();
+    }
+}